@@ -0,0 +1,189 @@
+package com.parking.reservation.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds a fixed number of concurrent HTTP connections open against an already running server and books through
+ * POST /v1/api/reserve on each of them back to back, then reports throughput, latency and the server's heap and
+ * thread count (from /actuator/metrics). Run it once against the servlet application and once against the
+ * reactive variant with the same arguments to compare them; both serve the same contract.
+ * <p>
+ * Not a JMH benchmark: 10k open connections need one asynchronous client rather than 10k benchmark threads.
+ * Arguments: base URL, connections, duration, slots (defaults http://localhost:8080 10000 PT60S 2000).
+ * Raise the open file limit (ulimit -n) of both processes above the connection count first.
+ */
+public final class ConcurrentConnectionsLoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final LocalDateTime FROM = LocalDateTime.of(2099, 6, 1, 0, 0);
+    // Latency histogram in milliseconds; the last bucket collects everything slower
+    private static final int LATENCY_BUCKETS = 60_000;
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS);
+    private List<Long> slotIds;
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private ConcurrentConnectionsLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+        // A connection per in-flight request; the pool keeps them open between requests
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Duration duration = args.length > 2 ? Duration.parse(args[2]) : Duration.ofSeconds(60);
+        int slots = args.length > 3 ? Integer.parseInt(args[3]) : 2_000;
+
+        ConcurrentConnectionsLoadTest test = new ConcurrentConnectionsLoadTest(baseUrl);
+        test.provision(slots);
+        test.run(connections, duration);
+    }
+
+    private void provision(int slots) throws Exception {
+        long floorId = post("/v1/api/floors", "{\"name\":\"Load-" + UUID.randomUUID() + "\"}").path("data").path("id").asLong();
+        slotIds = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            String body = String.format("{\"floorId\":%d,\"slotNumber\":\"L-%d\",\"vehicleType\":\"FOUR_WHEELER\"}", floorId, i);
+            slotIds.add(post("/v1/api/slots", body).path("data").path("id").asLong());
+        }
+    }
+
+    private void run(int connections, Duration duration) throws Exception {
+        System.out.printf("%d connections against %s for %s%n", connections, baseUrl, duration);
+        List<CompletableFuture<Void>> users = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            users.add(loop());
+        }
+        // Warm-up: every connection open and the JIT settled before counting
+        Thread.sleep(Math.min(10_000, duration.toMillis() / 4));
+        Metrics before = serverMetrics();
+        measuring = true;
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        measuring = false;
+        double seconds = (System.nanoTime() - started) / 1e9;
+        Metrics during = serverMetrics();
+        running = false;
+        CompletableFuture.allOf(users.toArray(new CompletableFuture[0])).join();
+
+        long completed = succeeded.sum() + conflicts.sum();
+        System.out.printf("throughput       %.0f requests/s (%d booked, %d conflicts, %d errors)%n",
+                completed / seconds, succeeded.sum(), conflicts.sum(), failed.sum());
+        System.out.printf("latency          p50 %d ms, p99 %d ms, p99.9 %d ms%n",
+                percentile(0.50), percentile(0.99), percentile(0.999));
+        System.out.printf("server heap      %.0f MB used, %.0f MB committed (%.0f MB used before)%n",
+                during.heapUsed / 1e6, during.heapCommitted / 1e6, before.heapUsed / 1e6);
+        System.out.printf("server threads   %.0f live%n", during.threads);
+    }
+
+    // One simulated client: the next request goes out on the same connection as soon as the previous one answered
+    private CompletableFuture<Void> loop() {
+        if (!running) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(reserveRequest(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    record(response == null ? -1 : response.statusCode(), System.nanoTime() - sent);
+                    return null;
+                })
+                .thenCompose(ignored -> loop());
+    }
+
+    private HttpRequest reserveRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = FROM.plusMinutes(15L * random.nextInt(96 * 30));
+        String body = String.format("{\"slotId\":%d,\"vehicleNumber\":\"KA05MH1234\",\"startTime\":\"%s\","
+                        + "\"endTime\":\"%s\",\"vehicleType\":\"FOUR_WHEELER\"}",
+                slotIds.get(random.nextInt(slotIds.size())), start, start.plusHours(1));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/v1/api/reserve"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void record(int status, long nanos) {
+        if (!measuring) {
+            return;
+        }
+        if (status == 200) {
+            succeeded.increment();
+        } else if (status == 409) {
+            conflicts.increment();
+        } else {
+            failed.increment();
+            return;
+        }
+        latencies.incrementAndGet((int) Math.min(LATENCY_BUCKETS - 1, nanos / 1_000_000));
+    }
+
+    private long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            total += latencies.get(i);
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += latencies.get(i);
+            if (seen >= rank && seen > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private Metrics serverMetrics() throws Exception {
+        return new Metrics(
+                metric("jvm.memory.used?tag=area:heap"),
+                metric("jvm.memory.committed?tag=area:heap"),
+                metric("jvm.threads.live"));
+    }
+
+    private double metric(String name) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build();
+        JsonNode body = JSON.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return body.path("measurements").path(0).path("value").asDouble();
+    }
+
+    private JsonNode post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return JSON.readTree(response.body());
+    }
+
+    private record Metrics(double heapUsed, double heapCommitted, double threads) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.parking.reservation.benchmark;
+
+import com.parking.reservation.ReservationApplication;
+import com.parking.reservation.dto.request.BatchReserveRequest;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it through the service layer,
+ * so the in-memory indexes see the same data as the database.
+ */
+public final class SeededApplication implements AutoCloseable {
+
+    public static final LocalDateTime SEED_START = LocalDateTime.of(2099, 1, 1, 0, 0);
+
+    private static final int SEED_BATCH = 500;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> slotIds = new ArrayList<>();
+    private final int reservationsPerSlot;
+
+    private SeededApplication(ConfigurableApplicationContext context, int floors, int slotsPerFloor, int reservations) {
+        this.context = context;
+        this.reservationsPerSlot = (reservations + floors * slotsPerFloor - 1) / (floors * slotsPerFloor);
+        seed(floors, slotsPerFloor, reservations);
+    }
+
+    /**
+     * @param overrides extra "key=value" properties, e.g. to pick a profile or start the web server
+     */
+    public static SeededApplication start(int floors, int slotsPerFloor, int reservations, String... overrides) {
+        String[] args = new String[overrides.length];
+        for (int i = 0; i < overrides.length; i++) {
+            args[i] = "--" + overrides[i];
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ReservationApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        // devtools would run SHUTDOWN on the already closed database when the context closes
+                        "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+                .run(args);
+        return new SeededApplication(context, floors, slotsPerFloor, reservations);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Port of the embedded server when started with "spring.main.web-application-type=servlet" and "server.port=0"
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public List<Long> slotIds() {
+        return slotIds;
+    }
+
+    // First start time after the seeded reservations, so new bookings do not collide with them
+    public LocalDateTime freeFrom() {
+        return SEED_START.plusHours(2L * reservationsPerSlot);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(int floors, int slotsPerFloor, int reservations) {
+        FloorService floorService = context.getBean(FloorService.class);
+        SlotService slotService = context.getBean(SlotService.class);
+        ReservationService reservationService = context.getBean(ReservationService.class);
+
+        for (int f = 0; f < floors; f++) {
+            Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + f)).id();
+            for (int s = 0; s < slotsPerFloor; s++) {
+                String slotNumber = String.format("F%02d-%04d", f, s);
+                slotIds.add(slotService.createSlot(new CreateSlotRequest(floorId, slotNumber, VehicleType.FOUR_WHEELER)).id());
+            }
+        }
+
+        // Reservation k goes to slot k % slots, in consecutive two-hour windows, so none of them conflict
+        List<ReserveRequest> batch = new ArrayList<>(SEED_BATCH);
+        for (int k = 0; k < reservations; k++) {
+            LocalDateTime start = SEED_START.plusHours(2L * (k / slotIds.size()));
+            batch.add(new ReserveRequest(slotIds.get(k % slotIds.size()), "KA05MH1234",
+                    start, start.plusMinutes(60 + k % 60), VehicleType.FOUR_WHEELER));
+            if (batch.size() == SEED_BATCH || k == reservations - 1) {
+                reservationService.reserveSlots(new BatchReserveRequest(batch, true));
+                batch = new ArrayList<>(SEED_BATCH);
+            }
+        }
+    }
+}
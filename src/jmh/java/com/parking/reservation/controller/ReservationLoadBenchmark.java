@@ -0,0 +1,93 @@
+package com.parking.reservation.controller;
+
+import com.parking.reservation.benchmark.SeededApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the HTTP API with far more concurrent clients than there are connections, against a handful of
+ * hot slots, so requests block on the slot row locks. Compares the default Tomcat thread pool with the
+ * "virtual" profile (virtual threads plus the database bulkhead); the latter needs a Java 21 JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class ReservationLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"8"})
+    private int hotSlots;
+
+    private SeededApplication application;
+    private HttpClient client;
+    private List<Long> slotIds;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(threads) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, build and run with -Pjava21");
+        }
+        application = SeededApplication.start(1, hotSlots, 0,
+                "spring.main.web-application-type=servlet",
+                "server.port=0",
+                // One client driving the whole load; measure the reservation path, not admission control
+                "reservation.admission.rate-limit.enabled=false",
+                "reservation.admission.load-shedding.enabled=false",
+                "spring.profiles.active=" + ("virtual".equals(threads) ? "virtual" : "default"));
+        slotIds = application.slotIds();
+        baseUrl = "http://localhost:" + application.port() + "/v1/api";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    // Mostly conflicting bookings: the measured cost is waiting for the slot lock and a connection, then a 409 or 200
+    @Benchmark
+    public int reserve() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = application.freeFrom().plusMinutes(15L * random.nextInt(96 * 30));
+        String body = String.format("{\"slotId\":%d,\"vehicleNumber\":\"KA05MH1234\",\"startTime\":\"%s\","
+                        + "\"endTime\":\"%s\",\"vehicleType\":\"FOUR_WHEELER\"}",
+                slotIds.get(random.nextInt(slotIds.size())), start, start.plusHours(1));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/reserve"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int availability() throws IOException, InterruptedException {
+        LocalDateTime start = SeededApplication.SEED_START.plusMinutes(15L * ThreadLocalRandom.current().nextInt(96));
+        URI uri = URI.create(baseUrl + "/availability?vehicleType=FOUR_WHEELER&startTime=" + start
+                + "&endTime=" + start.plusHours(2));
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
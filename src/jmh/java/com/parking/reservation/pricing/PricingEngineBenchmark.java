@@ -0,0 +1,66 @@
+package com.parking.reservation.pricing;
+
+import com.parking.reservation.enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingEngineBenchmark {
+
+    private static final long FLOOR_ID = 2L;
+
+    @Param({"TWO_WHEELER", "FOUR_WHEELER"})
+    private VehicleType vehicleType;
+
+    @Param({"45", "600", "1440"})
+    private int minutes;
+
+    // flat: only hourly rates; tariff: peak band, floor multiplier and daily cap
+    @Param({"flat", "tariff"})
+    private String rules;
+
+    private PricingEngine engine;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        PricingProperties properties = new PricingProperties();
+        if ("tariff".equals(rules)) {
+            PricingProperties.PeakBand band = new PricingProperties.PeakBand();
+            band.setStartHour(8);
+            band.setEndHour(11);
+            band.setMultiplierPercent(150);
+            properties.setPeakBands(List.of(band));
+            properties.setFloorMultiplierPercent(Map.of(FLOOR_ID, 120));
+            properties.getDailyCap().put(vehicleType, BigDecimal.valueOf(300));
+        }
+        engine = new PricingEngine(properties);
+        start = LocalDateTime.of(2030, 1, 1, 8, 30);
+        end = start.plusMinutes(minutes);
+    }
+
+    @Benchmark
+    public long calculateCostPaise() {
+        return engine.calculateCostPaise(vehicleType, FLOOR_ID, start, end);
+    }
+
+    @Benchmark
+    public BigDecimal calculateCost() {
+        return engine.calculateCost(vehicleType, FLOOR_ID, start, end);
+    }
+}
@@ -0,0 +1,78 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.benchmark.SeededApplication;
+import com.parking.reservation.dto.response.CursorPage;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of page 1 against a deep page, with offset paging and with the keyset cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AvailabilityPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Sort SORT = Sort.by("floor.name").and(Sort.by("slotNumber"));
+
+    @Param({"10"})
+    private int floors;
+
+    @Param({"5000"})
+    private int slotsPerFloor;
+
+    @Param({"0", "499"})
+    private int page;
+
+    private SeededApplication application;
+    private ReservationService reservationService;
+    private LocalDateTime start;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(floors, slotsPerFloor, floors * slotsPerFloor);
+        reservationService = application.getBean(ReservationService.class);
+        start = SeededApplication.SEED_START.plusMinutes(30);
+
+        // Walk the cursor to the requested page once, outside the measurement
+        for (int i = 0; i < page; i++) {
+            cursor = reservationService.getAvailableSlotsAfter(start, start.plusHours(2), VehicleType.FOUR_WHEELER,
+                    SORT, PAGE_SIZE, cursor).nextCursor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Page<SlotResponse> offset() {
+        return reservationService.getAvailableSlots(start, start.plusHours(2), VehicleType.FOUR_WHEELER,
+                PageRequest.of(page, PAGE_SIZE, SORT));
+    }
+
+    @Benchmark
+    public CursorPage<SlotResponse> keyset() {
+        return reservationService.getAvailableSlotsAfter(start, start.plusHours(2), VehicleType.FOUR_WHEELER,
+                SORT, PAGE_SIZE, cursor);
+    }
+}
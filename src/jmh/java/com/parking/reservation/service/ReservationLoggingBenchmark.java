@@ -0,0 +1,68 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.benchmark.SeededApplication;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserve-path throughput with logging as it is configured in each environment: "development" is
+ * application.properties (SQL echoed to stdout, formatted and logged at DEBUG, bind parameters traced), "prod" adds
+ * the prod profile (asynchronous JSON, sampled SQL). Unlike the other benchmarks the root level stays at INFO, and the
+ * log output is part of what is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ReservationLoggingBenchmark {
+
+    @Param({"development", "prod"})
+    private String logging;
+
+    private SeededApplication application;
+    private ReservationService reservationService;
+    private List<Long> slotIds;
+    private LocalDateTime freeFrom;
+    private final AtomicLong bookings = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String profile = "prod".equals(logging) ? "prod" : "default";
+        application = SeededApplication.start(2, 100, 1000, "spring.profiles.active=" + profile, "logging.level.root=INFO");
+        reservationService = application.getBean(ReservationService.class);
+        slotIds = application.slotIds();
+        freeFrom = application.freeFrom();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    // Same successful booking as ReservationServiceBenchmark.reserveSlot
+    @Benchmark
+    public ReservationResponse reserveSlot() {
+        long k = bookings.getAndIncrement();
+        LocalDateTime start = freeFrom.plusHours(k / slotIds.size());
+        ReserveRequest request = new ReserveRequest(slotIds.get((int) (k % slotIds.size())), "KA05MH1234",
+                start, start.plusMinutes(45), VehicleType.FOUR_WHEELER);
+        return reservationService.reserveSlot(request);
+    }
+}
@@ -0,0 +1,69 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.entity.Floor;
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReservationMappingBenchmark {
+
+    private ReserveRequest request;
+    private Reservation reservation;
+    private Slot slot;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        request = new ReserveRequest(1L, "KA05MH1234", start, start.plusHours(3), VehicleType.FOUR_WHEELER);
+
+        slot = new Slot();
+        slot.setId(1L);
+        slot.setFloor(new Floor(1L, "Ground"));
+        slot.setSlotNumber("G-001");
+        slot.setVehicleType(VehicleType.FOUR_WHEELER);
+
+        reservation = new Reservation();
+        reservation.setId(1L);
+        reservation.setSlot(slot);
+        reservation.setVehicleNumber(request.getVehicleNumber());
+        reservation.setStartTime(request.getStartTime());
+        reservation.setEndTime(request.getEndTime());
+        reservation.setCost(BigDecimal.valueOf(90));
+        reservation.setStatus(ReservationStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public void validateRequest(Blackhole blackhole) {
+        ReservationServiceImpl.validateRequest(request);
+        blackhole.consume(request);
+    }
+
+    @Benchmark
+    public ReservationResponse mapToResponse() {
+        return ReservationServiceImpl.mapToResponse(reservation);
+    }
+
+    @Benchmark
+    public SlotResponse mapToSlotResponse() {
+        return ReservationServiceImpl.mapToSlotResponse(slot);
+    }
+}
@@ -0,0 +1,81 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.benchmark.SeededApplication;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.ReserveSeriesRequest;
+import com.parking.reservation.dto.response.ReservationSeriesResponse;
+import com.parking.reservation.enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A month of weekday commuting (four weeks, Monday to Friday, 09:00-18:00) booked as one series, against the same
+ * 20 reservations booked one request at a time. Every operation takes a fresh month on the next slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReservationSeriesBenchmark {
+
+    private static final int WEEKS = 4;
+    private static final EnumSet<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    @Param({"pessimistic", "striped"})
+    private String locking;
+
+    private SeededApplication application;
+    private ReservationService reservationService;
+    private List<Long> slotIds;
+    private LocalDate firstMonday;
+    private final AtomicLong months = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(2, 50, 1000, "reservation.locking.mode=" + locking);
+        reservationService = application.getBean(ReservationService.class);
+        slotIds = application.slotIds();
+        firstMonday = application.freeFrom().toLocalDate().plusDays(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public ReservationSeriesResponse reserveSeries() {
+        return reservationService.reserveSeries(nextMonth());
+    }
+
+    @Benchmark
+    public void reserveOneByOne(Blackhole blackhole) {
+        for (ReserveRequest occurrence : nextMonth().occurrences()) {
+            blackhole.consume(reservationService.reserveSlot(occurrence));
+        }
+    }
+
+    private ReserveSeriesRequest nextMonth() {
+        long k = months.getAndIncrement();
+        LocalDate monday = firstMonday.plusWeeks(WEEKS * (k / slotIds.size()));
+        return new ReserveSeriesRequest(slotIds.get((int) (k % slotIds.size())), "KA05MH1234", VehicleType.FOUR_WHEELER,
+                monday, WEEKS, WEEKDAYS, LocalTime.of(9, 0), LocalTime.of(18, 0));
+    }
+}
@@ -0,0 +1,77 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.benchmark.SeededApplication;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.enums.VehicleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReservationServiceBenchmark {
+
+    @Param({"2"})
+    private int floors;
+
+    @Param({"50", "500"})
+    private int slotsPerFloor;
+
+    @Param({"1000", "20000"})
+    private int reservations;
+
+    private SeededApplication application;
+    private ReservationService reservationService;
+    private List<Long> slotIds;
+    private LocalDateTime freeFrom;
+    private final AtomicLong bookings = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(floors, slotsPerFloor, reservations);
+        reservationService = application.getBean(ReservationService.class);
+        slotIds = application.slotIds();
+        freeFrom = application.freeFrom();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    // Every call books a fresh window, walking the slots round-robin, so the measured path is a successful booking
+    @Benchmark
+    public ReservationResponse reserveSlot() {
+        long k = bookings.getAndIncrement();
+        LocalDateTime start = freeFrom.plusHours(k / slotIds.size());
+        ReserveRequest request = new ReserveRequest(slotIds.get((int) (k % slotIds.size())), "KA05MH1234",
+                start, start.plusMinutes(45), VehicleType.FOUR_WHEELER);
+        return reservationService.reserveSlot(request);
+    }
+
+    @Benchmark
+    public Page<SlotResponse> getAvailableSlots() {
+        LocalDateTime start = SeededApplication.SEED_START.plusMinutes(15L * ThreadLocalRandom.current().nextInt(96 * 7));
+        return reservationService.getAvailableSlots(start, start.plusHours(2), VehicleType.FOUR_WHEELER,
+                PageRequest.of(0, 10, Sort.by("slotNumber")));
+    }
+}
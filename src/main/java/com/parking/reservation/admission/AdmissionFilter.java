@@ -0,0 +1,105 @@
+package com.parking.reservation.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects reservation requests before they reach the controller: with 429 once a client exceeds its rate, and
+ * writes with 503 while {@link LoadShedder} reports the database as saturated. Rejections cost no database work,
+ * so a few aggressive clients cannot fill the slot lock queue for everyone else.
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final String clientHeader;
+    private final ObjectMapper objectMapper;
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    // rateLimiter and loadShedder are null when disabled
+    public AdmissionFilter(ClientRateLimiter rateLimiter, LoadShedder loadShedder, String clientHeader,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.clientHeader = clientHeader;
+        this.objectMapper = objectMapper;
+        this.admitted = requests(meterRegistry, "admitted");
+        this.rateLimited = requests(meterRegistry, "rate_limited");
+        this.shed = requests(meterRegistry, "shed");
+        if (rateLimiter != null) {
+            Gauge.builder("reservation.admission.clients", rateLimiter, ClientRateLimiter::trackedClients)
+                    .description("Clients currently tracked by the rate limiter")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(client(request));
+            if (waitNanos > 0) {
+                rateLimited.increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests, retry after " + retryAfter + "s");
+                return;
+            }
+        }
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        if (write && loadShedder != null && loadShedder.isShedding()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service is overloaded, please retry shortly");
+            return;
+        }
+        admitted.increment();
+        if (!write || loadShedder == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            loadShedder.record(System.nanoTime() - started);
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String key = request.getHeader(clientHeader);
+        return key == null || key.isBlank() ? "ip:" + request.getRemoteAddr() : "key:" + key;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message, status.value()));
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("reservation.admission.requests")
+                .description("Reservation endpoint requests by admission outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.parking.reservation.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission control in front of the reservation endpoints: a per-client rate limit, then load shedding of writes
+ * while the database is saturated.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.admission")
+public class AdmissionProperties {
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private LoadShedding loadShedding = new LoadShedding();
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        // Off by default: the client header is not authenticated, so a caller can rotate it to get a fresh budget
+        private boolean enabled = false;
+
+        // Sustained rate per client; up to burst requests may arrive at once
+        private double requestsPerSecond = 20;
+        private int burst = 40;
+
+        // Clients are told apart by this header, by remote address when it is missing. Behind a proxy the remote
+        // address is the proxy's unless server.forward-headers-strategy is set
+        private String clientHeader = "X-API-Key";
+
+        // Clients tracked at once; the least recently seen are forgotten first
+        private long maxClients = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class LoadShedding {
+
+        private boolean enabled = true;
+
+        // Writes are turned away with 503 while more callers than this wait for a database connection
+        private int maxPendingConnections = 20;
+
+        // ... or while the p99 latency of recent writes is above this
+        private Duration maxLatency = Duration.ofSeconds(2);
+
+        // Fewer writes than this per sample interval never trigger latency shedding
+        private int minSamples = 20;
+
+        private Duration sampleInterval = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.parking.reservation.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per client, kept as a single timestamp (the generic cell rate algorithm): each client's theoretical
+ * arrival time moves forward by one emission interval per admitted request, and a request is admitted while that
+ * time is less than burst intervals ahead of now. Admission is one compare-and-set, with no lock and no refill task.
+ */
+public class ClientRateLimiter {
+
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> clients;
+
+    public ClientRateLimiter(double requestsPerSecond, int burst, long maxClients) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs requestsPerSecond > 0 and burst >= 1");
+        }
+        this.emissionNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.toleranceNanos = emissionNanos * (burst - 1);
+        // Forgotten once idle long enough to have a full bucket again
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(emissionNanos + toleranceNanos).plusSeconds(1))
+                .build();
+    }
+
+    // 0 when admitted, otherwise how long the client has to wait before its next request would be
+    public long tryAcquire(String client) {
+        AtomicLong arrival = clients.getIfPresent(client);
+        if (arrival == null) {
+            arrival = clients.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long theoretical = arrival.get();
+            long next = Math.max(theoretical, now);
+            long allowedAt = next - toleranceNanos;
+            if (now < allowedAt) {
+                return allowedAt - now;
+            }
+            if (arrival.compareAndSet(theoretical, next + emissionNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedClients() {
+        return clients.estimatedSize();
+    }
+}
@@ -0,0 +1,92 @@
+package com.parking.reservation.admission;
+
+import com.parking.reservation.datasource.BulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides once per sample interval whether writes should be shed, from the callers waiting for a database
+ * connection (in the Hikari pool and, when enabled, the bulkhead) and the p99 latency of recent writes.
+ * Requests only read the resulting flag.
+ */
+@Slf4j
+public class LoadShedder {
+
+    private final DataSource dataSource;
+    private final AdmissionProperties.LoadShedding properties;
+    private final Timer writeLatency;
+    private final LongAdder samples = new LongAdder();
+    private volatile boolean shedding;
+
+    public LoadShedder(DataSource dataSource, AdmissionProperties.LoadShedding properties, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.writeLatency = Timer.builder("reservation.admission.write.latency")
+                .description("Latency of admitted reservation writes, as seen by load shedding")
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(Duration.ofSeconds(10))
+                .distributionStatisticBufferLength(2)
+                .register(meterRegistry);
+        Gauge.builder("reservation.admission.shedding", this, shedder -> shedder.shedding ? 1 : 0)
+                .description("1 while reservation writes are being shed")
+                .register(meterRegistry);
+    }
+
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    public void record(long nanos) {
+        writeLatency.record(nanos, TimeUnit.NANOSECONDS);
+        samples.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.admission.load-shedding.sample-interval:PT1S}")
+    public void sample() {
+        long writes = samples.sumThenReset();
+        int pending = pendingConnections();
+        double p99 = p99Nanos();
+        boolean overloaded = pending > properties.getMaxPendingConnections()
+                || (writes >= properties.getMinSamples() && p99 > properties.getMaxLatency().toNanos());
+        if (overloaded != shedding) {
+            log.warn("{} shedding reservation writes: {} callers waiting for a connection, p99 {} ms over {} writes",
+                    overloaded ? "Started" : "Stopped", pending, (long) (p99 / 1_000_000), writes);
+        }
+        shedding = overloaded;
+    }
+
+    private double p99Nanos() {
+        for (ValueAtPercentile percentile : writeLatency.takeSnapshot().percentileValues()) {
+            return percentile.value(TimeUnit.NANOSECONDS);
+        }
+        return 0;
+    }
+
+    private int pendingConnections() {
+        int pending = 0;
+        try {
+            if (dataSource.isWrapperFor(BulkheadDataSource.class)) {
+                pending += dataSource.unwrap(BulkheadDataSource.class).getQueueLength();
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                pending += pool == null ? 0 : pool.getThreadsAwaitingConnection();
+            }
+        } catch (SQLException ex) {
+            log.debug("Could not read the connection pool state", ex);
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,32 @@
+package com.parking.reservation.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.analytics")
+public class AnalyticsProperties {
+
+    // How often days touched by bookings and cancellations are rebuilt, i.e. how far the rollups may lag
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    // A touched day is rebuilt only after this long, so write-behind changes have reached the database
+    private Duration settleDelay = Duration.ofSeconds(1);
+
+    // Backfill from reservations and reservations_archive on startup while the rollup tables are empty
+    private boolean backfillOnStartup = true;
+
+    private int backfillThreads = 4;
+
+    // Consecutive days rebuilt by one backfill task
+    private int backfillChunkDays = 31;
+
+    // Longest range an hourly query may cover; daily queries may cover maxDailyRange
+    private Duration maxHourlyRange = Duration.ofDays(31);
+
+    private Duration maxDailyRange = Duration.ofDays(3660);
+}
@@ -0,0 +1,90 @@
+package com.parking.reservation.analytics;
+
+import com.parking.reservation.dto.response.OccupancyResponse;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.InvalidAnalyticsQueryException;
+import com.parking.reservation.repository.SlotRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Answers occupancy and revenue queries from the rollups kept by {@link OccupancyRollups}; the reservations tables are
+ * never read. Only buckets with reservations are returned.
+ */
+public class OccupancyAnalytics {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SlotRepository slotRepository;
+    private final AnalyticsProperties properties;
+
+    public OccupancyAnalytics(JdbcTemplate jdbcTemplate, SlotRepository slotRepository, AnalyticsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.slotRepository = slotRepository;
+        this.properties = properties;
+    }
+
+    // from is rounded down and to up to whole buckets; floorId and vehicleType are optional filters
+    public List<OccupancyResponse> occupancy(LocalDateTime from, LocalDateTime to, OccupancyGranularity granularity,
+                                             Long floorId, VehicleType vehicleType) {
+        if (!from.isBefore(to)) {
+            throw new InvalidAnalyticsQueryException("from must be before to");
+        }
+        Duration maxRange = granularity == OccupancyGranularity.HOUR ? properties.getMaxHourlyRange() : properties.getMaxDailyRange();
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidAnalyticsQueryException(String.format("A %s query may cover at most %d days",
+                    granularity.name().toLowerCase(), maxRange.toDays()));
+        }
+
+        String sql;
+        List<Object> args = new ArrayList<>();
+        if (granularity == OccupancyGranularity.HOUR) {
+            sql = "SELECT bucket_start, floor_id, vehicle_type, reserved_minutes, reservations, revenue FROM occupancy_hourly " +
+                    "WHERE bucket_start >= ? AND bucket_start < ?";
+            args.add(Timestamp.valueOf(from.truncatedTo(ChronoUnit.HOURS)));
+            args.add(Timestamp.valueOf(to));
+        } else {
+            sql = "SELECT bucket_date, floor_id, vehicle_type, reserved_minutes, reservations, revenue FROM occupancy_daily " +
+                    "WHERE bucket_date >= ? AND bucket_date < ?";
+            args.add(Date.valueOf(from.toLocalDate()));
+            args.add(Date.valueOf(to.minusNanos(1).toLocalDate().plusDays(1)));
+        }
+        if (floorId != null) {
+            sql += " AND floor_id = ?";
+            args.add(floorId);
+        }
+        if (vehicleType != null) {
+            sql += " AND vehicle_type = ?";
+            args.add(vehicleType.name());
+        }
+        sql += " ORDER BY 1, 2, 3";
+
+        Map<Long, Map<VehicleType, Long>> capacity = capacity();
+        long bucketMinutes = granularity.bucketMinutes();
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Long rowFloorId = rs.getLong(2);
+            VehicleType rowType = VehicleType.valueOf(rs.getString(3));
+            long reservedMinutes = rs.getLong(4);
+            long slots = capacity.getOrDefault(rowFloorId, Map.of()).getOrDefault(rowType, 0L);
+            double percent = slots == 0 ? 0 : Math.round(reservedMinutes * 10_000.0 / (slots * bucketMinutes)) / 100.0;
+            return new OccupancyResponse(rs.getTimestamp(1).toLocalDateTime(), rowFloorId, rowType, reservedMinutes,
+                    rs.getInt(5), rs.getBigDecimal(6), percent);
+        }, args.toArray());
+    }
+
+    // Slots per floor and vehicle type, from the cached slot catalogue
+    private Map<Long, Map<VehicleType, Long>> capacity() {
+        return slotRepository.findAllWithFloor().stream()
+                .collect(Collectors.groupingBy(slot -> slot.getFloor().getId(),
+                        Collectors.groupingBy(Slot::getVehicleType, Collectors.counting())));
+    }
+}
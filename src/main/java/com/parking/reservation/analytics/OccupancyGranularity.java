@@ -0,0 +1,18 @@
+package com.parking.reservation.analytics;
+
+import java.time.Duration;
+
+public enum OccupancyGranularity {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration bucket;
+
+    OccupancyGranularity(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public long bucketMinutes() {
+        return bucket.toMinutes();
+    }
+}
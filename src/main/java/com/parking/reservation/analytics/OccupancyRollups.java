@@ -0,0 +1,262 @@
+package com.parking.reservation.analytics;
+
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.event.ReservationChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Maintains {@code occupancy_hourly} and {@code occupancy_daily}. A booking or cancellation marks the days it covers
+ * as touched; every refresh interval each touched day is rebuilt from its ACTIVE reservations, in
+ * {@code reservations} and {@code reservations_archive}, with one index range scan and rewritten in one transaction.
+ * Rebuilding rather than adding deltas makes the live refresh and the backfill the same idempotent operation, so they
+ * cannot double count a change that both of them saw, and a lost event only delays a day until it is touched again.
+ */
+@Slf4j
+public class OccupancyRollups {
+
+    // Reservations are at most a day long (and part of an hour), so those ending within two days of the day start cover it
+    private static final String SELECT_DAY =
+            "SELECT s.floor_id, s.vehicle_type, r.start_time, r.end_time, r.cost FROM reservations r " +
+            "JOIN slots s ON s.id = r.slot_id " +
+            "WHERE r.status = 'ACTIVE' AND r.end_time > ? AND r.end_time < ? AND r.start_time < ? " +
+            "UNION ALL " +
+            "SELECT s.floor_id, s.vehicle_type, a.start_time, a.end_time, a.cost FROM reservations_archive a " +
+            "JOIN slots s ON s.id = a.slot_id " +
+            "WHERE a.status = 'ACTIVE' AND a.end_time > ? AND a.end_time < ? AND a.start_time < ?";
+
+    // Cancelled ones included, so a day whose bookings were all cancelled is rebuilt empty
+    private static final String SELECT_DAYS =
+            "SELECT CAST(start_time AS DATE) FROM reservations UNION SELECT CAST(end_time AS DATE) FROM reservations " +
+            "UNION SELECT CAST(start_time AS DATE) FROM reservations_archive " +
+            "UNION SELECT CAST(end_time AS DATE) FROM reservations_archive";
+
+    private static final String INSERT_HOURLY =
+            "INSERT INTO occupancy_hourly (bucket_start, floor_id, vehicle_type, reserved_minutes, reservations, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DAILY =
+            "INSERT INTO occupancy_daily (bucket_date, floor_id, vehicle_type, reserved_minutes, reservations, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int DAY_LOCKS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalyticsProperties properties;
+    // Touched days and when they were first touched (System.nanoTime)
+    private final Map<LocalDate, Long> touchedDays = new ConcurrentHashMap<>();
+    // A day is read and rewritten under its lock, so a refresh and a backfill of the same day do not interleave
+    private final ReentrantLock[] dayLocks = new ReentrantLock[DAY_LOCKS];
+    private final Timer rebuildTimer;
+
+    public OccupancyRollups(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            AnalyticsProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        for (int i = 0; i < DAY_LOCKS; i++) {
+            dayLocks[i] = new ReentrantLock();
+        }
+        this.rebuildTimer = Timer.builder("reservation.analytics.rebuild")
+                .description("Time to rebuild the occupancy rollups of one day")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("reservation.analytics.pending.days", touchedDays, Map::size)
+                .description("Days changed since their occupancy rollups were last rebuilt")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        LocalDate last = event.endTime().minusNanos(1).toLocalDate();
+        for (LocalDate day = event.startTime().toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            touch(day);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${reservation.analytics.refresh-interval:PT10S}",
+            fixedDelayString = "${reservation.analytics.refresh-interval:PT10S}")
+    public void refresh() {
+        long settledBefore = System.nanoTime() - properties.getSettleDelay().toNanos();
+        for (Map.Entry<LocalDate, Long> touched : touchedDays.entrySet()) {
+            // Removed before the read, so a change committed from here on touches the day again
+            if (touched.getValue() - settledBefore <= 0 && touchedDays.remove(touched.getKey(), touched.getValue())) {
+                rebuildOrRetry(touched.getKey());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        Integer rollups = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM occupancy_daily", Integer.class);
+        if (rollups != null && rollups == 0) {
+            Thread thread = new Thread(this::backfill, "occupancy-backfill");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Rebuilds every day that has reservations, live or archived, in parallel chunks of consecutive days.
+     * Safe while bookings go on; returns the number of days rebuilt.
+     */
+    public int backfill() {
+        long started = System.nanoTime();
+        List<LocalDate> days = jdbcTemplate.queryForList(SELECT_DAYS, Date.class).stream()
+                .map(Date::toLocalDate)
+                .sorted()
+                .toList();
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getBackfillThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-backfill-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < days.size(); from += properties.getBackfillChunkDays()) {
+                List<LocalDate> chunk = days.subList(from, Math.min(from + properties.getBackfillChunkDays(), days.size()));
+                chunks.add(executor.submit(() -> chunk.forEach(this::rebuildOrRetry)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Occupancy backfill was interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Occupancy backfill failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Occupancy rollups backfilled for {} days in {} ms", days.size(), (System.nanoTime() - started) / 1_000_000);
+        return days.size();
+    }
+
+    private void touch(LocalDate day) {
+        touchedDays.putIfAbsent(day, System.nanoTime());
+    }
+
+    // Another instance rewriting the same day makes the insert conflict; the next refresh settles it
+    private void rebuildOrRetry(LocalDate day) {
+        try {
+            rebuildTimer.record(() -> rebuild(day));
+        } catch (DataAccessException ex) {
+            log.warn("Rebuilding occupancy rollups for {} failed, retrying on the next refresh", day, ex);
+            touch(day);
+        }
+    }
+
+    private void rebuild(LocalDate day) {
+        ReentrantLock lock = dayLocks[Math.floorMod(day.toEpochDay(), DAY_LOCKS)];
+        lock.lock();
+        try {
+            LocalDateTime from = day.atStartOfDay();
+            LocalDateTime to = from.plusDays(1);
+            Timestamp fromTs = Timestamp.valueOf(from);
+            Timestamp endBound = Timestamp.valueOf(from.plusDays(2));
+            Timestamp toTs = Timestamp.valueOf(to);
+
+            Map<Bucket, Totals> hourly = new HashMap<>();
+            jdbcTemplate.query(SELECT_DAY, rs -> {
+                Long floorId = rs.getLong(1);
+                VehicleType vehicleType = VehicleType.valueOf(rs.getString(2));
+                LocalDateTime start = rs.getTimestamp(3).toLocalDateTime();
+                LocalDateTime end = rs.getTimestamp(4).toLocalDateTime();
+                add(hourly, floorId, vehicleType, start, end, rs.getBigDecimal(5), from, to);
+            }, fromTs, endBound, toTs, fromTs, endBound, toTs);
+
+            Map<Bucket, Totals> daily = new HashMap<>();
+            hourly.forEach((bucket, totals) -> daily
+                    .computeIfAbsent(new Bucket(from, bucket.floorId(), bucket.vehicleType()), key -> new Totals())
+                    .add(totals));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM occupancy_hourly WHERE bucket_start >= ? AND bucket_start < ?", fromTs, toTs);
+                jdbcTemplate.update("DELETE FROM occupancy_daily WHERE bucket_date = ?", Date.valueOf(day));
+                jdbcTemplate.batchUpdate(INSERT_HOURLY, rows(hourly, bucket -> Timestamp.valueOf(bucket.start())));
+                jdbcTemplate.batchUpdate(INSERT_DAILY, rows(daily, bucket -> Date.valueOf(day)));
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Minutes go to every hour of the day the reservation covers; the count and cost to the hour it starts in
+    private static void add(Map<Bucket, Totals> hourly, Long floorId, VehicleType vehicleType, LocalDateTime start,
+                            LocalDateTime end, BigDecimal cost, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime covered = start.isBefore(from) ? from : start;
+        LocalDateTime coveredEnd = end.isAfter(to) ? to : end;
+        for (LocalDateTime hour = covered.truncatedTo(ChronoUnit.HOURS); hour.isBefore(coveredEnd); hour = hour.plusHours(1)) {
+            LocalDateTime hourEnd = hour.plusHours(1);
+            LocalDateTime overlapStart = covered.isAfter(hour) ? covered : hour;
+            LocalDateTime overlapEnd = coveredEnd.isBefore(hourEnd) ? coveredEnd : hourEnd;
+            hourly.computeIfAbsent(new Bucket(hour, floorId, vehicleType), key -> new Totals())
+                    .reservedMinutes += Duration.between(overlapStart, overlapEnd).toMinutes();
+        }
+        if (!start.isBefore(from)) {
+            Totals totals = hourly.get(new Bucket(start.truncatedTo(ChronoUnit.HOURS), floorId, vehicleType));
+            totals.reservations++;
+            totals.revenue = totals.revenue.add(cost);
+        }
+    }
+
+    private static List<Object[]> rows(Map<Bucket, Totals> totals, Function<Bucket, Object> bucketColumn) {
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((bucket, total) -> rows.add(new Object[]{bucketColumn.apply(bucket), bucket.floorId(),
+                bucket.vehicleType().name(), total.reservedMinutes, total.reservations, total.revenue}));
+        return rows;
+    }
+
+    private record Bucket(LocalDateTime start, Long floorId, VehicleType vehicleType) {
+    }
+
+    private static final class Totals {
+
+        private long reservedMinutes;
+        private int reservations;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(Totals other) {
+            reservedMinutes += other.reservedMinutes;
+            reservations += other.reservations;
+            revenue = revenue.add(other.revenue);
+        }
+    }
+}
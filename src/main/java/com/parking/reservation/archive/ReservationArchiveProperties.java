@@ -0,0 +1,25 @@
+package com.parking.reservation.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.archive")
+public class ReservationArchiveProperties {
+
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofMinutes(10);
+
+    // Active reservations are archived once they ended this long ago; cancelled ones right away
+    private Duration retention = Duration.ofDays(1);
+
+    // Rows moved per transaction, which bounds how long the moved rows stay locked
+    private int batchSize = 500;
+
+    private int maxBatchesPerRun = 200;
+}
@@ -0,0 +1,98 @@
+package com.parking.reservation.archive;
+
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.index.ReservationInterval;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.repository.ArchivedReservationRepository;
+import com.parking.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves cancelled and long finished reservations from {@code reservations} to {@code reservations_archive},
+ * one bounded batch per transaction, so the hot table only holds what overlap and availability checks need.
+ */
+@Slf4j
+public class ReservationArchiver {
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final SlotIntervalIndex slotIntervalIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationArchiveProperties properties;
+    private final Counter archivedRows;
+    private final Timer batchTimer;
+
+    public ReservationArchiver(ReservationRepository reservationRepository,
+                               ArchivedReservationRepository archivedReservationRepository,
+                               SlotIntervalIndex slotIntervalIndex,
+                               AvailabilityIndex availabilityIndex,
+                               TransactionTemplate transactionTemplate,
+                               ReservationArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.slotIntervalIndex = slotIntervalIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archivedRows = Counter.builder("reservation.archive.rows")
+                .description("Reservations moved to the archive table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("reservation.archive.batch")
+                .description("Duration of one archive batch transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${reservation.archive.interval:PT10M}", fixedDelayString = "${reservation.archive.interval:PT10M}")
+    public void archiveScheduled() {
+        archive(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    // Returns the number of reservations moved
+    public int archive(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int moved = batchTimer.record(() -> archiveBatch(cutoff));
+            total += moved;
+            if (moved < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} reservations ended before {} in {} ms", total, cutoff, (System.nanoTime() - started) / 1_000_000);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<ReservationInterval> batch = transactionTemplate.execute(status -> {
+            List<ReservationInterval> candidates = reservationRepository.findArchivable(cutoff, PageRequest.ofSize(properties.getBatchSize()));
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+            List<Long> ids = candidates.stream().map(ReservationInterval::reservationId).toList();
+            archivedReservationRepository.copyFromReservations(ids, LocalDateTime.now());
+            reservationRepository.deleteByIds(ids);
+            return candidates;
+        });
+        // Expired active reservations are still indexed; cancelled ones were already removed on cancel
+        for (ReservationInterval interval : batch) {
+            slotIntervalIndex.remove(interval.slotId(), interval.reservationId());
+            availabilityIndex.markReleased(interval.slotId(), interval.startTime(), interval.endTime());
+        }
+        archivedRows.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,55 @@
+package com.parking.reservation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.parking.reservation.dto.response.ReservationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of {@link ReservationResponse} by reservation id. Changes are applied once the
+ * surrounding transaction has committed, so a rolled back reservation or cancellation never becomes visible.
+ */
+public class ReservationCache {
+
+    private final Cache<Long, ReservationResponse> cache;
+
+    public ReservationCache(ReservationCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "reservations");
+    }
+
+    // A loader exception propagates and nothing is cached
+    public ReservationResponse get(Long id, Function<Long, ReservationResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void putAfterCommit(ReservationResponse response) {
+        afterCommit(() -> cache.put(response.id(), response));
+    }
+
+    public void evictAfterCommit(Long id) {
+        afterCommit(() -> cache.invalidate(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
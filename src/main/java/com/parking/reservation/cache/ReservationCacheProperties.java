@@ -0,0 +1,18 @@
+package com.parking.reservation.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.cache")
+public class ReservationCacheProperties {
+
+    private long maxSize = 10_000;
+
+    // Upper bound on how long a change made outside this service (another node, a manual UPDATE) can stay invisible
+    private Duration ttl = Duration.ofSeconds(60);
+}
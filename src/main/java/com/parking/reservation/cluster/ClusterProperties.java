@@ -0,0 +1,31 @@
+package com.parking.reservation.cluster;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+
+    // Origin of the events this instance writes; must differ between running instances, random per start by default
+    private String nodeId = UUID.randomUUID().toString();
+
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    private int pollBatchSize = 1000;
+
+    // How long a missing event id is waited for: longer than any transaction that writes events stays open
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    // Events older than this are purged; a node that was away longer rebuilds its state on start anyway
+    private Duration retention = Duration.ofHours(1);
+
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
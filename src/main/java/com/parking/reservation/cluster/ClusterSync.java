@@ -0,0 +1,280 @@
+package com.parking.reservation.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.cache.ReservationCache;
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.event.ReservationChangedEvent;
+import com.parking.reservation.event.SlotsCreatedEvent;
+import com.parking.reservation.event.WaitlistChangedEvent;
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.index.IndexWarmUpOrder;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory state of this node (interval and availability indexes, reservation cache, cached slot
+ * catalogue, waitlist index and the SSE streams) in step with the other nodes on the same database.
+ * <p>
+ * Every {@link ReservationChangedEvent}, {@link WaitlistChangedEvent} and {@link SlotsCreatedEvent} is also written to
+ * cluster_events, in the transaction publishing it. Each node polls the rows the others wrote, applies them to its
+ * indexes and caches and publishes them locally again, in id order. Ids are handed out at insert but become visible
+ * at commit, so a missing id is waited for up to the gap timeout before the cursor moves past it; rows after it are
+ * applied in the meantime. Other nodes' changes show up here within about a poll interval.
+ */
+@Slf4j
+public class ClusterSync implements SmartInitializingSingleton {
+
+    private enum Kind {
+        RESERVATION,
+        WAITLIST,
+        SLOTS
+    }
+
+    private record ClusterEvent(long id, String origin, String kind, String payload) {
+    }
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO cluster_events (origin, kind, payload, created_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_EVENTS =
+            "SELECT id, origin, kind, payload FROM cluster_events WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    // Keeps a SLOTS payload well within the column
+    private static final int SLOT_IDS_PER_EVENT = 200;
+
+    // Set while another node's event is published here, which must not be written out again
+    private static final ThreadLocal<Boolean> REPLAYING = ThreadLocal.withInitial(() -> false);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SlotIntervalIndex slotIntervalIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final ReservationCache reservationCache;
+    private final SlotRepository slotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterProperties properties;
+    private final Counter appliedEvents;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Poller thread only: every event up to the cursor is handled, and so are the ids above it in handledAhead
+    private long cursor;
+    private final NavigableSet<Long> handledAhead = new TreeSet<>();
+    private long gapSince = -1;
+
+    public ClusterSync(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       SlotIntervalIndex slotIntervalIndex,
+                       AvailabilityIndex availabilityIndex,
+                       ReservationCache reservationCache,
+                       SlotRepository slotRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       ClusterProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.slotIntervalIndex = slotIntervalIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.reservationCache = reservationCache;
+        this.slotRepository = slotRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.appliedEvents = Counter.builder("reservation.cluster.events.applied")
+                .description("Changes made on other nodes and applied to this one")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs before the indexes are warmed up from the database. Events from the last gap timeout are applied again:
+     * their transactions may have committed after the warm-up read, and applying an event twice changes nothing.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long recent = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cluster_events WHERE created_at > ?", Long.class,
+                Timestamp.valueOf(LocalDateTime.now().minus(properties.getGapTimeout())));
+        Long last = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cluster_events", Long.class);
+        cursor = recent != null ? recent - 1 : (last != null ? last : 0);
+        log.info("Cluster node {} applies changes of other nodes from event {}", properties.getNodeId(), cursor + 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(IndexWarmUpOrder.CLUSTER_SYNC)
+    public void start() {
+        long interval = properties.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::poll, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        append(Kind.RESERVATION, List.of(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onWaitlistChanged(WaitlistChangedEvent event) {
+        append(Kind.WAITLIST, List.of(event.entry()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSlotsCreated(SlotsCreatedEvent event) {
+        List<Object> chunks = new ArrayList<>();
+        for (int from = 0; from < event.slotIds().size(); from += SLOT_IDS_PER_EVENT) {
+            chunks.add(event.slotIds().subList(from, Math.min(event.slotIds().size(), from + SLOT_IDS_PER_EVENT)));
+        }
+        append(Kind.SLOTS, chunks);
+    }
+
+    @Scheduled(initialDelayString = "${reservation.cluster.purge-interval:PT10M}",
+            fixedDelayString = "${reservation.cluster.purge-interval:PT10M}")
+    public void purge() {
+        int purged = jdbcTemplate.update("DELETE FROM cluster_events WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention())));
+        if (purged > 0) {
+            log.info("Purged {} cluster events", purged);
+        }
+    }
+
+    private void append(Kind kind, List<Object> payloads) {
+        if (REPLAYING.get() || payloads.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        for (Object payload : payloads) {
+            try {
+                rows.add(new Object[]{properties.getNodeId(), kind.name(), objectMapper.writeValueAsString(payload), now});
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Cannot write " + kind + " cluster event", ex);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    private void poll() {
+        try {
+            List<ClusterEvent> events = jdbcTemplate.query(SELECT_EVENTS,
+                    (rs, rowNum) -> new ClusterEvent(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)),
+                    cursor, properties.getPollBatchSize());
+            applyAll(events);
+            advance(events);
+        } catch (RuntimeException ex) {
+            log.warn("Could not apply changes of other nodes, retrying in {}", properties.getPollInterval(), ex);
+        }
+    }
+
+    // Stops at the first event the database fails for, so that later ones are not applied before it on the next poll
+    private void applyAll(List<ClusterEvent> events) {
+        REPLAYING.set(true);
+        try {
+            for (ClusterEvent event : events) {
+                if (handledAhead.contains(event.id())) {
+                    continue;
+                }
+                if (!event.origin().equals(properties.getNodeId())) {
+                    try {
+                        apply(Kind.valueOf(event.kind()), event.payload());
+                        appliedEvents.increment();
+                    } catch (IllegalArgumentException | JsonProcessingException ex) {
+                        log.warn("Skipping unreadable cluster event {} from {}", event.id(), event.origin(), ex);
+                    } catch (DataAccessException ex) {
+                        throw ex;
+                    } catch (RuntimeException ex) {
+                        // A failing local listener would fail again on every retry
+                        log.warn("Cluster event {} from {} failed to apply", event.id(), event.origin(), ex);
+                    }
+                }
+                handledAhead.add(event.id());
+            }
+        } finally {
+            REPLAYING.remove();
+        }
+    }
+
+    private void apply(Kind kind, String payload) throws JsonProcessingException {
+        switch (kind) {
+            case RESERVATION -> applyReservation(objectMapper.readValue(payload, ReservationChangedEvent.class));
+            case WAITLIST -> eventPublisher.publishEvent(
+                    new WaitlistChangedEvent(objectMapper.readValue(payload, WaitlistResponse.class)));
+            case SLOTS -> addSlots(List.of(objectMapper.readValue(payload, Long[].class)));
+        }
+    }
+
+    private void applyReservation(ReservationChangedEvent event) {
+        if (event.change() == ReservationChangedEvent.Change.RESERVED) {
+            slotIntervalIndex.add(event.slotId(), event.reservationId(), event.startTime(), event.endTime());
+            availabilityIndex.markReserved(event.slotId(), event.startTime(), event.endTime());
+        } else {
+            slotIntervalIndex.remove(event.slotId(), event.reservationId());
+            availabilityIndex.markReleased(event.slotId(), event.startTime(), event.endTime());
+        }
+        reservationCache.evictAfterCommit(event.reservationId());
+        eventPublisher.publishEvent(event);
+    }
+
+    private void addSlots(List<Long> slotIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Drops this node's cached slot catalogue when the transaction commits
+            slotRepository.invalidateCachedSlots();
+            slotRepository.findAllWithFloorByIdIn(slotIds).forEach(availabilityIndex::addSlot);
+        });
+    }
+
+    private void advance(List<ClusterEvent> events) {
+        for (ClusterEvent event : events) {
+            if (!handledAhead.contains(event.id()) || (event.id() != cursor + 1 && !gapTimedOut())) {
+                break;
+            }
+            cursor = event.id();
+            gapSince = -1;
+        }
+        handledAhead.headSet(cursor, true).clear();
+    }
+
+    // The missing ids belong to transactions still open, or rolled back; only the latter stay missing
+    private boolean gapTimedOut() {
+        long now = System.nanoTime();
+        if (gapSince == -1) {
+            gapSince = now;
+            return false;
+        }
+        if (now - gapSince < properties.getGapTimeout().toNanos()) {
+            return false;
+        }
+        log.debug("Stopped waiting for cluster event {}", cursor + 1);
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.parking.reservation.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.admission.AdmissionFilter;
+import com.parking.reservation.admission.AdmissionProperties;
+import com.parking.reservation.admission.ClientRateLimiter;
+import com.parking.reservation.admission.LoadShedder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservation.admission.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LoadShedder loadShedder(DataSource dataSource, AdmissionProperties properties, MeterRegistry meterRegistry) {
+        return new LoadShedder(dataSource, properties.getLoadShedding(), meterRegistry);
+    }
+
+    // ReservationController only; the availability stream is long-lived and has its own subscriber limits
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionProperties properties,
+                                                                   ObjectProvider<LoadShedder> loadShedder,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        AdmissionProperties.RateLimit rateLimit = properties.getRateLimit();
+        ClientRateLimiter rateLimiter = rateLimit.isEnabled()
+                ? new ClientRateLimiter(rateLimit.getRequestsPerSecond(), rateLimit.getBurst(), rateLimit.getMaxClients())
+                : null;
+        AdmissionFilter filter = new AdmissionFilter(rateLimiter, loadShedder.getIfAvailable(),
+                rateLimit.getClientHeader(), objectMapper, meterRegistry);
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/v1/api/reserve", "/v1/api/reserve/*", "/v1/api/reservations/*",
+                "/v1/api/availability", "/v1/api/availability/scroll");
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.analytics.AnalyticsProperties;
+import com.parking.reservation.analytics.OccupancyAnalytics;
+import com.parking.reservation.analytics.OccupancyRollups;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AnalyticsProperties.class)
+public class AnalyticsConfig {
+
+    @Bean
+    public OccupancyRollups occupancyRollups(JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager,
+                                             AnalyticsProperties properties,
+                                             MeterRegistry meterRegistry) {
+        return new OccupancyRollups(jdbcTemplate, new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+
+    @Bean
+    public OccupancyAnalytics occupancyAnalytics(JdbcTemplate jdbcTemplate,
+                                                 SlotRepository slotRepository,
+                                                 AnalyticsProperties properties) {
+        return new OccupancyAnalytics(jdbcTemplate, slotRepository, properties);
+    }
+}
@@ -0,0 +1,18 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.stream.AvailabilityStream;
+import com.parking.reservation.stream.AvailabilityStreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AvailabilityStreamProperties.class)
+public class AvailabilityStreamConfig {
+
+    @Bean
+    public AvailabilityStream availabilityStream(AvailabilityStreamProperties properties, MeterRegistry meterRegistry) {
+        return new AvailabilityStream(properties, meterRegistry);
+    }
+}
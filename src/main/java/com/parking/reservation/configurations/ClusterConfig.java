@@ -0,0 +1,59 @@
+package com.parking.reservation.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.cache.ReservationCache;
+import com.parking.reservation.cluster.ClusterProperties;
+import com.parking.reservation.cluster.ClusterSync;
+import com.parking.reservation.idempotency.IdempotencyProperties;
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.locking.LocalSlotLeases;
+import com.parking.reservation.locking.SlotLeases;
+import com.parking.reservation.locking.SlotLockMode;
+import com.parking.reservation.locking.SlotLockProperties;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+@ConditionalOnProperty(prefix = "reservation.cluster", name = "enabled", havingValue = "true")
+@Slf4j
+public class ClusterConfig {
+
+    @Bean
+    public ClusterSync clusterSync(ClusterProperties properties,
+                                   SlotLockProperties lockProperties,
+                                   SlotLeases slotLeases,
+                                   IdempotencyProperties idempotencyProperties,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   SlotIntervalIndex slotIntervalIndex,
+                                   AvailabilityIndex availabilityIndex,
+                                   ReservationCache reservationCache,
+                                   SlotRepository slotRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        // In-process locks only serialise this instance; write-behind needs them, so it is ruled out as well
+        SlotLockMode mode = lockProperties.getMode();
+        if (mode == SlotLockMode.STRIPED || (mode == SlotLockMode.LEASE && slotLeases instanceof LocalSlotLeases)) {
+            throw new IllegalStateException("reservation.cluster.enabled=true requires reservation.locking.mode "
+                    + "pessimistic, optimistic, or lease with a lease store shared by all nodes");
+        }
+        if (!idempotencyProperties.isPersistent()) {
+            log.warn("reservation.idempotency.persistent=false: a retry that reaches another node is executed again");
+        }
+        return new ClusterSync(jdbcTemplate, new TransactionTemplate(transactionManager), objectMapper,
+                slotIntervalIndex, availabilityIndex, reservationCache, slotRepository, eventPublisher, properties,
+                meterRegistry);
+    }
+}
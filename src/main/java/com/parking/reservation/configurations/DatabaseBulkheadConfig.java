@@ -0,0 +1,52 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.datasource.BulkheadDataSource;
+import com.parking.reservation.datasource.DatabaseBulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(prefix = DatabaseBulkheadProperties.PREFIX, name = "enabled", havingValue = "true")
+@Slf4j
+public class DatabaseBulkheadConfig {
+
+    // Static and bound straight from the Environment, so the post-processor does not pull other beans in early
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        DatabaseBulkheadProperties properties = Binder.get(environment)
+                .bindOrCreate(DatabaseBulkheadProperties.PREFIX, DatabaseBulkheadProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int permits = properties.getPermits() > 0 ? properties.getPermits()
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                log.info("Limiting data source '{}' to {} concurrent connections", beanName, permits);
+                return new BulkheadDataSource(dataSource, permits, properties.getMaxWait());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                dataSource.unwrap(BulkheadDataSource.class).bindMetrics(registry);
+            } catch (SQLException ex) {
+                log.warn("Data source is not wrapped in a bulkhead, no bulkhead metrics registered");
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.parking.reservation.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.idempotency.IdempotencyProperties;
+import com.parking.reservation.idempotency.ReservationIdempotency;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public ReservationIdempotency reservationIdempotency(JdbcTemplate jdbcTemplate,
+                                                         ObjectMapper objectMapper,
+                                                         IdempotencyProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new ReservationIdempotency(jdbcTemplate, objectMapper, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.pricing.PricingEngine;
+import com.parking.reservation.pricing.PricingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingConfig {
+
+    @Bean
+    public PricingEngine pricingEngine(PricingProperties properties) {
+        return new PricingEngine(properties);
+    }
+}
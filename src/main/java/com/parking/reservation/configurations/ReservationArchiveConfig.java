@@ -0,0 +1,35 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.archive.ReservationArchiveProperties;
+import com.parking.reservation.archive.ReservationArchiver;
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.repository.ArchivedReservationRepository;
+import com.parking.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReservationArchiveProperties.class)
+@ConditionalOnProperty(prefix = "reservation.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationArchiveConfig {
+
+    @Bean
+    public ReservationArchiver reservationArchiver(ReservationRepository reservationRepository,
+                                                   ArchivedReservationRepository archivedReservationRepository,
+                                                   SlotIntervalIndex slotIntervalIndex,
+                                                   AvailabilityIndex availabilityIndex,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ReservationArchiveProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        return new ReservationArchiver(reservationRepository, archivedReservationRepository, slotIntervalIndex,
+                availabilityIndex, new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+}
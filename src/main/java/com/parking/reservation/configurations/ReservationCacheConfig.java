@@ -0,0 +1,18 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.cache.ReservationCache;
+import com.parking.reservation.cache.ReservationCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReservationCacheProperties.class)
+public class ReservationCacheConfig {
+
+    @Bean
+    public ReservationCache reservationCache(ReservationCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ReservationCache(properties, meterRegistry);
+    }
+}
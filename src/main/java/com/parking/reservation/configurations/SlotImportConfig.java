@@ -0,0 +1,35 @@
+package com.parking.reservation.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.provisioning.SlotImportProperties;
+import com.parking.reservation.provisioning.SlotImporter;
+import com.parking.reservation.repository.FloorRepository;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(SlotImportProperties.class)
+public class SlotImportConfig {
+
+    @Bean
+    public SlotImporter slotImporter(FloorRepository floorRepository,
+                                     SlotRepository slotRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     AvailabilityIndex availabilityIndex,
+                                     ObjectMapper objectMapper,
+                                     ApplicationEventPublisher eventPublisher,
+                                     SlotImportProperties properties,
+                                     MeterRegistry meterRegistry) {
+        return new SlotImporter(floorRepository, slotRepository, jdbcTemplate, new TransactionTemplate(transactionManager),
+                availabilityIndex, objectMapper, eventPublisher, properties, meterRegistry);
+    }
+}
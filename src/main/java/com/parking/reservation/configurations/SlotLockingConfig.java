@@ -0,0 +1,61 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.locking.JdbcSlotLeases;
+import com.parking.reservation.locking.LeaseSlotLockStrategy;
+import com.parking.reservation.locking.LocalSlotLeases;
+import com.parking.reservation.locking.OptimisticSlotLockStrategy;
+import com.parking.reservation.locking.PessimisticSlotLockStrategy;
+import com.parking.reservation.locking.SlotLeaseStore;
+import com.parking.reservation.locking.SlotLeases;
+import com.parking.reservation.locking.SlotLockMetrics;
+import com.parking.reservation.locking.SlotLockProperties;
+import com.parking.reservation.locking.SlotLockStrategy;
+import com.parking.reservation.locking.StripedSlotLockStrategy;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SlotLockProperties.class)
+@Slf4j
+public class SlotLockingConfig {
+
+    @Bean
+    public SlotLockStrategy slotLockStrategy(SlotLockProperties properties,
+                                             SlotRepository slotRepository,
+                                             PlatformTransactionManager transactionManager,
+                                             ObjectProvider<SlotLeases> slotLeases,
+                                             MeterRegistry meterRegistry) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        SlotLockMetrics metrics = new SlotLockMetrics(meterRegistry, properties.getMode());
+        log.info("Using {} slot locking", properties.getMode());
+        return switch (properties.getMode()) {
+            case PESSIMISTIC -> new PessimisticSlotLockStrategy(slotRepository, transactionTemplate, metrics);
+            case OPTIMISTIC -> new OptimisticSlotLockStrategy(slotRepository, transactionTemplate,
+                    properties.getOptimisticAttempts(), metrics);
+            case STRIPED -> new StripedSlotLockStrategy(slotRepository, transactionTemplate,
+                    properties.getStripes(), properties.getStripeTimeout(), metrics);
+            case LEASE -> new LeaseSlotLockStrategy(slotRepository, transactionTemplate, slotLeases.getObject(),
+                    properties.getLeaseTtl(), properties.getLeaseWait(), metrics);
+        };
+    }
+
+    // Only used in LEASE mode; define a SlotLeases bean to keep the leases somewhere else
+    @Bean
+    @ConditionalOnMissingBean
+    public SlotLeases slotLeases(SlotLockProperties properties, DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        return properties.getLeaseStore() == SlotLeaseStore.LOCAL
+                ? new LocalSlotLeases()
+                : new JdbcSlotLeases(dataSource, jdbcTemplate);
+    }
+}
@@ -0,0 +1,39 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.repository.WaitlistRepository;
+import com.parking.reservation.waitlist.WaitlistExpiry;
+import com.parking.reservation.waitlist.WaitlistIndex;
+import com.parking.reservation.waitlist.WaitlistNotifier;
+import com.parking.reservation.waitlist.WaitlistProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(WaitlistProperties.class)
+public class WaitlistConfig {
+
+    @Bean
+    public WaitlistIndex waitlistIndex(WaitlistRepository waitlistRepository, MeterRegistry meterRegistry) {
+        return new WaitlistIndex(waitlistRepository, meterRegistry);
+    }
+
+    @Bean
+    public WaitlistNotifier waitlistNotifier(WaitlistProperties properties) {
+        return new WaitlistNotifier(properties);
+    }
+
+    @Bean
+    public WaitlistExpiry waitlistExpiry(WaitlistRepository waitlistRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         ApplicationEventPublisher eventPublisher,
+                                         WaitlistProperties properties) {
+        return new WaitlistExpiry(waitlistRepository, new TransactionTemplate(transactionManager), eventPublisher, properties);
+    }
+}
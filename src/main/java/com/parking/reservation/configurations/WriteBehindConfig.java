@@ -0,0 +1,40 @@
+package com.parking.reservation.configurations;
+
+import com.parking.reservation.journal.ReservationWriteBehind;
+import com.parking.reservation.journal.WriteBehindProperties;
+import com.parking.reservation.locking.SlotLockStrategy;
+import com.parking.reservation.locking.StripedSlotLockStrategy;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "reservation.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean
+    public ReservationWriteBehind reservationWriteBehind(WriteBehindProperties properties,
+                                                         SlotLockStrategy slotLockStrategy,
+                                                         SlotRepository slotRepository,
+                                                         ReservationRepository reservationRepository,
+                                                         JdbcTemplate jdbcTemplate,
+                                                         PlatformTransactionManager transactionManager,
+                                                         EntityManagerFactory entityManagerFactory,
+                                                         MeterRegistry meterRegistry) {
+        // The journaled path and the synchronous one (batches, fallback) must serialise on the same in-process locks
+        if (!(slotLockStrategy instanceof StripedSlotLockStrategy striped)) {
+            throw new IllegalStateException("reservation.write-behind.enabled=true requires reservation.locking.mode=striped");
+        }
+        return new ReservationWriteBehind(striped, slotRepository, reservationRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), entityManagerFactory, properties, meterRegistry);
+    }
+}
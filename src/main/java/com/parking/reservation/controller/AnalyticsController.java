@@ -0,0 +1,47 @@
+package com.parking.reservation.controller;
+
+import com.parking.reservation.analytics.OccupancyAnalytics;
+import com.parking.reservation.analytics.OccupancyGranularity;
+import com.parking.reservation.analytics.OccupancyRollups;
+import com.parking.reservation.dto.ApiResponse;
+import com.parking.reservation.dto.response.OccupancyResponse;
+import com.parking.reservation.enums.VehicleType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final OccupancyAnalytics occupancyAnalytics;
+    private final OccupancyRollups occupancyRollups;
+
+    // Served from the rollups, which trail bookings by up to reservation.analytics.refresh-interval
+    @GetMapping("/occupancy")
+    public ResponseEntity<ApiResponse<List<OccupancyResponse>>> occupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "HOUR") OccupancyGranularity granularity,
+            @RequestParam(required = false) Long floorId,
+            @RequestParam(required = false) VehicleType vehicleType) {
+        List<OccupancyResponse> response = occupancyAnalytics.occupancy(from, to, granularity, floorId, vehicleType);
+        return ResponseEntity.ok(ApiResponse.success(response, "Occupancy fetched successfully"));
+    }
+
+    // Rebuilds all rollups from reservations and the archive, e.g. after restoring a backup
+    @PostMapping("/occupancy/backfill")
+    public ResponseEntity<ApiResponse<Integer>> backfill() {
+        int days = occupancyRollups.backfill();
+        return ResponseEntity.ok(ApiResponse.success(days, String.format("Occupancy rebuilt for %d days", days)));
+    }
+}
@@ -1,11 +1,19 @@
 package com.parking.reservation.controller;
 
 import com.parking.reservation.dto.ApiResponse;
+import com.parking.reservation.dto.request.AutoReserveRequest;
+import com.parking.reservation.dto.request.BatchReserveRequest;
 import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.ReserveSeriesRequest;
+import com.parking.reservation.dto.response.BatchReservationResponse;
+import com.parking.reservation.dto.response.CursorPage;
 import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.ReservationSeriesResponse;
 import com.parking.reservation.dto.response.SlotResponse;
 import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.idempotency.ReservationIdempotency;
 import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.stream.AvailabilityStream;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -13,8 +21,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 
@@ -23,14 +33,54 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class ReservationController {
 
+    // Retries with the same key get the first response back instead of booking again
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final ReservationService reservationService;
+    private final ReservationIdempotency idempotency;
+    private final AvailabilityStream availabilityStream;
 
     @PostMapping("/reserve")
-    public ResponseEntity<ApiResponse<ReservationResponse>> reserve(@Valid @RequestBody ReserveRequest request) {
-        ReservationResponse response = reservationService.reserveSlot(request);
+    public ResponseEntity<ApiResponse<ReservationResponse>> reserve(
+            @Valid @RequestBody ReserveRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        ReservationResponse response = idempotency.execute(idempotencyKey, request.fingerprint(),
+                () -> reservationService.reserveSlot(request));
+        return ResponseEntity.ok(ApiResponse.success(response, "Reservation created successfully"));
+    }
+
+    // The server picks the slot, so callers do not race each other between /availability and /reserve
+    @PostMapping("/reserve/auto")
+    public ResponseEntity<ApiResponse<ReservationResponse>> reserveAny(
+            @Valid @RequestBody AutoReserveRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        ReservationResponse response = idempotency.execute(idempotencyKey, request.fingerprint(),
+                () -> reservationService.reserveAnySlot(request));
         return ResponseEntity.ok(ApiResponse.success(response, "Reservation created successfully"));
     }
 
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<ApiResponse<BatchReservationResponse>> reserveBatch(@Valid @RequestBody BatchReserveRequest request) {
+        BatchReservationResponse response = reservationService.reserveSlots(request);
+        String message = String.format("%d reservations created, %d failed",
+                response.reserved().size(), response.failed().size());
+        return ResponseEntity.ok(ApiResponse.success(response, message));
+    }
+
+    // Expanded server-side into one reservation per matching day, booked together or not at all
+    @PostMapping("/reserve/series")
+    public ResponseEntity<ApiResponse<ReservationSeriesResponse>> reserveSeries(@Valid @RequestBody ReserveSeriesRequest request) {
+        ReservationSeriesResponse response = reservationService.reserveSeries(request);
+        String message = String.format("Reservation series created with %d reservations", response.reservations().size());
+        return ResponseEntity.ok(ApiResponse.success(response, message));
+    }
+
+    @DeleteMapping("/reservations/series/{id}")
+    public ResponseEntity<ApiResponse<Void>> cancelSeries(@PathVariable Long id) {
+        reservationService.cancelSeries(id);
+        return ResponseEntity.ok(ApiResponse.success(null, "Reservation series cancelled successfully"));
+    }
+
     @GetMapping("/reservations/{id}")
     public ResponseEntity<ApiResponse<ReservationResponse>> getReservation(@PathVariable Long id) {
         ReservationResponse response = reservationService.getReservation(id);
@@ -59,4 +109,30 @@ public class ReservationController {
         Page<SlotResponse> availableSlots = reservationService.getAvailableSlots(startTime, endTime, vehicleType, pageable);
         return ResponseEntity.ok(ApiResponse.success(availableSlots, "Available slots retrieved"));
     }
+
+    // Keyset pagination: no total count, pass nextCursor back as cursor with the same sort to get the next page
+    @GetMapping("/availability/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<SlotResponse>>> scrollAvailableSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam VehicleType vehicleType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "slotNumber") String sortProperty,
+            @RequestParam(defaultValue = "asc") String sortDirection) {
+
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortProperty);
+
+        CursorPage<SlotResponse> availableSlots = reservationService.getAvailableSlotsAfter(
+                startTime, endTime, vehicleType, sort, size, cursor);
+        return ResponseEntity.ok(ApiResponse.success(availableSlots, "Available slots retrieved"));
+    }
+
+    // Pushes an "occupancy" event for every committed booking or cancellation; on "resync" reload /availability
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam(required = false) VehicleType vehicleType,
+            @RequestParam(required = false) Long floorId) {
+        return availabilityStream.subscribe(vehicleType, floorId);
+    }
 }
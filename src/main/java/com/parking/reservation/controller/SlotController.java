@@ -2,26 +2,55 @@ package com.parking.reservation.controller;
 
 import com.parking.reservation.dto.ApiResponse;
 import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.response.SlotImportResponse;
 import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.provisioning.SlotImporter;
 import com.parking.reservation.service.SlotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1/api")
 @RequiredArgsConstructor
 public class SlotController {
 
     private final SlotService slotService;
+    private final SlotImporter slotImporter;
 
     @PostMapping("/slots")
     public ResponseEntity<ApiResponse<SlotResponse>> createSlot(@Valid @RequestBody CreateSlotRequest request) {
         SlotResponse response = slotService.createSlot(request);
         return ResponseEntity.ok(ApiResponse.success(response, "Slot created successfully"));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/slots")
+    public ResponseEntity<ApiResponse<List<SlotResponse>>> getSlots() {
+        return ResponseEntity.ok(ApiResponse.success(slotService.getSlots(), "Slots fetched successfully"));
+    }
+
+    // Bulk provisioning; the body is streamed, rows that cannot be created are reported and do not stop the import
+    @PostMapping(value = "/slots/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<SlotImportResponse>> importSlotsCsv(Reader body) throws IOException {
+        return imported(slotImporter.importCsv(body));
+    }
+
+    @PostMapping(value = "/slots/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ApiResponse<SlotImportResponse>> importSlotsNdjson(Reader body) throws IOException {
+        return imported(slotImporter.importNdjson(body));
+    }
+
+    private static ResponseEntity<ApiResponse<SlotImportResponse>> imported(SlotImportResponse response) {
+        String message = String.format("%d slots created, %d rows failed", response.created(), response.failed());
+        return ResponseEntity.ok(ApiResponse.success(response, message));
+    }
+}
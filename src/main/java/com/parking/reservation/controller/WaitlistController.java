@@ -0,0 +1,51 @@
+package com.parking.reservation.controller;
+
+import com.parking.reservation.dto.ApiResponse;
+import com.parking.reservation.dto.request.WaitlistRequest;
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.waitlist.WaitlistNotifier;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final ReservationService reservationService;
+    private final WaitlistNotifier waitlistNotifier;
+
+    // Instead of retrying /reserve after a 409: the entry is booked as soon as a matching slot is cancelled
+    @PostMapping
+    public ResponseEntity<ApiResponse<WaitlistResponse>> join(@Valid @RequestBody WaitlistRequest request) {
+        WaitlistResponse response = reservationService.joinWaitlist(request);
+        String message = response.status() == WaitlistStatus.PROMOTED
+                ? "Reservation created successfully" : "Added to the waitlist";
+        return ResponseEntity.ok(ApiResponse.success(response, message));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<WaitlistResponse>> get(@PathVariable Long id) {
+        WaitlistResponse response = reservationService.getWaitlistEntry(id);
+        return ResponseEntity.ok(ApiResponse.success(response, "Waitlist entry fetched successfully"));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> leave(@PathVariable Long id) {
+        reservationService.leaveWaitlist(id);
+        return ResponseEntity.ok(ApiResponse.success(null, "Left the waitlist"));
+    }
+
+    // One "promoted", "expired" or "left" event with the entry once it stops waiting, then the stream ends
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id) {
+        reservationService.getWaitlistEntry(id);
+        return waitlistNotifier.subscribe(id, () -> reservationService.getWaitlistEntry(id));
+    }
+}
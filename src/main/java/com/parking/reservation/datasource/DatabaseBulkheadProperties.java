@@ -0,0 +1,21 @@
+package com.parking.reservation.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+public class DatabaseBulkheadProperties {
+
+    public static final String PREFIX = "reservation.db.bulkhead";
+
+    private boolean enabled;
+
+    // Concurrent connections handed out; 0 means the maximum size of the Hikari pool
+    private int permits;
+
+    // How long a caller queues for a permit before the request fails
+    private Duration maxWait = Duration.ofSeconds(30);
+}
@@ -0,0 +1,42 @@
+package com.parking.reservation.dto.request;
+
+import com.parking.reservation.enums.VehicleType;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutoReserveRequest {
+
+    private String vehicleNumber;
+
+    @FutureOrPresent(message = "Start time must be present or future")
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    @NotNull(message = "Vehicle type is required")
+    private VehicleType vehicleType;
+
+    // Optional: slots on this floor are tried first, any other floor when it has none free
+    private Long preferredFloorId;
+
+    // Identifies the request for Idempotency-Key checks
+    public String fingerprint() {
+        return String.join("|", "auto", vehicleNumber, String.valueOf(startTime), String.valueOf(endTime),
+                String.valueOf(vehicleType), String.valueOf(preferredFloorId));
+    }
+
+    // The request for booking one particular candidate slot
+    public ReserveRequest forSlot(Long slotId) {
+        return new ReserveRequest(slotId, vehicleNumber, startTime, endTime, vehicleType);
+    }
+}
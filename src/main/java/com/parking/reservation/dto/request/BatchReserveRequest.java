@@ -0,0 +1,25 @@
+package com.parking.reservation.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchReserveRequest {
+
+    @NotEmpty(message = "At least one reservation is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 reservations")
+    private List<@Valid ReserveRequest> reservations;
+
+    // true: any failure rejects the whole batch; false: valid reservations are booked and failures reported
+    private boolean allOrNothing = true;
+}
@@ -29,4 +29,9 @@ public class ReserveRequest {
     @NotNull(message = "Vehicle type is required")
     private VehicleType vehicleType;
 
+    // Identifies the request for Idempotency-Key checks
+    public String fingerprint() {
+        return String.join("|", "reserve", String.valueOf(slotId), vehicleNumber,
+                String.valueOf(startTime), String.valueOf(endTime), String.valueOf(vehicleType));
+    }
 }
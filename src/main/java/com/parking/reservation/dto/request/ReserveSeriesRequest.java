@@ -0,0 +1,68 @@
+package com.parking.reservation.dto.request;
+
+import com.parking.reservation.enums.VehicleType;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReserveSeriesRequest {
+
+    @NotNull(message = "Slot ID is required")
+    private Long slotId;
+
+    private String vehicleNumber;
+
+    @NotNull(message = "Vehicle type is required")
+    private VehicleType vehicleType;
+
+    @NotNull(message = "First day is required")
+    @FutureOrPresent(message = "First day must be today or later")
+    private LocalDate firstDay;
+
+    @NotNull(message = "Number of weeks is required")
+    @Min(value = 1, message = "A series runs for at least 1 week")
+    @Max(value = 52, message = "A series cannot run for more than 52 weeks")
+    private Integer weeks;
+
+    @NotEmpty(message = "At least one day of the week is required")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    // An end time not after the start time ends on the following day
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    // One reservation per matching day of the weeks starting on firstDay, in start time order
+    public List<ReserveRequest> occurrences() {
+        List<ReserveRequest> occurrences = new ArrayList<>();
+        LocalDate end = firstDay.plusWeeks(weeks);
+        for (LocalDate day = firstDay; day.isBefore(end); day = day.plusDays(1)) {
+            if (daysOfWeek.contains(day.getDayOfWeek())) {
+                LocalDateTime start = day.atTime(startTime);
+                LocalDateTime finish = endTime.isAfter(startTime) ? day.atTime(endTime) : day.plusDays(1).atTime(endTime);
+                occurrences.add(new ReserveRequest(slotId, vehicleNumber, start, finish, vehicleType));
+            }
+        }
+        return occurrences;
+    }
+}
@@ -0,0 +1,14 @@
+package com.parking.reservation.dto.response;
+
+import java.util.List;
+
+public record BatchReservationResponse(
+        List<ReservationResponse> reserved,
+        List<BatchReservationFailure> failed
+) {
+    public record BatchReservationFailure(
+            int index,
+            Long slotId,
+            String reason
+    ) {}
+}
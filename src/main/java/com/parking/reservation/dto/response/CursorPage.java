@@ -0,0 +1,14 @@
+package com.parking.reservation.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back to get the following page;
+ * it is null on the last page. There is deliberately no total count.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
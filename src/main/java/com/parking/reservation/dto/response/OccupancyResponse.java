@@ -0,0 +1,18 @@
+package com.parking.reservation.dto.response;
+
+import com.parking.reservation.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OccupancyResponse(
+        LocalDateTime bucketStart,
+        Long floorId,
+        VehicleType vehicleType,
+        long reservedMinutes,
+        // Reservations starting in the bucket, and what they cost
+        int reservations,
+        BigDecimal revenue,
+        // reservedMinutes over the bucket's minutes times the floor's current slots of the type
+        double occupancyPercent
+) {}
@@ -0,0 +1,14 @@
+package com.parking.reservation.dto.response;
+
+import com.parking.reservation.enums.ReservationStatus;
+
+import java.util.List;
+
+public record ReservationSeriesResponse(
+        Long id,
+        Long slotId,
+        String vehicleNumber,
+        ReservationStatus status,
+        List<ReservationResponse> reservations
+) {
+}
@@ -0,0 +1,18 @@
+package com.parking.reservation.dto.response;
+
+import java.util.List;
+
+public record SlotImportResponse(
+        int created,
+        int floorsCreated,
+        int failed,
+        // The first failures only, up to reservation.slot-import.max-reported-failures
+        List<SlotImportFailure> failures
+) {
+    public record SlotImportFailure(
+            int line,
+            String floor,
+            String slotNumber,
+            String reason
+    ) {}
+}
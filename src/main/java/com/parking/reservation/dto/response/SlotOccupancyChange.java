@@ -0,0 +1,12 @@
+package com.parking.reservation.dto.response;
+
+import java.time.LocalDateTime;
+
+public record SlotOccupancyChange(
+        String change,
+        Long slotId,
+        Long floorId,
+        String vehicleType,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {}
@@ -0,0 +1,21 @@
+package com.parking.reservation.dto.response;
+
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+
+import java.time.LocalDateTime;
+
+public record WaitlistResponse(
+        Long id,
+        VehicleType vehicleType,
+        Long floorId,
+        String vehicleNumber,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        WaitlistStatus status,
+        Long reservationId
+) {
+    public WaitlistResponse withStatus(WaitlistStatus status, Long reservationId) {
+        return new WaitlistResponse(id, vehicleType, floorId, vehicleNumber, startTime, endTime, status, reservationId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.parking.reservation.entity;
+
+import com.parking.reservation.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservations_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedReservation {
+    @Id
+    private Long id;//same id the reservation had in the hot table
+
+    @Column(nullable = false)
+    private Long slotId;
+
+    @Column(nullable = false)
+    private String vehicleNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private BigDecimal cost;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -14,8 +14,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
+    private Long id;//pooled sequence instead of IDENTITY so inserts can be JDBC-batched
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "slot_id", nullable = false)
@@ -37,6 +38,10 @@ public class Reservation {
     @Column(nullable = false)
     private ReservationStatus status;
 
+    // Set on the occurrences of a ReservationSeries
+    @Column(name = "series_id")
+    private Long seriesId;
+
     @Version
     private Long version;//two users cannot update the same record at the same time
 }
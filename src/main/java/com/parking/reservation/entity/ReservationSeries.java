@@ -0,0 +1,34 @@
+package com.parking.reservation.entity;
+
+import com.parking.reservation.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservation_series")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long slotId;
+
+    @Column(nullable = false)
+    private String vehicleNumber;
+
+    // CANCELLED once cancelled as a whole; single occurrences can also be cancelled on their own
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
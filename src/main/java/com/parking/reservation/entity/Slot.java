@@ -5,8 +5,12 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "slots")//cached with the floor id, the Floor itself comes from its own region
 @Table(name = "slots", uniqueConstraints = @UniqueConstraint(columnNames = {"floor_id", "slot_number"}))//to ensure no duplicate slot numbers on the same floor
 @Getter
 @Setter
@@ -27,4 +31,7 @@ public class Slot {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private VehicleType vehicleType;
+
+    @Version
+    private Long version;//bumped by every reservation in OPTIMISTIC locking mode
 }
@@ -0,0 +1,47 @@
+package com.parking.reservation.entity;
+
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;//increasing, so it doubles as the queue position
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VehicleType vehicleType;
+
+    // Any floor when null
+    private Long floorId;
+
+    @Column(nullable = false)
+    private String vehicleNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    // Set once PROMOTED
+    private Long reservationId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -14,4 +14,8 @@ public enum VehicleType {
     public BigDecimal getHourlyRate() {
         return BigDecimal.valueOf(hourlyRate);
     }
+
+    public long getHourlyRatePaise() {
+        return hourlyRate * 100L;
+    }
 }
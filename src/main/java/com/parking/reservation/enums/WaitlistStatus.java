@@ -0,0 +1,10 @@
+package com.parking.reservation.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    // Booked into a cancelled slot, see WaitlistEntry.reservationId
+    PROMOTED,
+    LEFT,
+    // The window started before a slot became free
+    EXPIRED
+}
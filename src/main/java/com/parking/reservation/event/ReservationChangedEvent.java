@@ -0,0 +1,42 @@
+package com.parking.reservation.event;
+
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the transaction that creates or cancels a reservation. Listeners that act on it outside
+ * the database should use {@code @TransactionalEventListener} so they only ever see committed changes.
+ */
+public record ReservationChangedEvent(
+        Change change,
+        Long reservationId,
+        Long slotId,
+        Long floorId,
+        VehicleType vehicleType,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BigDecimal cost
+) {
+    public enum Change {
+        RESERVED,
+        CANCELLED
+    }
+
+    public static ReservationChangedEvent of(Change change, Reservation reservation) {
+        Slot slot = reservation.getSlot();
+        return new ReservationChangedEvent(
+                change,
+                reservation.getId(),
+                slot.getId(),
+                slot.getFloor().getId(),
+                slot.getVehicleType(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getCost()
+        );
+    }
+}
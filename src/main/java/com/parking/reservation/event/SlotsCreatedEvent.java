@@ -0,0 +1,10 @@
+package com.parking.reservation.event;
+
+import java.util.List;
+
+/**
+ * Published when slots are inserted, inside the inserting transaction when there is one. Slots do not change after
+ * that, so this is the only change to the slot catalogue that copies of it elsewhere need to hear about.
+ */
+public record SlotsCreatedEvent(List<Long> slotIds) {
+}
@@ -0,0 +1,24 @@
+package com.parking.reservation.event;
+
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.entity.WaitlistEntry;
+
+/**
+ * Published inside the transaction that adds a waitlist entry or moves it out of WAITING. Like
+ * {@link ReservationChangedEvent}, listeners outside the database use {@code @TransactionalEventListener}.
+ */
+public record WaitlistChangedEvent(WaitlistResponse entry) {
+
+    public static WaitlistChangedEvent of(WaitlistEntry entry) {
+        return new WaitlistChangedEvent(new WaitlistResponse(
+                entry.getId(),
+                entry.getVehicleType(),
+                entry.getFloorId(),
+                entry.getVehicleNumber(),
+                entry.getStartTime(),
+                entry.getEndTime(),
+                entry.getStatus(),
+                entry.getReservationId()
+        ));
+    }
+}
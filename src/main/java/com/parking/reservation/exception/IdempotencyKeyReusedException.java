@@ -0,0 +1,5 @@
+package com.parking.reservation.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) { super(message); }
+}
@@ -0,0 +1,5 @@
+package com.parking.reservation.exception;
+
+public class InvalidAnalyticsQueryException extends RuntimeException {
+    public InvalidAnalyticsQueryException(String message) { super(message); }
+}
@@ -0,0 +1,5 @@
+package com.parking.reservation.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) { super(message); }
+}
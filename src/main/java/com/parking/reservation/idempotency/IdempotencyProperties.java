@@ -0,0 +1,27 @@
+package com.parking.reservation.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.idempotency")
+public class IdempotencyProperties {
+
+    // Keys remembered in memory; the oldest are dropped first once full
+    private long maxSize = 100_000;
+
+    // How long a key is answered with the original response
+    private Duration ttl = Duration.ofHours(24);
+
+    // Longest a duplicate waits for the first request with its key before getting 409
+    private Duration inProgressWait = Duration.ofSeconds(10);
+
+    // Also keep completed keys in the idempotency_keys table, so retries survive a restart
+    private boolean persistent = false;
+
+    private Duration purgeInterval = Duration.ofHours(1);
+}
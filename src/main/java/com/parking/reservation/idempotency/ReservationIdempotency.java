@@ -0,0 +1,202 @@
+package com.parking.reservation.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.exception.IdempotencyKeyInProgressException;
+import com.parking.reservation.exception.IdempotencyKeyReusedException;
+import com.parking.reservation.exception.InvalidReservationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates reservation requests carrying an {@code Idempotency-Key}. The first request with a key runs and its
+ * response is remembered for the ttl; a retry gets that response back without running again, and duplicates that
+ * arrive while the first is still running wait for it, up to {@code in-progress-wait}, instead of running alongside.
+ * Failed requests are forgotten, so the client can retry them. A key sent again with a different request is rejected.
+ * <p>
+ * Concurrent duplicates are collapsed within one instance; with {@code persistent} completed keys are also found by
+ * other instances and after a restart.
+ */
+@Slf4j
+public class ReservationIdempotency {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Entry(String fingerprint, CompletableFuture<ReservationResponse> response) {
+    }
+
+    private final Cache<String, Entry> entries;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter joined;
+    private final Counter timedOut;
+
+    public ReservationIdempotency(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                  IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency-keys");
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.joined = requests(meterRegistry, "joined");
+        this.timedOut = requests(meterRegistry, "timed-out");
+    }
+
+    /**
+     * Runs the request once per key. {@code fingerprint} identifies the request itself; the same key with another
+     * fingerprint is a client bug and fails with {@link IdempotencyKeyReusedException}.
+     */
+    public ReservationResponse execute(String key, String fingerprint, Supplier<ReservationResponse> request) {
+        if (key == null) {
+            return request.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidReservationException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            checkFingerprint(key, existing.fingerprint(), fingerprint);
+            if (existing.response().isDone()) {
+                replayed.increment();
+            } else {
+                joined.increment();
+                log.debug("Idempotency-Key {} is in progress, waiting for the first request", key);
+            }
+            return await(key, existing.response());
+        }
+
+        try {
+            Optional<ReservationResponse> stored = findStored(key, fingerprint);
+            if (stored.isPresent()) {
+                replayed.increment();
+                entry.response().complete(stored.get());
+                return stored.get();
+            }
+            ReservationResponse response = request.get();
+            executed.increment();
+            store(key, fingerprint, response);
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(key, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${reservation.idempotency.purge-interval:PT1H}",
+            fixedDelayString = "${reservation.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(properties.getTtl())));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<ReservationResponse> findStored(String key, String fingerprint) {
+        if (!properties.isPersistent()) {
+            return Optional.empty();
+        }
+        List<String[]> rows = jdbcTemplate.query(
+                "SELECT fingerprint, response FROM idempotency_keys WHERE idempotency_key = ? AND created_at >= ?",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)},
+                key, Timestamp.valueOf(LocalDateTime.now().minus(properties.getTtl())));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        checkFingerprint(key, rows.get(0)[0], fingerprint);
+        try {
+            return Optional.of(objectMapper.readValue(rows.get(0)[1], ReservationResponse.class));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored response for Idempotency-Key " + key + " is unreadable", ex);
+        }
+    }
+
+    // The reservation is committed by now; losing this row only means a retry after a restart runs again
+    private void store(String key, String fingerprint, ReservationResponse response) {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at < ?",
+                    key, Timestamp.valueOf(LocalDateTime.now().minus(properties.getTtl())));
+            jdbcTemplate.update(
+                    "INSERT INTO idempotency_keys (idempotency_key, fingerprint, response, created_at) VALUES (?, ?, ?, ?)",
+                    key, fingerprint, objectMapper.writeValueAsString(response), Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException ex) {
+            log.warn("Idempotency-Key {} was completed concurrently by another instance", key);
+        } catch (RuntimeException | JsonProcessingException ex) {
+            log.warn("Could not persist Idempotency-Key {}", key, ex);
+        }
+    }
+
+    private static void checkFingerprint(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+
+    // A bounded get rather than orTimeout: the future is shared, and timing out one waiter must not fail the others
+    private ReservationResponse await(String key, CompletableFuture<ReservationResponse> response) {
+        try {
+            return response.get(properties.getInProgressWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            timedOut.increment();
+            throw inProgress(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static IdempotencyKeyInProgressException inProgress(String key) {
+        return new IdempotencyKeyInProgressException(
+                "A request with Idempotency-Key " + key + " is still in progress, retry later");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("reservation.idempotency.requests")
+                .description("Requests with an Idempotency-Key by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.parking.reservation.index;
+
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.repository.SlotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers availability queries from per-vehicle-type occupancy bitmaps, one bitset per 15-minute bucket,
+ * instead of running ReservationRepository.findAvailableSlots. Built on top of {@link SlotIntervalIndex},
+ * which it uses to settle buckets only partially covered by the requested window.
+ */
+@Component
+@Slf4j
+public class AvailabilityIndex {
+
+    private static final long BUCKET_NANOS = Duration.ofMinutes(15).toNanos();
+
+    private final SlotRepository slotRepository;
+    private final SlotIntervalIndex slotIntervalIndex;
+
+    private final Map<VehicleType, VehicleTypeAvailability> types = new EnumMap<>(VehicleType.class);
+    private final Map<Long, VehicleType> slotTypes = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public AvailabilityIndex(SlotRepository slotRepository, SlotIntervalIndex slotIntervalIndex) {
+        this.slotRepository = slotRepository;
+        this.slotIntervalIndex = slotIntervalIndex;
+        for (VehicleType type : VehicleType.values()) {
+            types.put(type, new VehicleTypeAvailability(BUCKET_NANOS, slotIntervalIndex));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(IndexWarmUpOrder.AVAILABILITY)
+    public void warmUp() {
+        long started = System.nanoTime();
+        List<Slot> slots = slotRepository.findAllWithFloor();
+        slots.forEach(this::addSlot);
+        ready = true;
+        log.info("Availability index warmed with {} slots in {} ms",
+                slots.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready && slotIntervalIndex.isReady();
+    }
+
+    public void addSlot(Slot slot) {
+        slotTypes.put(slot.getId(), slot.getVehicleType());
+        types.get(slot.getVehicleType()).addSlot(new SlotResponse(
+                slot.getId(),
+                slot.getSlotNumber(),
+                slot.getVehicleType().name(),
+                slot.getFloor().getId(),
+                slot.getFloor().getName()
+        ));
+    }
+
+    // Call after the reservation has been added to the SlotIntervalIndex
+    public void markReserved(Long slotId, LocalDateTime startTime, LocalDateTime endTime) {
+        VehicleType type = slotTypes.get(slotId);
+        if (type != null) {
+            types.get(type).markReservation(slotId, IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime));
+        }
+    }
+
+    // Call after the reservation has been removed from the SlotIntervalIndex
+    public void markReleased(Long slotId, LocalDateTime startTime, LocalDateTime endTime) {
+        VehicleType type = slotTypes.get(slotId);
+        if (type != null) {
+            types.get(type).refreshReservation(slotId, IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime));
+        }
+    }
+
+    public Page<SlotResponse> findAvailableSlots(LocalDateTime startTime, LocalDateTime endTime,
+                                                 VehicleType vehicleType, Pageable pageable) {
+        return types.get(vehicleType)
+                .findAvailable(IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime), pageable);
+    }
+
+    // Up to limit available slots that sort after the given one (from the start when null)
+    public List<SlotResponse> findAvailableSlotsAfter(LocalDateTime startTime, LocalDateTime endTime, VehicleType vehicleType,
+                                                      Sort sort, SlotResponse after, int limit) {
+        return types.get(vehicleType)
+                .findAvailableAfter(IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime), sort, after, limit);
+    }
+
+    /**
+     * Up to limit slots free for the whole window, starting from a random slot so that concurrent callers spread over
+     * the free slots instead of all trying the same one. Slots on the preferred floor come first when it is given.
+     */
+    public List<SlotResponse> findFreeSlots(LocalDateTime startTime, LocalDateTime endTime, VehicleType vehicleType,
+                                            Long preferredFloorId, int limit) {
+        return types.get(vehicleType)
+                .findFree(IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime), preferredFloorId, limit);
+    }
+}
@@ -0,0 +1,17 @@
+package com.parking.reservation.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+final class IndexTimes {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private IndexTimes() {
+    }
+
+    // Reservation times are zone-less, so UTC is only used as a fixed reference to get a comparable long
+    static long toEpochNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + time.getNano();
+    }
+}
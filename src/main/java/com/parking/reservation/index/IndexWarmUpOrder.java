@@ -0,0 +1,14 @@
+package com.parking.reservation.index;
+
+// Order of the ApplicationReadyEvent listeners that build in-memory indexes from the database
+public final class IndexWarmUpOrder {
+
+    public static final int SLOT_INTERVALS = 10;
+    public static final int AVAILABILITY = 20;
+    public static final int WAITLIST = 30;
+    // Not an index: applying other nodes' changes starts once every index has been built
+    public static final int CLUSTER_SYNC = 40;
+
+    private IndexWarmUpOrder() {
+    }
+}
@@ -0,0 +1,10 @@
+package com.parking.reservation.index;
+
+import java.time.LocalDateTime;
+
+public record ReservationInterval(
+        Long reservationId,
+        Long slotId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {}
@@ -0,0 +1,84 @@
+package com.parking.reservation.index;
+
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the ACTIVE reservation intervals per slot, used to decide overlaps
+ * without running ReservationRepository.findOverlapping.
+ * Until the warm-up has finished, callers must fall back to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotIntervalIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, SlotIntervals> slots = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(IndexWarmUpOrder.SLOT_INTERVALS)
+    public void warmUp() {
+        long started = System.nanoTime();
+        List<ReservationInterval> intervals = reservationRepository.findIntervalsByStatus(ReservationStatus.ACTIVE);
+        for (ReservationInterval interval : intervals) {
+            if (!removedDuringWarmUp.contains(interval.reservationId())) {
+                add(interval.slotId(), interval.reservationId(), interval.startTime(), interval.endTime());
+            }
+        }
+        ready = true;
+        removedDuringWarmUp.clear();
+        log.info("Slot interval index warmed with {} active reservations in {} ms",
+                intervals.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean overlaps(Long slotId, LocalDateTime startTime, LocalDateTime endTime) {
+        return overlaps(slotId, IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime));
+    }
+
+    boolean overlaps(Long slotId, long start, long end) {
+        SlotIntervals intervals = slots.get(slotId);
+        return intervals != null && intervals.overlaps(start, end);
+    }
+
+    void forEachInterval(Long slotId, SlotIntervals.IntervalConsumer consumer) {
+        SlotIntervals intervals = slots.get(slotId);
+        if (intervals != null) {
+            intervals.forEach(consumer);
+        }
+    }
+
+    public void add(Long slotId, Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+        slots.computeIfAbsent(slotId, id -> new SlotIntervals())
+                .add(reservationId, IndexTimes.toEpochNanos(startTime), IndexTimes.toEpochNanos(endTime));
+    }
+
+    public void remove(Long slotId, Long reservationId) {
+        if (!ready) {
+            removedDuringWarmUp.add(reservationId);
+        }
+        SlotIntervals intervals = slots.get(slotId);
+        if (intervals != null) {
+            intervals.remove(reservationId);
+        }
+    }
+}
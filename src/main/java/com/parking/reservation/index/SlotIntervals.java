@@ -0,0 +1,108 @@
+package com.parking.reservation.index;
+
+import java.util.Arrays;
+
+/**
+ * ACTIVE intervals of a single slot, kept sorted by start time.
+ * maxEnds[i] holds the largest end among the first i + 1 intervals, so an overlap check
+ * is one binary search even if the table contains overlapping rows.
+ */
+final class SlotIntervals {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private long[] maxEnds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // Same predicate as ReservationRepository.findOverlapping: end > start AND start < end
+    synchronized boolean overlaps(long start, long end) {
+        int candidates = firstStartNotBefore(end);
+        return candidates > 0 && maxEnds[candidates - 1] > start;
+    }
+
+    synchronized void add(long id, long start, long end) {
+        if (indexOf(id) >= 0) {
+            return;
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+        }
+        int position = firstStartNotBefore(start);
+        int tail = size - position;
+        System.arraycopy(ids, position, ids, position + 1, tail);
+        System.arraycopy(starts, position, starts, position + 1, tail);
+        System.arraycopy(ends, position, ends, position + 1, tail);
+        ids[position] = id;
+        starts[position] = start;
+        ends[position] = end;
+        size++;
+        recomputeMaxEnds(position);
+    }
+
+    synchronized boolean remove(long id) {
+        int position = indexOf(id);
+        if (position < 0) {
+            return false;
+        }
+        int tail = size - position - 1;
+        System.arraycopy(ids, position + 1, ids, position, tail);
+        System.arraycopy(starts, position + 1, starts, position, tail);
+        System.arraycopy(ends, position + 1, ends, position, tail);
+        size--;
+        recomputeMaxEnds(position);
+        return true;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void forEach(IntervalConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(starts[i], ends[i]);
+        }
+    }
+
+    @FunctionalInterface
+    interface IntervalConsumer {
+        void accept(long start, long end);
+    }
+
+    private int firstStartNotBefore(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void recomputeMaxEnds(int from) {
+        long max = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+        for (int i = from; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.parking.reservation.index;
+
+import com.parking.reservation.dto.response.SlotResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Occupancy bitmaps of the slots of one vehicle type. Slots are numbered by ordinal in the order
+ * they were registered and every time bucket holds a bit per slot that has an ACTIVE reservation
+ * overlapping the bucket.
+ */
+final class VehicleTypeAvailability {
+
+    private final long bucketNanos;
+    private final SlotIntervalIndex slotIntervalIndex;
+
+    private final List<SlotResponse> slots = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, BitSet> buckets = new HashMap<>();
+    private final Map<Sort, int[]> orderings = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    VehicleTypeAvailability(long bucketNanos, SlotIntervalIndex slotIntervalIndex) {
+        this.bucketNanos = bucketNanos;
+        this.slotIntervalIndex = slotIntervalIndex;
+    }
+
+    void addSlot(SlotResponse slot) {
+        lock.writeLock().lock();
+        try {
+            if (ordinals.containsKey(slot.id())) {
+                return;
+            }
+            int ordinal = slots.size();
+            slots.add(slot);
+            ordinals.put(slot.id(), ordinal);
+            orderings.clear();
+            slotIntervalIndex.forEachInterval(slot.id(), (start, end) -> mark(ordinal, start, end));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void markReservation(Long slotId, long start, long end) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(slotId);
+            if (ordinal != null) {
+                mark(ordinal, start, end);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Another reservation of the slot may share a bucket, so bits are recomputed from the interval index instead of cleared
+    void refreshReservation(Long slotId, long start, long end) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(slotId);
+            if (ordinal == null) {
+                return;
+            }
+            for (long bucket = firstBucket(start); bucket <= lastBucket(end); bucket++) {
+                long bucketStart = bucket * bucketNanos;
+                boolean occupied = slotIntervalIndex.overlaps(slotId, bucketStart, bucketStart + bucketNanos);
+                BitSet bits = buckets.get(bucket);
+                if (occupied) {
+                    buckets.computeIfAbsent(bucket, b -> new BitSet()).set(ordinal);
+                } else if (bits != null) {
+                    bits.clear(ordinal);
+                    if (bits.isEmpty()) {
+                        buckets.remove(bucket);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Page<SlotResponse> findAvailable(long start, long end, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            BitSet occupied = occupied(start, end);
+            int total = slots.size() - occupied.cardinality();
+            int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : total;
+
+            List<SlotResponse> content = new ArrayList<>(Math.min(limit, Math.max(total - offset, 0)));
+            int skipped = 0;
+            for (int ordinal : ordering(pageable.getSort())) {
+                if (content.size() == limit) {
+                    break;
+                }
+                if (occupied.get(ordinal)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    content.add(slots.get(ordinal));
+                }
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keyset variant: binary-searches the cached ordering for the first slot after the cursor, so deep pages cost the same as the first
+    List<SlotResponse> findAvailableAfter(long start, long end, Sort sort, SlotResponse after, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet occupied = occupied(start, end);
+            int[] ordering = ordering(sort);
+            int from = after == null ? 0 : firstAfter(ordering, comparator(sort), after);
+
+            List<SlotResponse> content = new ArrayList<>(limit);
+            for (int i = from; i < ordering.length && content.size() < limit; i++) {
+                if (!occupied.get(ordering[i])) {
+                    content.add(slots.get(ordering[i]));
+                }
+            }
+            return content;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Free slots from a random starting ordinal, wrapping around, so that concurrent callers get different candidates
+    List<SlotResponse> findFree(long start, long end, Long preferredFloorId, int limit) {
+        lock.readLock().lock();
+        try {
+            if (slots.isEmpty()) {
+                return List.of();
+            }
+            BitSet occupied = occupied(start, end);
+            List<SlotResponse> preferred = new ArrayList<>(limit);
+            List<SlotResponse> others = new ArrayList<>(limit);
+            int from = ThreadLocalRandom.current().nextInt(slots.size());
+            if (!collectFree(occupied, from, slots.size(), preferredFloorId, limit, preferred, others)) {
+                collectFree(occupied, 0, from, preferredFloorId, limit, preferred, others);
+            }
+            preferred.addAll(others.subList(0, Math.min(others.size(), limit - preferred.size())));
+            return preferred;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns true once limit slots on the preferred floor (any floor when null) have been found
+    private boolean collectFree(BitSet occupied, int from, int to, Long preferredFloorId, int limit,
+                                List<SlotResponse> preferred, List<SlotResponse> others) {
+        for (int ordinal = occupied.nextClearBit(from); ordinal < to; ordinal = occupied.nextClearBit(ordinal + 1)) {
+            SlotResponse slot = slots.get(ordinal);
+            if (preferredFloorId == null || preferredFloorId.equals(slot.floorId())) {
+                preferred.add(slot);
+                if (preferred.size() == limit) {
+                    return true;
+                }
+            } else if (others.size() < limit) {
+                others.add(slot);
+            }
+        }
+        return false;
+    }
+
+    private int firstAfter(int[] ordering, Comparator<SlotResponse> comparator, SlotResponse after) {
+        int low = 0;
+        int high = ordering.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(slots.get(ordering[mid]), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Buckets fully inside the window prove an overlap; slots seen only in the edge buckets are checked exactly
+    private BitSet occupied(long start, long end) {
+        BitSet occupied = new BitSet(slots.size());
+        BitSet uncertain = new BitSet(slots.size());
+        for (long bucket = firstBucket(start); bucket <= lastBucket(end); bucket++) {
+            BitSet bits = buckets.get(bucket);
+            if (bits == null) {
+                continue;
+            }
+            long bucketStart = bucket * bucketNanos;
+            if (bucketStart >= start && bucketStart + bucketNanos <= end) {
+                occupied.or(bits);
+            } else {
+                uncertain.or(bits);
+            }
+        }
+        uncertain.andNot(occupied);
+        for (int ordinal = uncertain.nextSetBit(0); ordinal >= 0; ordinal = uncertain.nextSetBit(ordinal + 1)) {
+            if (slotIntervalIndex.overlaps(slots.get(ordinal).id(), start, end)) {
+                occupied.set(ordinal);
+            }
+        }
+        return occupied;
+    }
+
+    private void mark(int ordinal, long start, long end) {
+        for (long bucket = firstBucket(start); bucket <= lastBucket(end); bucket++) {
+            buckets.computeIfAbsent(bucket, b -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private long firstBucket(long start) {
+        return Math.floorDiv(start, bucketNanos);
+    }
+
+    private long lastBucket(long end) {
+        return Math.floorDiv(end - 1, bucketNanos);
+    }
+
+    private int[] ordering(Sort sort) {
+        return orderings.computeIfAbsent(sort, s -> slots.stream()
+                .sorted(comparator(s))
+                .mapToInt(slot -> ordinals.get(slot.id()))
+                .toArray());
+    }
+
+    private static Comparator<SlotResponse> comparator(Sort sort) {
+        Comparator<SlotResponse> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<SlotResponse> byProperty = Comparator.comparing(sortKey(order.getProperty()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparing(SlotResponse::id);
+    }
+
+    private static Function<SlotResponse, String> sortKey(String property) {
+        return switch (property) {
+            case "slotNumber" -> SlotResponse::slotNumber;
+            case "vehicleType" -> SlotResponse::vehicleType;
+            case "floor.name" -> SlotResponse::floorName;
+            default -> throw new IllegalArgumentException("Unsupported sort property: " + property);
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.parking.reservation.journal;
+
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.enums.ReservationStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One journaled change: an ACTIVE entry is a new reservation, a CANCELLED entry cancels an existing one.
+ */
+record JournalEntry(long reservationId, long slotId, String vehicleNumber, LocalDateTime startTime,
+                    LocalDateTime endTime, BigDecimal cost, ReservationStatus status) {
+
+    static JournalEntry of(Reservation reservation, ReservationStatus status) {
+        return new JournalEntry(reservation.getId(), reservation.getSlot().getId(), reservation.getVehicleNumber(),
+                reservation.getStartTime(), reservation.getEndTime(), reservation.getCost(), status);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(reservationId);
+        out.writeLong(slotId);
+        out.writeUTF(vehicleNumber);
+        writeTime(out, startTime);
+        writeTime(out, endTime);
+        out.writeUTF(cost.toPlainString());
+        out.writeUTF(status.name());
+    }
+
+    static JournalEntry readFrom(DataInput in) throws IOException {
+        return new JournalEntry(in.readLong(), in.readLong(), in.readUTF(), readTime(in), readTime(in),
+                new BigDecimal(in.readUTF()), ReservationStatus.valueOf(in.readUTF()));
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
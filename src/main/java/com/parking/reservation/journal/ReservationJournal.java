@@ -0,0 +1,351 @@
+package com.parking.reservation.journal;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local file of {@link JournalEntry} records, split into segments named after the sequence number
+ * of their first record. Appends are group committed: one writer thread writes everything queued since its last
+ * fsync, forces the file once and then acknowledges the whole group. Every record is framed as length, CRC32 and
+ * payload, so a write torn by a crash is detected and cut off on recovery.
+ */
+@Slf4j
+class ReservationJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    interface DurableListener {
+        void onDurable(long sequence, JournalEntry entry);
+    }
+
+    private record Append(JournalEntry entry, CompletableFuture<Void> durable) {
+    }
+
+    private static final Append STOP = new Append(null, null);
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final Timer syncTimer;
+    private final DistributionSummary groupSize;
+
+    // Owned by the writer thread once the journal is open
+    private FileChannel channel;
+    private long nextSequence;
+    private DurableListener listener;
+    private Thread writer;
+
+    private volatile boolean failed;
+    private volatile boolean closed;
+
+    ReservationJournal(Path directory, long segmentBytes, boolean fsync, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.syncTimer = Timer.builder("reservation.journal.sync")
+                .description("Time to force one group of journal records to disk")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("reservation.journal.group.size")
+                .description("Records made durable by one journal fsync")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads every complete record left by the previous run, in append order, and truncates a torn tail.
+     * Must be called once, before {@link #open}.
+     */
+    List<JournalEntry> recover() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(path -> segments.put(firstSequence(path), path));
+        }
+        List<JournalEntry> entries = new ArrayList<>();
+        for (var segment : segments.entrySet()) {
+            int read = readSegment(segment.getValue(), entries);
+            nextSequence = segment.getKey() + read;
+        }
+        return entries;
+    }
+
+    /**
+     * Drops the recovered segments, which the caller has persisted by now, and starts accepting appends.
+     */
+    void open(DurableListener listener) throws IOException {
+        for (Path path : segments.values()) {
+            Files.delete(path);
+        }
+        segments.clear();
+        this.listener = listener;
+        openSegment();
+        writer = new Thread(this::writeLoop, "reservation-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    boolean isAvailable() {
+        return writer != null && !closed && !failed;
+    }
+
+    // Completes once the record is on disk, after the listener has seen it
+    CompletableFuture<Void> append(JournalEntry entry) {
+        if (!isAvailable()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Reservation journal is not accepting writes"));
+        }
+        Append append = new Append(entry, new CompletableFuture<>());
+        appends.add(append);
+        return append.durable();
+    }
+
+    /**
+     * Deletes the segments whose records are all at or below the given sequence, i.e. persisted elsewhere.
+     * The segment being written is never deleted.
+     */
+    void release(long sequence) {
+        var segment = segments.firstEntry();
+        while (segment != null) {
+            Long next = segments.higherKey(segment.getKey());
+            if (next == null || next - 1 > sequence) {
+                return;
+            }
+            delete(segment.getValue());
+            segments.remove(segment.getKey());
+            segment = segments.firstEntry();
+        }
+    }
+
+    // Only after close, once everything appended has been persisted elsewhere
+    void deleteSegments() {
+        segments.values().forEach(ReservationJournal::delete);
+        segments.clear();
+    }
+
+    // Writes and acknowledges everything appended so far, then stops
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writer != null) {
+            appends.add(STOP);
+            join();
+        }
+        failRemaining(new IllegalStateException("Reservation journal is closed"));
+        closeChannel();
+    }
+
+    // Stops like a killed process would: whatever the writer has not forced yet is lost
+    void halt() {
+        closed = true;
+        if (writer != null) {
+            writer.interrupt();
+            join();
+        }
+        closeChannel();
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(appends.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            appends.drainTo(group);
+            boolean stop = group.remove(STOP);
+            if (!group.isEmpty()) {
+                writeGroup(group);
+            }
+            group.clear();
+            if (stop || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private void writeGroup(List<Append> group) {
+        if (failed) {
+            group.forEach(append -> append.durable().completeExceptionally(new IllegalStateException("Reservation journal has failed")));
+            return;
+        }
+        try {
+            if (channel.position() >= segmentBytes) {
+                channel.close();
+                openSegment();
+            }
+            ByteBuffer buffer = encode(group);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                long started = System.nanoTime();
+                channel.force(false);
+                syncTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            groupSize.record(group.size());
+        } catch (IOException ex) {
+            // A partly written group would hide every later record from recovery, so stop writing altogether
+            failed = true;
+            if (!closed) {
+                log.error("Reservation journal write failed, write-behind is disabled until restart", ex);
+            }
+            group.forEach(append -> append.durable().completeExceptionally(ex));
+            return;
+        }
+        for (Append append : group) {
+            listener.onDurable(nextSequence++, append.entry());
+            append.durable().complete(null);
+        }
+    }
+
+    private static ByteBuffer encode(List<Append> group) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(group.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(96);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        CRC32 crc = new CRC32();
+        for (Append append : group) {
+            record.reset();
+            append.entry().writeTo(recordOut);
+            crc.reset();
+            crc.update(record.toByteArray());
+            out.writeInt(record.size());
+            out.writeInt((int) crc.getValue());
+            record.writeTo(out);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    // Returns the number of intact records read; anything after the first damaged record is truncated away
+    private static int readSegment(Path path, List<JournalEntry> entries) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            int read = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(in, header, position);
+                header.flip();
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(in, payload, position + HEADER_BYTES);
+                crc.reset();
+                crc.update(payload.array());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                entries.add(JournalEntry.readFrom(new DataInputStream(new ByteArrayInputStream(payload.array()))));
+                position += HEADER_BYTES + length;
+                read++;
+            }
+            if (position < size) {
+                log.warn("Dropping {} bytes of incomplete journal records at the end of {}", size - position, path);
+                in.truncate(position);
+                in.force(true);
+            }
+            return read;
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Journal segment ended inside a record");
+            }
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", nextSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.put(nextSequence, path);
+        syncDirectory();
+    }
+
+    // Makes the new file's directory entry durable; not supported on every platform
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ex) {
+            log.debug("Could not fsync journal directory {}", directory, ex);
+        }
+    }
+
+    private static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void failRemaining(RuntimeException ex) {
+        Append append;
+        while ((append = appends.poll()) != null) {
+            if (append != STOP) {
+                append.durable().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void join() {
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not close reservation journal segment", ex);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete journal segment {}", path, ex);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.parking.reservation.journal;
+
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.locking.StripedSlotLockStrategy;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Opt-in write-behind path for reservations. New reservations and cancellations are decided against the
+ * in-memory slot index under the slot's stripe lock, made durable in the local {@link ReservationJournal} and
+ * acknowledged; a background writer then applies them to the database in batches. Whatever is still in the
+ * journal at startup is applied before the indexes warm up, so no acknowledged change is lost to a crash.
+ */
+@Slf4j
+public class ReservationWriteBehind implements SmartInitializingSingleton, Closeable {
+
+    private static final String INSERT = "INSERT INTO reservations "
+            + "(id, slot_id, vehicle_number, start_time, end_time, cost, status, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE', 0)";
+    private static final String CANCEL = "UPDATE reservations SET status = 'CANCELLED', version = version + 1 "
+            + "WHERE id = ? AND status = 'ACTIVE'";
+
+    private record Durable(long sequence, JournalEntry entry) {
+    }
+
+    private final ReservationJournal journal;
+    private final StripedSlotLockStrategy slotLocks;
+    private final SlotRepository slotRepository;
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator idGenerator;
+    private final WriteBehindProperties properties;
+    private final Timer flushTimer;
+    private final Counter flushedChanges;
+
+    // Slots never change once created, so their vehicle type and floor can be kept for good
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    // Latest journaled state of every reservation the database has not caught up with yet
+    private final Map<Long, JournalEntry> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Durable> backlog = new LinkedBlockingQueue<>();
+    // A batch whose flush failed, retried before anything newer; flusher thread only
+    private final List<Durable> unflushed = new ArrayList<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean accepting;
+    private volatile boolean stopped;
+
+    public ReservationWriteBehind(StripedSlotLockStrategy slotLocks,
+                                  SlotRepository slotRepository,
+                                  ReservationRepository reservationRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  EntityManagerFactory entityManagerFactory,
+                                  WriteBehindProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.journal = new ReservationJournal(properties.getDirectory(), properties.getSegmentSize().toBytes(),
+                properties.isFsync(), meterRegistry);
+        this.slotLocks = slotLocks;
+        this.slotRepository = slotRepository;
+        this.reservationRepository = reservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // The entity's own pooled sequence generator, so ids never collide with reservations saved through JPA
+        this.idGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Reservation.class).getGenerator();
+        this.properties = properties;
+        this.flushTimer = Timer.builder("reservation.writebehind.flush")
+                .description("Time to apply one batch of journaled changes to the database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushedChanges = Counter.builder("reservation.writebehind.flushed")
+                .description("Journaled changes applied to the database")
+                .register(meterRegistry);
+        Gauge.builder("reservation.writebehind.backlog", backlog, BlockingQueue::size)
+                .description("Journaled changes not yet applied to the database")
+                .register(meterRegistry);
+    }
+
+    // Runs once every singleton, and so the Flyway migration, is ready and before the indexes warm up
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            List<JournalEntry> recovered = journal.recover();
+            for (int from = 0; from < recovered.size(); from += properties.getFlushBatchSize()) {
+                apply(recovered.subList(from, Math.min(recovered.size(), from + properties.getFlushBatchSize())), true);
+            }
+            if (!recovered.isEmpty()) {
+                log.info("Replayed {} journaled reservation changes from {}", recovered.size(), properties.getDirectory());
+            }
+            journal.open(this::onDurable);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not recover the reservation journal in " + properties.getDirectory(), ex);
+        }
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        accepting = true;
+        log.info("Write-behind reservations enabled, journal in {}", properties.getDirectory().toAbsolutePath());
+    }
+
+    // False while the journal is unusable or the database is too far behind; callers then write synchronously
+    public boolean isAccepting() {
+        return accepting && journal.isAvailable() && backlog.size() < properties.getMaxBacklog();
+    }
+
+    public <T> T withSlot(Long slotId, Function<Slot, T> work) {
+        return slotLocks.withStripe(slotId, () -> work.apply(slot(slotId)));
+    }
+
+    public Long nextId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) idGenerator.generate((SharedSessionContractImplementor) session, null);
+        }
+    }
+
+    /**
+     * Journals a new reservation and returns once it is on disk. Call while holding the slot through {@link #withSlot}.
+     */
+    public void journalReservation(Reservation reservation) {
+        append(JournalEntry.of(reservation, ReservationStatus.ACTIVE));
+    }
+
+    // Leaves the given reservation untouched, it may be a managed entity
+    public void journalCancellation(Reservation reservation) {
+        append(JournalEntry.of(reservation, ReservationStatus.CANCELLED));
+    }
+
+    private void append(JournalEntry entry) {
+        try {
+            journal.append(entry).get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Reservation " + entry.reservationId() + " could not be journaled", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while journaling reservation " + entry.reservationId(), ex);
+        }
+    }
+
+    // A reservation, or its cancellation, that is acknowledged but not in the database yet
+    public Optional<Reservation> findPending(Long id) {
+        JournalEntry entry = pending.get(id);
+        return entry == null ? Optional.empty() : Optional.of(toReservation(entry));
+    }
+
+    public boolean isPending(Long id) {
+        return pending.containsKey(id);
+    }
+
+    private void onDurable(long sequence, JournalEntry entry) {
+        pending.put(entry.reservationId(), entry);
+        backlog.add(new Durable(sequence, entry));
+    }
+
+    private void flush() {
+        try {
+            boolean more = true;
+            while (more) {
+                more = flushBatch();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Applying {} journaled reservation changes failed, retrying in {}",
+                    unflushed.size(), properties.getFlushInterval(), ex);
+        }
+    }
+
+    // Returns whether a full batch was applied, i.e. more may be waiting
+    private boolean flushBatch() {
+        if (unflushed.isEmpty()) {
+            backlog.drainTo(unflushed, properties.getFlushBatchSize());
+        }
+        if (unflushed.isEmpty()) {
+            return false;
+        }
+        List<JournalEntry> entries = unflushed.stream().map(Durable::entry).toList();
+        flushTimer.record(() -> apply(entries, false));
+        for (JournalEntry entry : entries) {
+            pending.remove(entry.reservationId(), entry);
+        }
+        journal.release(unflushed.get(unflushed.size() - 1).sequence());
+        flushedChanges.increment(entries.size());
+        boolean full = unflushed.size() >= properties.getFlushBatchSize();
+        unflushed.clear();
+        return full;
+    }
+
+    // A reservation's ACTIVE entry always precedes its CANCELLED one, so inserting before cancelling keeps the order
+    private void apply(List<JournalEntry> entries, boolean recovering) {
+        List<JournalEntry> inserts = new ArrayList<>();
+        List<JournalEntry> cancels = new ArrayList<>();
+        for (JournalEntry entry : entries) {
+            (entry.status() == ReservationStatus.ACTIVE ? inserts : cancels).add(entry);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<JournalEntry> toInsert = inserts;
+            if (recovering && !inserts.isEmpty()) {
+                // The previous run may have applied part of the journal before it stopped
+                Set<Long> existing = new HashSet<>(reservationRepository.findExistingIds(
+                        inserts.stream().map(JournalEntry::reservationId).toList()));
+                toInsert = inserts.stream().filter(entry -> !existing.contains(entry.reservationId())).toList();
+            }
+            jdbcTemplate.batchUpdate(INSERT, toInsert, toInsert.size(), (statement, entry) -> {
+                statement.setLong(1, entry.reservationId());
+                statement.setLong(2, entry.slotId());
+                statement.setString(3, entry.vehicleNumber());
+                statement.setTimestamp(4, Timestamp.valueOf(entry.startTime()));
+                statement.setTimestamp(5, Timestamp.valueOf(entry.endTime()));
+                statement.setBigDecimal(6, entry.cost());
+            });
+            jdbcTemplate.batchUpdate(CANCEL, cancels, cancels.size(),
+                    (statement, entry) -> statement.setLong(1, entry.reservationId()));
+        });
+    }
+
+    private Slot slot(Long slotId) {
+        Slot slot = slots.get(slotId);
+        if (slot == null) {
+            slot = slotRepository.findByIdWithFloor(slotId)
+                    .orElseThrow(() -> new SlotNotFoundException("Slot not found"));
+            slots.put(slotId, slot);
+        }
+        return slot;
+    }
+
+    private Reservation toReservation(JournalEntry entry) {
+        Reservation reservation = new Reservation();
+        reservation.setId(entry.reservationId());
+        reservation.setSlot(slot(entry.slotId()));
+        reservation.setVehicleNumber(entry.vehicleNumber());
+        reservation.setStartTime(entry.startTime());
+        reservation.setEndTime(entry.endTime());
+        reservation.setCost(entry.cost());
+        reservation.setStatus(entry.status());
+        return reservation;
+    }
+
+    // Stops taking reservations, lets the journal acknowledge what it has and applies all of it to the database
+    @Override
+    public void close() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        accepting = false;
+        journal.close();
+        flusher.shutdown();
+        awaitFlusher();
+        try {
+            while (!backlog.isEmpty() || !unflushed.isEmpty()) {
+                flushBatch();
+            }
+            journal.deleteSegments();
+        } catch (RuntimeException ex) {
+            log.warn("Could not apply {} journaled reservation changes on shutdown, they are replayed on the next start",
+                    backlog.size() + unflushed.size(), ex);
+        }
+    }
+
+    // Stops the way a killed process would, without applying the backlog; for crash-recovery tests
+    void halt() {
+        stopped = true;
+        accepting = false;
+        flusher.shutdownNow();
+        awaitFlusher();
+        journal.halt();
+    }
+
+    // Whether the database holds every acknowledged change
+    boolean isCaughtUp() {
+        return pending.isEmpty();
+    }
+
+    private void awaitFlusher() {
+        try {
+            if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Write-behind flusher did not stop in time");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.parking.reservation.journal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    // Must be on a local disk that survives a restart of the process
+    private Path directory = Path.of("data", "journal");
+
+    // Without fsync an acknowledged reservation survives a process crash but not a power loss
+    private boolean fsync = true;
+
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    // Journaled changes written to the database per transaction
+    private int flushBatchSize = 500;
+
+    // Above this many unflushed changes new reservations take the synchronous path again
+    private int maxBacklog = 100_000;
+}
@@ -0,0 +1,100 @@
+package com.parking.reservation.locking;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * {@link SlotLeases} in the slot_leases table, one row per leased slot, so every instance on the same database
+ * sees the same leases. Leases are taken and given up on a connection of their own in auto-commit mode: they must be
+ * visible to the other instances at once, and never roll back with the transaction they protect.
+ * <p>
+ * Expiry times are the wall clock of the instance taking the lease, so instance clocks have to agree to well within
+ * the lease ttl.
+ */
+public class JdbcSlotLeases implements SlotLeases {
+
+    private static final String INSERT_LEASE = "INSERT INTO slot_leases (slot_id, holder, expires_at) VALUES (?, ?, ?)";
+    private static final String TAKE_OVER_EXPIRED =
+            "UPDATE slot_leases SET holder = ?, expires_at = ? WHERE slot_id = ? AND expires_at <= ?";
+    private static final String DELETE_LEASE = "DELETE FROM slot_leases WHERE slot_id = ? AND holder = ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final SQLStateSQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    public JdbcSlotLeases(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryAcquire(Long slotId, String holder, Duration ttl) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttl.toMillis();
+        try (Connection connection = autoCommitConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_LEASE)) {
+                insert.setLong(1, slotId);
+                insert.setString(2, holder);
+                insert.setLong(3, expiresAt);
+                insert.executeUpdate();
+                return true;
+            } catch (SQLException ex) {
+                // 23xxx: the slot is leased already, which is only worth anything to its holder while unexpired
+                if (ex.getSQLState() == null || !ex.getSQLState().startsWith("23")) {
+                    throw ex;
+                }
+            }
+            try (PreparedStatement takeOver = connection.prepareStatement(TAKE_OVER_EXPIRED)) {
+                takeOver.setString(1, holder);
+                takeOver.setLong(2, expiresAt);
+                takeOver.setLong(3, slotId);
+                takeOver.setLong(4, now);
+                return takeOver.executeUpdate() == 1;
+            }
+        } catch (SQLException ex) {
+            throw exceptionTranslator.translate("Acquiring lease on slot " + slotId, INSERT_LEASE, ex);
+        }
+    }
+
+    // On the caller's transaction, if there is one: this runs right before it commits
+    @Override
+    public boolean holdsAll(Collection<Long> slotIds, String holder) {
+        Integer held = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slot_leases WHERE holder = ? AND expires_at > ?",
+                Integer.class, holder, System.currentTimeMillis());
+        return held != null && held == slotIds.size();
+    }
+
+    @Override
+    public void release(Collection<Long> slotIds, String holder) {
+        if (slotIds.isEmpty()) {
+            return;
+        }
+        try (Connection connection = autoCommitConnection();
+             PreparedStatement delete = connection.prepareStatement(DELETE_LEASE)) {
+            for (Long slotId : slotIds) {
+                delete.setLong(1, slotId);
+                delete.setString(2, holder);
+                delete.addBatch();
+            }
+            delete.executeBatch();
+        } catch (SQLException ex) {
+            // An unreleased lease expires on its own; until then the slot waits
+            throw exceptionTranslator.translate("Releasing leases on slots " + slotIds, DELETE_LEASE, ex);
+        }
+    }
+
+    // Straight from the pool, so it never joins a transaction bound to this thread
+    private Connection autoCommitConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(true);
+        return connection;
+    }
+}
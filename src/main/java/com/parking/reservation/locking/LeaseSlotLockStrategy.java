@@ -0,0 +1,153 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.repository.SlotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serialises reservations per slot with leases from a {@link SlotLeases} store shared by every instance, instead of
+ * database row locks. The leases are taken before the transaction starts and given up once it has ended; the
+ * transaction only commits while they are still held, so a holder stalled past the ttl cannot commit over the
+ * instance that took the slot over.
+ */
+@Slf4j
+public class LeaseSlotLockStrategy implements SlotLockStrategy {
+
+    private static final int MAX_BACKOFF_MILLIS = 32;
+
+    private final SlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SlotLeases leases;
+    private final Duration ttl;
+    private final long waitNanos;
+    private final SlotLockMetrics metrics;
+    // Holders are this instance plus a sequence number, so no two acquisitions anywhere share one
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong acquisitions = new AtomicLong();
+
+    public LeaseSlotLockStrategy(SlotRepository slotRepository, TransactionTemplate transactionTemplate, SlotLeases leases,
+                                 Duration ttl, Duration wait, SlotLockMetrics metrics) {
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leases = leases;
+        this.ttl = ttl;
+        this.waitNanos = wait.toNanos();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> T withSlotLock(Long slotId, Function<Slot, T> work) {
+        return withLeases(List.of(slotId), "slot ID " + slotId, () -> work.apply(loadSlot(slotId)));
+    }
+
+    @Override
+    public <T> T withSlotLocks(Collection<Long> slotIds, Function<Map<Long, Slot>, T> work) {
+        TreeSet<Long> sorted = new TreeSet<>(slotIds);
+        return withLeases(sorted, "slot IDs " + slotIds, () -> {
+            Map<Long, Slot> slots = slotRepository.findAllById(sorted).stream()
+                    .collect(Collectors.toMap(Slot::getId, Function.identity()));
+            return work.apply(slots);
+        });
+    }
+
+    private <T> T withLeases(Collection<Long> slotIds, String target, Supplier<T> work) {
+        String holder = instanceId + ":" + acquisitions.incrementAndGet();
+        acquire(slotIds, holder, target);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Joining a caller's transaction: check and keep the leases until that transaction has ended
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    checkHeld(slotIds, holder, target);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    release(slotIds, holder);
+                }
+            });
+            return work.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                T result = work.get();
+                checkHeld(slotIds, holder, target);
+                return result;
+            });
+        } finally {
+            release(slotIds, holder);
+        }
+    }
+
+    // Slots in ascending order, so two callers can never wait on each other crosswise
+    private void acquire(Collection<Long> slotIds, String holder, String target) {
+        List<Long> held = new ArrayList<>(slotIds.size());
+        try {
+            metrics.recordLockWait(() -> {
+                long deadline = System.nanoTime() + waitNanos;
+                for (Long slotId : slotIds) {
+                    for (int attempt = 0; !leases.tryAcquire(slotId, holder, ttl); attempt++) {
+                        if (System.nanoTime() - deadline >= 0) {
+                            throw new SlotUnavailableException("Timed out waiting for " + target + ", please retry");
+                        }
+                        backOff(attempt, target);
+                    }
+                    held.add(slotId);
+                }
+            });
+        } catch (RuntimeException ex) {
+            release(held, holder);
+            throw ex;
+        }
+    }
+
+    // 1, 2, 4 .. 32 ms at most, randomised so that waiting instances do not retry in lockstep
+    private static void backOff(int attempt, String target) {
+        long maxMillis = 1L << Math.min(attempt, Long.numberOfTrailingZeros(MAX_BACKOFF_MILLIS));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxMillis + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SlotUnavailableException("Interrupted while waiting for " + target);
+        }
+    }
+
+    private void checkHeld(Collection<Long> slotIds, String holder, String target) {
+        if (!leases.holdsAll(slotIds, holder)) {
+            throw new SlotUnavailableException("Lease on " + target + " expired before the reservation committed, please retry");
+        }
+    }
+
+    // The work has committed or rolled back by now; a lease that cannot be given up simply runs out
+    private void release(Collection<Long> slotIds, String holder) {
+        try {
+            leases.release(slotIds, holder);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release leases on slots {}, they expire within {}", slotIds, ttl, ex);
+        }
+    }
+
+    // Served from the second-level cache; reservations only need the floor id, which does not load the Floor
+    private Slot loadSlot(Long slotId) {
+        return slotRepository.findById(slotId)
+                .orElseThrow(() -> new SlotNotFoundException("Slot not found"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.parking.reservation.locking;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link SlotLeases} for tests and single instances. The leases are only seen inside this process, so it
+ * cannot serialise several instances.
+ */
+public class LocalSlotLeases implements SlotLeases {
+
+    private record Lease(String holder, long expiresAtMillis) {
+    }
+
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(Long slotId, String holder, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Lease lease = new Lease(holder, now + ttl.toMillis());
+        return leases.compute(slotId, (id, current) ->
+                current == null || current.expiresAtMillis() <= now ? lease : current) == lease;
+    }
+
+    @Override
+    public boolean holdsAll(Collection<Long> slotIds, String holder) {
+        long now = System.currentTimeMillis();
+        for (Long slotId : slotIds) {
+            Lease lease = leases.get(slotId);
+            if (lease == null || !lease.holder().equals(holder) || lease.expiresAtMillis() <= now) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void release(Collection<Long> slotIds, String holder) {
+        for (Long slotId : slotIds) {
+            leases.computeIfPresent(slotId, (id, lease) -> lease.holder().equals(holder) ? null : lease);
+        }
+    }
+}
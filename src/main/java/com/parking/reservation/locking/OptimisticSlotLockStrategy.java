@@ -0,0 +1,71 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.repository.SlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the slot without a row lock and bumps Slot.version on commit, so two transactions
+ * reserving the same slot cannot both commit. The loser is rolled back and retried.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticSlotLockStrategy implements SlotLockStrategy {
+
+    private final SlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int attempts;
+    private final SlotLockMetrics metrics;
+
+    @Override
+    public <T> T withSlotLock(Long slotId, Function<Slot, T> work) {
+        return withRetries("slot ID " + slotId, () -> work.apply(loadSlot(slotId)));
+    }
+
+    @Override
+    public <T> T withSlotLocks(Collection<Long> slotIds, Function<Map<Long, Slot>, T> work) {
+        return withRetries("slot IDs " + slotIds, () -> {
+            Map<Long, Slot> slots = slotRepository.findAllByIdForVersionIncrement(new TreeSet<>(slotIds)).stream()
+                    .collect(Collectors.toMap(Slot::getId, Function.identity()));
+            return work.apply(slots);
+        });
+    }
+
+    private <T> T withRetries(String target, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Conflicts surface when the caller's transaction commits, so there is nothing to retry here
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= attempts) {
+                    metrics.optimisticGiveUp();
+                    log.warn("Giving up on {} after {} optimistic attempts", target, attempt);
+                    throw new SlotUnavailableException("Reservation of " + target + " conflicted with concurrent bookings, please retry");
+                }
+                metrics.optimisticRetry();
+                log.debug("Optimistic conflict on {}, attempt {}", target, attempt);
+            }
+        }
+    }
+
+    private Slot loadSlot(Long slotId) {
+        return slotRepository.findByIdForVersionIncrement(slotId)
+                .orElseThrow(() -> new SlotNotFoundException("Slot not found"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.repository.SlotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class PessimisticSlotLockStrategy implements SlotLockStrategy {
+
+    private final SlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SlotLockMetrics metrics;
+
+    @Override
+    public <T> T withSlotLock(Long slotId, Function<Slot, T> work) {
+        return transactionTemplate.execute(status -> {
+            Slot slot = metrics.recordLockWait(() -> slotRepository.findByIdWithLock(slotId))
+                    .orElseThrow(() -> new SlotNotFoundException("Slot not found"));
+            return work.apply(slot);
+        });
+    }
+
+    @Override
+    public <T> T withSlotLocks(Collection<Long> slotIds, Function<Map<Long, Slot>, T> work) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Slot> slots = metrics.recordLockWait(() -> slotRepository.findAllByIdWithLock(new TreeSet<>(slotIds))).stream()
+                    .collect(Collectors.toMap(Slot::getId, Function.identity()));
+            return work.apply(slots);
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.parking.reservation.locking;
+
+// Where LEASE mode keeps its leases when no SlotLeases bean is defined
+public enum SlotLeaseStore {
+    JDBC,
+    LOCAL
+}
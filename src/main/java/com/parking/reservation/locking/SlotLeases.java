@@ -0,0 +1,21 @@
+package com.parking.reservation.locking;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Expiring, exclusive leases on slot ids, the store behind {@link LeaseSlotLockStrategy}. Every instance that books
+ * reservations must use the same store. A holder is an opaque token naming one acquisition; a lease past its ttl
+ * counts as free and may be taken by another holder.
+ */
+public interface SlotLeases {
+
+    // False when another holder has an unexpired lease on the slot
+    boolean tryAcquire(Long slotId, String holder, Duration ttl);
+
+    // Whether holder still has an unexpired lease on every one of the slots
+    boolean holdsAll(Collection<Long> slotIds, String holder);
+
+    // Leases that have been taken over by someone else in the meantime are left alone
+    void release(Collection<Long> slotIds, String holder);
+}
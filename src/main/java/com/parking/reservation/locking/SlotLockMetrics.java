@@ -0,0 +1,50 @@
+package com.parking.reservation.locking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.function.Supplier;
+
+/**
+ * Time spent waiting for slot locks and optimistic conflicts, tagged with the locking mode.
+ */
+public class SlotLockMetrics {
+
+    private final Timer lockWait;
+    private final Counter optimisticRetries;
+    private final Counter optimisticGiveUps;
+
+    public SlotLockMetrics(MeterRegistry registry, SlotLockMode mode) {
+        String modeTag = mode.name().toLowerCase();
+        this.lockWait = Timer.builder("reservation.lock.wait")
+                .description("Time spent acquiring slot locks")
+                .tag("mode", modeTag)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.optimisticRetries = Counter.builder("reservation.lock.optimistic.conflicts")
+                .description("Optimistic slot version conflicts")
+                .tag("outcome", "retried")
+                .register(registry);
+        this.optimisticGiveUps = Counter.builder("reservation.lock.optimistic.conflicts")
+                .description("Optimistic slot version conflicts")
+                .tag("outcome", "gave_up")
+                .register(registry);
+    }
+
+    <T> T recordLockWait(Supplier<T> acquire) {
+        return lockWait.record(acquire);
+    }
+
+    void recordLockWait(Runnable acquire) {
+        lockWait.record(acquire);
+    }
+
+    void optimisticRetry() {
+        optimisticRetries.increment();
+    }
+
+    void optimisticGiveUp() {
+        optimisticGiveUps.increment();
+    }
+}
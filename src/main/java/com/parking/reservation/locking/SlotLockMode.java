@@ -0,0 +1,8 @@
+package com.parking.reservation.locking;
+
+public enum SlotLockMode {
+    PESSIMISTIC,
+    OPTIMISTIC,
+    STRIPED,
+    LEASE
+}
@@ -0,0 +1,29 @@
+package com.parking.reservation.locking;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.locking")
+public class SlotLockProperties {
+
+    private SlotLockMode mode = SlotLockMode.PESSIMISTIC;
+
+    // Number of in-process locks slot ids are hashed onto in STRIPED mode, rounded up to a power of two
+    private int stripes = 1024;
+
+    private Duration stripeTimeout = Duration.ofSeconds(5);
+
+    private int optimisticAttempts = 5;
+
+    // LEASE mode: the store used unless a SlotLeases bean is defined, how long a lease lasts and how long to wait for one
+    private SlotLeaseStore leaseStore = SlotLeaseStore.JDBC;
+
+    private Duration leaseTtl = Duration.ofSeconds(10);
+
+    private Duration leaseWait = Duration.ofSeconds(5);
+}
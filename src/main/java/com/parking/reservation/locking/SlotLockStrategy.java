@@ -0,0 +1,22 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.entity.Slot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serialises reservations of the same slot. The work runs in a transaction with the slot loaded
+ * and no other reservation of that slot can commit in between.
+ */
+public interface SlotLockStrategy {
+
+    <T> T withSlotLock(Long slotId, Function<Slot, T> work);
+
+    /**
+     * Locks several slots in ascending id order, so concurrent batches cannot deadlock.
+     * Ids that do not exist are simply missing from the map handed to the work.
+     */
+    <T> T withSlotLocks(Collection<Long> slotIds, Function<Map<Long, Slot>, T> work);
+}
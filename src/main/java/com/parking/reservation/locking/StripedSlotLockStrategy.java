@@ -0,0 +1,139 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.repository.SlotRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serialises reservations per slot with in-process locks instead of database row locks.
+ * Only safe when a single instance writes reservations.
+ */
+public class StripedSlotLockStrategy implements SlotLockStrategy {
+
+    private final SlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final long timeoutNanos;
+    private final SlotLockMetrics metrics;
+
+    public StripedSlotLockStrategy(SlotRepository slotRepository, TransactionTemplate transactionTemplate,
+                                   int stripeCount, Duration timeout, SlotLockMetrics metrics) {
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutNanos = timeout.toNanos();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> T withSlotLock(Long slotId, Function<Slot, T> work) {
+        return withStripes(List.of(stripeIndex(slotId)), "slot ID " + slotId, () -> work.apply(loadSlot(slotId)));
+    }
+
+    @Override
+    public <T> T withSlotLocks(Collection<Long> slotIds, Function<Map<Long, Slot>, T> work) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        slotIds.forEach(slotId -> indexes.add(stripeIndex(slotId)));
+        return withStripes(indexes, "slot IDs " + slotIds, () -> {
+            Map<Long, Slot> slots = slotRepository.findAllById(new TreeSet<>(slotIds)).stream()
+                    .collect(Collectors.toMap(Slot::getId, Function.identity()));
+            return work.apply(slots);
+        });
+    }
+
+    /**
+     * Holds the slot's stripe around work that only decides against in-memory state, without opening a transaction.
+     */
+    public <T> T withStripe(Long slotId, Supplier<T> work) {
+        List<ReentrantLock> held = lock(List.of(stripeIndex(slotId)), "slot ID " + slotId);
+        try {
+            return work.get();
+        } finally {
+            unlock(held);
+        }
+    }
+
+    private <T> T withStripes(Collection<Integer> indexes, String target, Supplier<T> work) {
+        List<ReentrantLock> held = lock(indexes, target);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Joining a caller's transaction: keep the stripes until that transaction has committed or rolled back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    unlock(held);
+                }
+            });
+            return work.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            unlock(held);
+        }
+    }
+
+    // Stripes are always taken in ascending index order, so two callers can never wait on each other crosswise
+    private List<ReentrantLock> lock(Collection<Integer> indexes, String target) {
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            metrics.recordLockWait(() -> {
+                for (int index : indexes) {
+                    acquire(stripes[index], target);
+                    held.add(stripes[index]);
+                }
+            });
+        } catch (RuntimeException ex) {
+            unlock(held);
+            throw ex;
+        }
+        return held;
+    }
+
+    private int stripeIndex(Long slotId) {
+        int hash = Long.hashCode(slotId) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private void acquire(ReentrantLock lock, String target) {
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SlotUnavailableException("Timed out waiting for " + target + ", please retry");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SlotUnavailableException("Interrupted while waiting for " + target);
+        }
+    }
+
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    // Served from the second-level cache; reservations only need the floor id, which does not load the Floor
+    private Slot loadSlot(Long slotId) {
+        return slotRepository.findById(slotId)
+                .orElseThrow(() -> new SlotNotFoundException("Slot not found"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.parking.reservation.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets a random one in {@code rate} DEBUG and TRACE statements of one logger (and its children) through and drops
+ * the others before any event is built. Meant for per-statement loggers such as org.hibernate.SQL that check
+ * isDebugEnabled() before formatting: the sample is taken on that check, so a dropped statement costs one random
+ * number. Statements logged without the check are not sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private int rate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || format != null || level.isGreaterOrEqual(Level.INFO) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // org.hibernate.SQL covers org.hibernate.SQL.x but not org.hibernate.SQL_SLOW
+    private boolean matches(String name) {
+        return name.startsWith(loggerName)
+                && (name.length() == loggerName.length() || name.charAt(loggerName.length()) == '.');
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null || rate < 1) {
+            addError("SamplingTurboFilter needs a loggerName and a rate of at least 1");
+            return;
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,123 @@
+package com.parking.reservation.pricing;
+
+import com.parking.reservation.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prices reservations in paise using tables built once from {@link PricingProperties}.
+ * Every started hour is charged at the rate of the hour of day it starts in, scaled by the floor multiplier,
+ * and each calendar day is capped separately. calculateCostPaise does not allocate; the result only
+ * becomes a BigDecimal in {@link #calculateCost}.
+ */
+public class PricingEngine {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final long SECONDS_PER_HOUR = 3_600;
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long NO_CAP = Long.MAX_VALUE;
+
+    // [vehicle type ordinal][hour of day] -> hourly rate in hundredths of a paisa, peak bands applied
+    private final long[][] hourlyRates;
+    // [vehicle type ordinal] -> daily cap in hundredths of a paisa
+    private final long[] dailyCaps;
+    // floor ids sorted ascending with their multiplier percentages at the same index
+    private final long[] floorIds;
+    private final int[] floorPercents;
+
+    public PricingEngine(PricingProperties properties) {
+        int[] hourPercents = new int[HOURS_PER_DAY];
+        Arrays.fill(hourPercents, 100);
+        for (PricingProperties.PeakBand band : properties.getPeakBands()) {
+            applyBand(hourPercents, band);
+        }
+
+        VehicleType[] types = VehicleType.values();
+        hourlyRates = new long[types.length][HOURS_PER_DAY];
+        dailyCaps = new long[types.length];
+        for (VehicleType type : types) {
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                hourlyRates[type.ordinal()][hour] = type.getHourlyRatePaise() * hourPercents[hour];
+            }
+            BigDecimal cap = properties.getDailyCap().get(type);
+            dailyCaps[type.ordinal()] = cap == null ? NO_CAP : cap.movePointRight(4).longValueExact();
+        }
+
+        Map<Long, Integer> floors = new TreeMap<>(properties.getFloorMultiplierPercent());
+        floorIds = new long[floors.size()];
+        floorPercents = new int[floors.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> floor : floors.entrySet()) {
+            if (floor.getValue() < 0) {
+                throw new IllegalArgumentException("Floor multiplier must not be negative for floor " + floor.getKey());
+            }
+            floorIds[i] = floor.getKey();
+            floorPercents[i++] = floor.getValue();
+        }
+    }
+
+    public BigDecimal calculateCost(VehicleType type, long floorId, LocalDateTime start, LocalDateTime end) {
+        return toRupees(calculateCostPaise(type, floorId, start, end));
+    }
+
+    public long calculateCostPaise(VehicleType type, long floorId, LocalDateTime start, LocalDateTime end) {
+        long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+        long seconds = end.toEpochSecond(ZoneOffset.UTC) - startSecond;
+        if (end.getNano() < start.getNano()) {
+            seconds--;
+        }
+        long hours = (seconds / 60 + 59) / 60;
+
+        long[] rates = hourlyRates[type.ordinal()];
+        long cap = dailyCaps[type.ordinal()];
+        int floorPercent = floorPercent(floorId);
+
+        long total = 0;
+        long dayTotal = 0;
+        long day = Math.floorDiv(startSecond, SECONDS_PER_DAY);
+        for (long i = 0; i < hours; i++) {
+            long blockStart = startSecond + i * SECONDS_PER_HOUR;
+            long blockDay = Math.floorDiv(blockStart, SECONDS_PER_DAY);
+            if (blockDay != day) {
+                total += Math.min(dayTotal, cap);
+                dayTotal = 0;
+                day = blockDay;
+            }
+            int hourOfDay = (int) Math.floorMod(Math.floorDiv(blockStart, SECONDS_PER_HOUR), HOURS_PER_DAY);
+            dayTotal += rates[hourOfDay] * floorPercent / 100;
+        }
+        total += Math.min(dayTotal, cap);
+
+        // hundredths of a paisa -> paise, rounding half up
+        return (total + 50) / 100;
+    }
+
+    // Whole rupees keep scale 0 as PricingUtil returned them ("60", not "60.00"); only fractional costs carry paise
+    public static BigDecimal toRupees(long paise) {
+        return paise % 100 == 0 ? BigDecimal.valueOf(paise / 100) : BigDecimal.valueOf(paise, 2);
+    }
+
+    private int floorPercent(long floorId) {
+        int index = Arrays.binarySearch(floorIds, floorId);
+        return index >= 0 ? floorPercents[index] : 100;
+    }
+
+    private static void applyBand(int[] hourPercents, PricingProperties.PeakBand band) {
+        if (band.getStartHour() < 0 || band.getStartHour() >= HOURS_PER_DAY
+                || band.getEndHour() < 0 || band.getEndHour() > HOURS_PER_DAY || band.getMultiplierPercent() < 0) {
+            throw new IllegalArgumentException("Invalid peak band " + band.getStartHour() + "-" + band.getEndHour()
+                    + " at " + band.getMultiplierPercent() + "%");
+        }
+        for (int hour = band.getStartHour(); hour != band.getEndHour(); hour = (hour + 1) % HOURS_PER_DAY) {
+            hourPercents[hour] = band.getMultiplierPercent();
+            if (band.getEndHour() == HOURS_PER_DAY && hour == HOURS_PER_DAY - 1) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.parking.reservation.pricing;
+
+import com.parking.reservation.enums.VehicleType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tariff rules on top of the hourly rates in {@link VehicleType}. With nothing configured every
+ * started hour costs the plain hourly rate.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.pricing")
+public class PricingProperties {
+
+    private List<PeakBand> peakBands = new ArrayList<>();
+
+    // floor id -> percentage applied to every hour booked on that floor
+    private Map<Long, Integer> floorMultiplierPercent = new HashMap<>();
+
+    // most a single calendar day of a reservation can cost, in rupees
+    private Map<VehicleType, BigDecimal> dailyCap = new EnumMap<>(VehicleType.class);
+
+    @Getter
+    @Setter
+    public static class PeakBand {
+
+        // Hours of the day in [startHour, endHour); a band with startHour > endHour wraps past midnight
+        private int startHour;
+        private int endHour;
+        private int multiplierPercent = 100;
+    }
+}
@@ -0,0 +1,16 @@
+package com.parking.reservation.provisioning;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.slot-import")
+public class SlotImportProperties {
+
+    // Slots inserted per JDBC batch and transaction
+    private int batchSize = 500;
+
+    private int maxReportedFailures = 1000;
+}
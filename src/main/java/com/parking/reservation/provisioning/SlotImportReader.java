@@ -0,0 +1,131 @@
+package com.parking.reservation.provisioning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.exception.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses an import body one line at a time, so only the current line is ever held in memory. Blank lines are
+ * skipped; a line that cannot be parsed becomes an invalid row rather than failing the import.
+ */
+abstract class SlotImportReader {
+
+    static final String FLOOR = "floor";
+    static final String SLOT_NUMBER = "slotNumber";
+    static final String VEHICLE_TYPE = "vehicleType";
+
+    private final BufferedReader lines;
+    private int lineNumber;
+
+    private SlotImportReader(BufferedReader lines) {
+        this.lines = lines;
+    }
+
+    // CSV with a header naming the floor, slotNumber and vehicleType columns, in any order; fields are not quoted
+    static SlotImportReader csv(BufferedReader lines) throws IOException {
+        return new Csv(lines);
+    }
+
+    // One JSON object per line with floor, slotNumber and vehicleType
+    static SlotImportReader ndjson(BufferedReader lines, ObjectMapper objectMapper) {
+        return new Ndjson(lines, objectMapper);
+    }
+
+    // The next non-blank line, or null at the end of the body
+    SlotImportRow next() throws IOException {
+        String line;
+        while ((line = nextLine()) != null) {
+            if (!line.isBlank()) {
+                return parse(lineNumber, line);
+            }
+        }
+        return null;
+    }
+
+    abstract SlotImportRow parse(int line, String text);
+
+    String nextLine() throws IOException {
+        String line = lines.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    private static final class Csv extends SlotImportReader {
+
+        private final int floorColumn;
+        private final int slotNumberColumn;
+        private final int vehicleTypeColumn;
+        private final int columns;
+
+        private Csv(BufferedReader lines) throws IOException {
+            super(lines);
+            String header = nextLine();
+            if (header == null || header.isBlank()) {
+                throw new InvalidImportException("CSV import must start with a header line: floor,slotNumber,vehicleType");
+            }
+            List<String> names = Arrays.stream(header.split(",", -1))
+                    .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            this.floorColumn = column(names, FLOOR);
+            this.slotNumberColumn = column(names, SLOT_NUMBER);
+            this.vehicleTypeColumn = column(names, VEHICLE_TYPE);
+            this.columns = names.size();
+        }
+
+        @Override
+        SlotImportRow parse(int line, String text) {
+            String[] fields = text.split(",", -1);
+            if (fields.length != columns) {
+                return SlotImportRow.invalid(line, null, null,
+                        String.format("Expected %d fields but found %d", columns, fields.length));
+            }
+            return SlotImportRow.of(line, fields[floorColumn], fields[slotNumberColumn], fields[vehicleTypeColumn]);
+        }
+
+        private static int column(List<String> names, String name) {
+            int index = names.indexOf(name.toLowerCase(Locale.ROOT));
+            if (index < 0) {
+                throw new InvalidImportException("CSV header has no '" + name + "' column");
+            }
+            return index;
+        }
+    }
+
+    private static final class Ndjson extends SlotImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(BufferedReader lines, ObjectMapper objectMapper) {
+            super(lines);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        SlotImportRow parse(int line, String text) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException ex) {
+                return SlotImportRow.invalid(line, null, null, "Invalid JSON");
+            }
+            if (!node.isObject()) {
+                return SlotImportRow.invalid(line, null, null, "Expected a JSON object");
+            }
+            return SlotImportRow.of(line, text(node, FLOOR), text(node, SLOT_NUMBER), text(node, VEHICLE_TYPE));
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.parking.reservation.provisioning;
+
+import com.parking.reservation.enums.VehicleType;
+
+import java.util.Arrays;
+
+// One line of an import; error is set instead of the vehicle type when the line cannot be imported as is
+record SlotImportRow(int line, String floor, String slotNumber, VehicleType vehicleType, String error) {
+
+    static SlotImportRow of(int line, String floor, String slotNumber, String vehicleType) {
+        floor = trimToNull(floor);
+        slotNumber = trimToNull(slotNumber);
+        vehicleType = trimToNull(vehicleType);
+        if (floor == null) {
+            return invalid(line, null, slotNumber, "Floor name is required");
+        }
+        if (slotNumber == null) {
+            return invalid(line, floor, null, "Slot number is required");
+        }
+        if (vehicleType == null) {
+            return invalid(line, floor, slotNumber, "Vehicle type is required");
+        }
+        try {
+            return new SlotImportRow(line, floor, slotNumber, VehicleType.valueOf(vehicleType), null);
+        } catch (IllegalArgumentException ex) {
+            return invalid(line, floor, slotNumber, "Invalid vehicle type '" + vehicleType + "'. Allowed values: "
+                    + Arrays.toString(VehicleType.values()));
+        }
+    }
+
+    static SlotImportRow invalid(int line, String floor, String slotNumber, String error) {
+        return new SlotImportRow(line, floor, slotNumber, null, error);
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
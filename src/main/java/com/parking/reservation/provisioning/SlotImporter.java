@@ -0,0 +1,244 @@
+package com.parking.reservation.provisioning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.dto.response.SlotImportResponse;
+import com.parking.reservation.dto.response.SlotImportResponse.SlotImportFailure;
+import com.parking.reservation.entity.Floor;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.event.SlotsCreatedEvent;
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.repository.FloorRepository;
+import com.parking.reservation.repository.SlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Provisions floors and slots from a CSV or NDJSON body in a single pass. Floors are looked up once per import and
+ * created on first use; each floor's existing slot numbers are read once, so duplicates of the
+ * {@code (floor_id, slot_number)} constraint are reported per row without a round trip. The remaining rows are
+ * inserted with JDBC batches, one transaction per batch, so an import is not atomic: whatever the response reports
+ * as created is there even if later rows fail.
+ */
+@Slf4j
+public class SlotImporter {
+
+    private static final String INSERT_SLOT =
+            "INSERT INTO slots (floor_id, slot_number, vehicle_type, version) VALUES (?, ?, ?, 0)";
+
+    private final FloorRepository floorRepository;
+    private final SlotRepository slotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityIndex availabilityIndex;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotImportProperties properties;
+    private final Counter createdRows;
+    private final Counter failedRows;
+
+    public SlotImporter(FloorRepository floorRepository,
+                        SlotRepository slotRepository,
+                        JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        AvailabilityIndex availabilityIndex,
+                        ObjectMapper objectMapper,
+                        ApplicationEventPublisher eventPublisher,
+                        SlotImportProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.floorRepository = floorRepository;
+        this.slotRepository = slotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.availabilityIndex = availabilityIndex;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.createdRows = Counter.builder("reservation.slot.import.rows")
+                .description("Slot import rows by outcome")
+                .tag("outcome", "created")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("reservation.slot.import.rows")
+                .description("Slot import rows by outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    public SlotImportResponse importCsv(Reader body) throws IOException {
+        return run(SlotImportReader.csv(new BufferedReader(body)));
+    }
+
+    public SlotImportResponse importNdjson(Reader body) throws IOException {
+        return run(SlotImportReader.ndjson(new BufferedReader(body), objectMapper));
+    }
+
+    private SlotImportResponse run(SlotImportReader reader) throws IOException {
+        long started = System.nanoTime();
+        Import state = new Import();
+        List<PendingSlot> batch = new ArrayList<>(properties.getBatchSize());
+        SlotImportRow row;
+        while ((row = reader.next()) != null) {
+            if (!row.isValid()) {
+                state.fail(row, row.error());
+                continue;
+            }
+            Floor floor = state.floor(row.floor());
+            if (!state.slotNumbers(floor).add(row.slotNumber())) {
+                state.fail(row, conflict(row));
+                continue;
+            }
+            batch.add(new PendingSlot(row, floor));
+            if (batch.size() >= properties.getBatchSize()) {
+                insert(batch, state);
+                batch.clear();
+            }
+        }
+        insert(batch, state);
+
+        log.info("Slot import created {} slots and {} floors, {} rows failed, in {} ms",
+                state.created, state.floorsCreated, state.failed, (System.nanoTime() - started) / 1_000_000);
+        return new SlotImportResponse(state.created, state.floorsCreated, state.failed, state.failures);
+    }
+
+    private void insert(List<PendingSlot> batch, Import state) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            added(transactionTemplate.execute(status -> insertBatch(batch)), state);
+        } catch (DataIntegrityViolationException ex) {
+            // Someone else took some of these numbers since they were read; settle the batch row by row
+            log.debug("Slot import batch conflicted, inserting its {} rows one by one", batch.size());
+            for (PendingSlot slot : batch) {
+                try {
+                    added(transactionTemplate.execute(status -> insertBatch(List.of(slot))), state);
+                } catch (DataIntegrityViolationException rowEx) {
+                    state.fail(slot.row(), conflict(slot.row()));
+                }
+            }
+        }
+    }
+
+    private List<Slot> insertBatch(List<PendingSlot> batch) {
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SLOT, new String[]{"id"})) {
+                for (PendingSlot slot : batch) {
+                    insert.setLong(1, slot.floor().getId());
+                    insert.setString(2, slot.row().slotNumber());
+                    insert.setString(3, slot.row().vehicleType().name());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                List<Long> generated = new ArrayList<>(batch.size());
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        generated.add(keys.getLong(1));
+                    }
+                }
+                return generated;
+            }
+        });
+        if (ids == null || ids.size() != batch.size()) {
+            throw new IllegalStateException("Slot import expected " + batch.size() + " generated ids but got "
+                    + (ids == null ? 0 : ids.size()));
+        }
+        // Hibernate did not see these inserts, so have it invalidate the cached slot catalogue on commit
+        slotRepository.invalidateCachedSlots();
+        eventPublisher.publishEvent(new SlotsCreatedEvent(ids));
+
+        List<Slot> slots = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingSlot pending = batch.get(i);
+            Slot slot = new Slot();
+            slot.setId(ids.get(i));
+            slot.setFloor(pending.floor());
+            slot.setSlotNumber(pending.row().slotNumber());
+            slot.setVehicleType(pending.row().vehicleType());
+            slot.setVersion(0L);
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    // After commit, so availability never offers a slot that could still roll back
+    private void added(List<Slot> slots, Import state) {
+        slots.forEach(availabilityIndex::addSlot);
+        state.created += slots.size();
+        createdRows.increment(slots.size());
+    }
+
+    private static String conflict(SlotImportRow row) {
+        return String.format("Slot with number '%s' already exists on floor '%s'", row.slotNumber(), row.floor());
+    }
+
+    private record PendingSlot(SlotImportRow row, Floor floor) {
+    }
+
+    // Per-import state: floors by name and the slot numbers already taken on each floor touched so far
+    private final class Import {
+
+        private final Map<String, Floor> floors = new HashMap<>();
+        private final Map<Long, Set<String>> slotNumbers = new HashMap<>();
+        private final List<SlotImportFailure> failures = new ArrayList<>();
+        private int created;
+        private int floorsCreated;
+        private int failed;
+
+        private Import() {
+            floorRepository.findAll().forEach(floor -> floors.put(floor.getName(), floor));
+        }
+
+        Floor floor(String name) {
+            Floor floor = floors.get(name);
+            if (floor == null) {
+                floor = createFloor(name);
+                floors.put(name, floor);
+            }
+            return floor;
+        }
+
+        Set<String> slotNumbers(Floor floor) {
+            return slotNumbers.computeIfAbsent(floor.getId(),
+                    floorId -> new HashSet<>(slotRepository.findSlotNumbersByFloorId(floorId)));
+        }
+
+        void fail(SlotImportRow row, String reason) {
+            failed++;
+            failedRows.increment();
+            if (failures.size() < properties.getMaxReportedFailures()) {
+                failures.add(new SlotImportFailure(row.line(), row.floor(), row.slotNumber(), reason));
+            }
+        }
+
+        private Floor createFloor(String name) {
+            Floor floor = new Floor();
+            floor.setName(name);
+            try {
+                Floor saved = floorRepository.save(floor);
+                floorsCreated++;
+                log.info("Slot import created floor '{}' with ID: {}", name, saved.getId());
+                return saved;
+            } catch (DataIntegrityViolationException ex) {
+                // Created concurrently since the import started
+                return floorRepository.findByName(name).orElseThrow(() -> ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.parking.reservation.repository;
+
+import com.parking.reservation.entity.ArchivedReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+
+    // Set-based copy straight from the hot table; the caller deletes the same ids in the same transaction
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservations_archive"))
+    @Query(value = """
+            INSERT INTO reservations_archive
+                (id, slot_id, vehicle_number, start_time, end_time, cost, status, version, series_id, archived_at)
+            SELECT id, slot_id, vehicle_number, start_time, end_time, cost, status, version, series_id, :archivedAt
+            FROM reservations
+            WHERE id IN :ids
+            """, nativeQuery = true)
+    int copyFromReservations(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
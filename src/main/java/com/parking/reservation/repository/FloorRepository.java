@@ -5,7 +5,11 @@ import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface FloorRepository extends JpaRepository<Floor, Long> {
     boolean existsByName(@NotBlank(message = "Floor name is required") String name);
+
+    Optional<Floor> findByName(String name);
 }
@@ -4,14 +4,20 @@ import com.parking.reservation.entity.Reservation;
 import com.parking.reservation.entity.Slot;
 import com.parking.reservation.enums.ReservationStatus;
 import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.index.ReservationInterval;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,6 +30,42 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "AND r.startTime < :endTime")
     List<Reservation> findOverlapping(@Param("slotId") Long slotId, @Param("status") ReservationStatus status, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
 
+    @Query("SELECT r FROM Reservation r " +
+            "WHERE r.slot.id IN :slotIds " +
+            "AND r.status = :status " +
+            "AND r.endTime > :startTime " +
+            "AND r.startTime < :endTime")
+    List<Reservation> findOverlappingForSlots(@Param("slotIds") Collection<Long> slotIds, @Param("status") ReservationStatus status, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    List<Reservation> findBySeriesIdAndStatus(Long seriesId, ReservationStatus status);
+
+    // Bumps the version like a single cancellation, so a concurrent save of one of these rows fails its version check
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'CANCELLED', r.version = r.version + 1 " +
+            "WHERE r.seriesId = :seriesId AND r.status = 'ACTIVE'")
+    int cancelSeries(@Param("seriesId") Long seriesId);
+
+    @Query("SELECT new com.parking.reservation.index.ReservationInterval(r.id, r.slot.id, r.startTime, r.endTime) " +
+            "FROM Reservation r WHERE r.status = :status")
+    List<ReservationInterval> findIntervalsByStatus(@Param("status") ReservationStatus status);
+
+    // Cancelled reservations, and active ones that ended before the cutoff, oldest ids first
+    @Query("SELECT new com.parking.reservation.index.ReservationInterval(r.id, r.slot.id, r.startTime, r.endTime) " +
+            "FROM Reservation r " +
+            "WHERE r.status = 'CANCELLED' " +
+            "OR (r.status = 'ACTIVE' AND r.endTime < :cutoff) " +
+            "ORDER BY r.id")
+    List<ReservationInterval> findArchivable(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Without the query space Hibernate would evict every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservations"))
+    @Query(value = "DELETE FROM reservations WHERE id IN :ids", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
     @Query("""
             SELECT s FROM Slot s
             LEFT JOIN FETCH s.floor
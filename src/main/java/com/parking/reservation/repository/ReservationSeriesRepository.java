@@ -0,0 +1,9 @@
+package com.parking.reservation.repository;
+
+import com.parking.reservation.entity.ReservationSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Long> {
+}
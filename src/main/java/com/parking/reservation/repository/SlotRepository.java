@@ -2,18 +2,59 @@ package com.parking.reservation.repository;
 
 import com.parking.reservation.entity.Slot;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SlotRepository extends JpaRepository<Slot, Long> {
+public interface SlotRepository extends JpaRepository<Slot, Long>, JpaSpecificationExecutor<Slot> {
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Slot s LEFT JOIN FETCH s.floor WHERE s.id = :id")
     Optional<Slot> findByIdWithLock(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Slot s WHERE s.id IN :ids ORDER BY s.id")
+    List<Slot> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s FROM Slot s LEFT JOIN FETCH s.floor WHERE s.id = :id")
+    Optional<Slot> findByIdWithFloor(@Param("id") Long id);
+
+    // No floor fetch join: the lock mode would also apply to Floor, which is not versioned
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT s FROM Slot s WHERE s.id = :id")
+    Optional<Slot> findByIdForVersionIncrement(@Param("id") Long id);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT s FROM Slot s WHERE s.id IN :ids ORDER BY s.id")
+    List<Slot> findAllByIdForVersionIncrement(@Param("ids") Collection<Long> ids);
+
+    // The slot catalogue; cached until the next insert into slots or floors
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT s FROM Slot s LEFT JOIN FETCH s.floor")
+    List<Slot> findAllWithFloor();
+
+    @Query("SELECT s FROM Slot s LEFT JOIN FETCH s.floor WHERE s.id IN :ids")
+    List<Slot> findAllWithFloorByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.slotNumber FROM Slot s WHERE s.floor.id = :floorId")
+    List<String> findSlotNumbersByFloorId(@Param("floorId") Long floorId);
+
+    // Matches nothing; the query space makes Hibernate drop the Slot region and the cached catalogue on commit,
+    // for slots inserted with plain JDBC in the same transaction
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slots"))
+    @Query(value = "UPDATE slots SET version = version WHERE 1 = 0", nativeQuery = true)
+    void invalidateCachedSlots();
 }
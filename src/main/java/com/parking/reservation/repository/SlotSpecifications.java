@@ -0,0 +1,41 @@
+package com.parking.reservation.repository;
+
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class SlotSpecifications {
+
+    private SlotSpecifications() {
+    }
+
+    // Same filter as ReservationRepository.findAvailableSlots, for keyset scrolling through JpaSpecificationExecutor
+    public static Specification<Slot> availableFor(VehicleType vehicleType, LocalDateTime startTime, LocalDateTime endTime) {
+        return (root, query, cb) -> {
+            root.fetch("floor", JoinType.LEFT);
+
+            Subquery<Long> taken = query.subquery(Long.class);
+            Root<Reservation> reservation = taken.from(Reservation.class);
+            taken.select(reservation.get("slot").get("id"))
+                    .where(
+                            cb.equal(reservation.get("status"), ReservationStatus.ACTIVE),
+                            cb.greaterThan(reservation.get("endTime"), startTime),
+                            cb.lessThan(reservation.get("startTime"), endTime));
+
+            return cb.and(
+                    cb.equal(root.get("vehicleType"), vehicleType),
+                    cb.not(root.get("id").in(taken)));
+        };
+    }
+
+    public static Specification<Slot> onFloor(Long floorId) {
+        return (root, query, cb) -> cb.equal(root.get("floor").get("id"), floorId);
+    }
+}
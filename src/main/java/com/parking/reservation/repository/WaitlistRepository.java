@@ -0,0 +1,43 @@
+package com.parking.reservation.repository;
+
+import com.parking.reservation.entity.WaitlistEntry;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+    // Fallback for WaitlistIndex.candidates until the index is warm
+    @Query("SELECT w FROM WaitlistEntry w " +
+            "WHERE w.vehicleType = :vehicleType " +
+            "AND w.status = 'WAITING' " +
+            "AND w.startTime >= :startFrom " +
+            "AND w.startTime < :startBefore " +
+            "ORDER BY w.id")
+    List<WaitlistEntry> findWaitingStartingBetween(@Param("vehicleType") VehicleType vehicleType,
+                                                   @Param("startFrom") LocalDateTime startFrom,
+                                                   @Param("startBefore") LocalDateTime startBefore);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = 'WAITING' AND w.startTime <= :now ORDER BY w.id")
+    List<WaitlistEntry> findWaitingStartedBy(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Moves a WAITING entry to {@code status}. Returns 0 when the entry is no longer waiting, e.g. because a
+     * concurrent cancellation promoted it; the row lock taken here is what makes every entry promote at most once.
+     */
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :status, w.reservationId = :reservationId " +
+            "WHERE w.id = :id AND w.status = 'WAITING'")
+    int leaveWaiting(@Param("id") Long id, @Param("status") WaitlistStatus status, @Param("reservationId") Long reservationId);
+}
@@ -1,12 +1,21 @@
 package com.parking.reservation.service;
 
+import com.parking.reservation.dto.request.AutoReserveRequest;
+import com.parking.reservation.dto.request.BatchReserveRequest;
 import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.ReserveSeriesRequest;
+import com.parking.reservation.dto.request.WaitlistRequest;
+import com.parking.reservation.dto.response.BatchReservationResponse;
+import com.parking.reservation.dto.response.CursorPage;
 import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.ReservationSeriesResponse;
 import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.dto.response.WaitlistResponse;
 import com.parking.reservation.enums.VehicleType;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 
@@ -14,9 +23,47 @@ public interface ReservationService {
 
     ReservationResponse reserveSlot(@Valid ReserveRequest request);
 
+    // Picks a free slot of the requested type, on the preferred floor when possible, and books it
+    ReservationResponse reserveAnySlot(@Valid AutoReserveRequest request);
+
+    BatchReservationResponse reserveSlots(@Valid BatchReserveRequest request);
+
+    /**
+     * Books every occurrence of the series into its slot in one transaction under one slot lock: all of them, or
+     * none when any overlaps an active reservation. Not available with write-behind reservations.
+     */
+    ReservationSeriesResponse reserveSeries(@Valid ReserveSeriesRequest request);
+
+    /**
+     * Cancels the occurrences of the series that are still active, in one update. Waitlist entries are booked into
+     * the freed windows as on {@link #cancelReservation}.
+     */
+    void cancelSeries(Long id);
+
     ReservationResponse getReservation(Long id);
 
+    /**
+     * Cancels the reservation. Waitlist entries the freed window fits are booked into it in the same transaction,
+     * oldest first. The waitlist is not available with write-behind reservations.
+     */
     void cancelReservation(Long id);
 
+    /**
+     * Books a free matching slot right away when there is one; otherwise the entry waits (status WAITING) until a
+     * cancellation frees a slot it fits or its window starts.
+     */
+    WaitlistResponse joinWaitlist(@Valid WaitlistRequest request);
+
+    WaitlistResponse getWaitlistEntry(Long id);
+
+    void leaveWaitlist(Long id);
+
     Page<SlotResponse> getAvailableSlots(LocalDateTime startTime, LocalDateTime endTime, VehicleType vehicleType, Pageable pageable);
+
+    /**
+     * Keyset-paginated availability: returns the slots after {@code cursor} (from the start when null)
+     * without counting the total, so every page costs about the same.
+     */
+    CursorPage<SlotResponse> getAvailableSlotsAfter(LocalDateTime startTime, LocalDateTime endTime, VehicleType vehicleType,
+                                                    Sort sort, int size, String cursor);
 }
@@ -1,77 +1,478 @@
 package com.parking.reservation.service;
 
+import com.parking.reservation.cache.ReservationCache;
+import com.parking.reservation.cluster.ClusterSync;
+import com.parking.reservation.dto.request.AutoReserveRequest;
+import com.parking.reservation.dto.request.BatchReserveRequest;
 import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.ReserveSeriesRequest;
+import com.parking.reservation.dto.request.WaitlistRequest;
+import com.parking.reservation.dto.response.BatchReservationResponse;
+import com.parking.reservation.dto.response.BatchReservationResponse.BatchReservationFailure;
+import com.parking.reservation.dto.response.CursorPage;
 import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.ReservationSeriesResponse;
 import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.entity.ArchivedReservation;
 import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.ReservationSeries;
 import com.parking.reservation.entity.Slot;
+import com.parking.reservation.entity.WaitlistEntry;
 import com.parking.reservation.enums.ReservationStatus;
 import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.event.ReservationChangedEvent;
+import com.parking.reservation.event.WaitlistChangedEvent;
 import com.parking.reservation.exception.InvalidReservationException;
 import com.parking.reservation.exception.SlotNotFoundException;
 import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.index.AvailabilityIndex;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.journal.ReservationWriteBehind;
+import com.parking.reservation.locking.SlotLockStrategy;
+import com.parking.reservation.pricing.PricingEngine;
+import com.parking.reservation.repository.ArchivedReservationRepository;
 import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.repository.ReservationSeriesRepository;
 import com.parking.reservation.repository.SlotRepository;
-import com.parking.reservation.util.PricingUtil;
+import com.parking.reservation.repository.SlotSpecifications;
+import com.parking.reservation.repository.WaitlistRepository;
 import com.parking.reservation.util.SlotConstants;
+import com.parking.reservation.waitlist.WaitlistIndex;
+import com.parking.reservation.waitlist.WaitlistProperties;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+// Tagged with the method and the exception thrown ("none" on success), so the counts double as outcome counters
+@Timed(value = "reservation.operation", description = "Reservation service calls")
 public class ReservationServiceImpl implements ReservationService {
 
     private static final Pattern VEHICLE_PATTERN = Pattern.compile("^[A-Z]{2}\\d{2}[A-Z]{2}\\d{4}$");
 
+    // reserveAnySlot: free slots tried per lookup, and lookups before giving up
+    private static final int AUTO_ASSIGN_CANDIDATES = 8;
+    private static final int AUTO_ASSIGN_ROUNDS = 3;
+
+    // Conflicting occurrences named in the error of a rejected series
+    private static final int SERIES_CONFLICTS_REPORTED = 5;
+
     private final ReservationRepository reservationRepository;
     private final SlotRepository slotRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final SlotIntervalIndex slotIntervalIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final SlotLockStrategy slotLockStrategy;
+    private final PricingEngine pricingEngine;
+    private final ReservationCache reservationCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Optional<ReservationWriteBehind> writeBehind;
+    private final WaitlistRepository waitlistRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final WaitlistProperties waitlistProperties;
+    private final Optional<ClusterSync> clusterSync;
+    private final ReservationSeriesRepository seriesRepository;
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ReservationResponse reserveSlot(ReserveRequest request) {
-        log.info("Processing reservation request for slot ID: {}, vehicle: {}, time: {} to {}",
-                request.getSlotId(), request.getVehicleNumber(), request.getStartTime(), request.getEndTime());
+        if (log.isDebugEnabled()) {
+            log.debug("Processing reservation request for slot ID: {}, vehicle: {}, time: {} to {}",
+                    request.getSlotId(), request.getVehicleNumber(), request.getStartTime(), request.getEndTime());
+        }
 
         validateRequest(request);
+        return reserve(request);
+    }
 
-        Slot slot = slotRepository.findByIdWithLock(request.getSlotId())
-                .orElseThrow(() -> new SlotNotFoundException("Slot not found"));
+    private ReservationResponse reserve(ReserveRequest request) {
+        if (isWriteBehindAccepting()) {
+            return writeBehind.get().withSlot(request.getSlotId(), slot -> journalReservation(slot, request));
+        }
 
-        if (!slot.getVehicleType().equals(request.getVehicleType())) {
-            String msg = String.format("Vehicle type mismatch: slot supports %s, but %s was requested",
-                    slot.getVehicleType(), request.getVehicleType());
-            log.warn(msg);
-            throw new InvalidReservationException(msg);
+        // The lock strategy owns the transaction so that optimistic conflicts can be retried
+        return slotLockStrategy.withSlotLock(request.getSlotId(), slot -> createReservation(slot, request));
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ReservationResponse reserveAnySlot(AutoReserveRequest request) {
+        if (log.isDebugEnabled()) {
+            log.debug("Processing automatic reservation for vehicle: {}, type: {}, time: {} to {}, preferred floor: {}",
+                    request.getVehicleNumber(), request.getVehicleType(), request.getStartTime(), request.getEndTime(),
+                    request.getPreferredFloorId());
         }
 
-        List<Reservation> overlaps = reservationRepository.findOverlapping(
-                request.getSlotId(),
-                ReservationStatus.ACTIVE,
-                request.getStartTime(),
-                request.getEndTime()
-        );
+        validateRequest(request.forSlot(null));
 
-        if (!overlaps.isEmpty()) {
-            String msg = String.format("Slot ID %d is already reserved between %s and %s",
-                    request.getSlotId(), request.getStartTime(), request.getEndTime());
-            log.warn(msg);
-            throw new SlotUnavailableException(msg);
+        for (int round = 0; round < AUTO_ASSIGN_ROUNDS; round++) {
+            List<Long> candidates = findFreeSlotIds(request);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (Long slotId : candidates) {
+                try {
+                    // Decided under the slot's lock like any other reservation, so a lost race just moves on
+                    ReservationResponse response = reserve(request.forSlot(slotId));
+                    log.debug("Slot ID {} assigned to reservation ID {}", slotId, response.id());
+                    return response;
+                } catch (SlotUnavailableException ex) {
+                    log.debug("Candidate slot ID {} was taken, trying the next one", slotId);
+                }
+            }
+        }
+        throw new SlotUnavailableException(String.format("No %s slot is free between %s and %s",
+                request.getVehicleType(), request.getStartTime(), request.getEndTime()));
+    }
+
+    private List<Long> findFreeSlotIds(AutoReserveRequest request) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.findFreeSlots(request.getStartTime(), request.getEndTime(), request.getVehicleType(),
+                            request.getPreferredFloorId(), AUTO_ASSIGN_CANDIDATES).stream()
+                    .map(SlotResponse::id)
+                    .toList();
+        }
+        Specification<Slot> free = SlotSpecifications.availableFor(
+                request.getVehicleType(), request.getStartTime(), request.getEndTime());
+        Set<Long> ids = new LinkedHashSet<>();
+        if (request.getPreferredFloorId() != null) {
+            ids.addAll(findSlotIds(free.and(SlotSpecifications.onFloor(request.getPreferredFloorId()))));
         }
+        if (ids.size() < AUTO_ASSIGN_CANDIDATES) {
+            ids.addAll(findSlotIds(free));
+        }
+        return ids.stream().limit(AUTO_ASSIGN_CANDIDATES).toList();
+    }
+
+    private List<Long> findSlotIds(Specification<Slot> specification) {
+        return slotRepository.findBy(specification, query -> query.limit(AUTO_ASSIGN_CANDIDATES).all()).stream()
+                .map(Slot::getId)
+                .toList();
+    }
+
+    private ReservationResponse createReservation(Slot slot, ReserveRequest request) {
+        checkVehicleType(slot, request);
 
-        BigDecimal cost = PricingUtil.calculateCost(
+        if (isOverlapping(request.getSlotId(), request.getStartTime(), request.getEndTime())) {
+            throw slotTaken(request);
+        }
+
+        Reservation saved = reservationRepository.save(buildReservation(slot, request));
+        indexReservation(saved);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.RESERVED, saved));
+        log.debug("Reservation created successfully with ID: {}", saved.getId());
+
+        ReservationResponse response = mapToResponse(saved);
+        reservationCache.putAfterCommit(response);
+        return response;
+    }
+
+    // Journaled reservations are decided against the interval index alone, so it has to be warm
+    private boolean isWriteBehindAccepting() {
+        return writeBehind.isPresent() && writeBehind.get().isAccepting() && slotIntervalIndex.isReady();
+    }
+
+    // Acknowledged once the journal has it on disk; the database catches up in the background
+    private ReservationResponse journalReservation(Slot slot, ReserveRequest request) {
+        checkVehicleType(slot, request);
+
+        if (slotIntervalIndex.overlaps(request.getSlotId(), request.getStartTime(), request.getEndTime())) {
+            throw slotTaken(request);
+        }
+
+        Reservation reservation = buildReservation(slot, request);
+        reservation.setId(writeBehind.get().nextId());
+        writeBehind.get().journalReservation(reservation);
+        addToIndexes(reservation);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.RESERVED, reservation));
+        log.debug("Reservation journaled with ID: {}", reservation.getId());
+
+        ReservationResponse response = mapToResponse(reservation);
+        reservationCache.putAfterCommit(response);
+        return response;
+    }
+
+    private static SlotUnavailableException slotTaken(ReserveRequest request) {
+        // A conflict is an expected outcome under contention; the 409 response carries the message
+        return new SlotUnavailableException(String.format("Slot ID %d is already reserved between %s and %s",
+                request.getSlotId(), request.getStartTime(), request.getEndTime()));
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public BatchReservationResponse reserveSlots(BatchReserveRequest request) {
+        List<ReserveRequest> items = request.getReservations();
+        log.debug("Processing batch of {} reservations, allOrNothing: {}", items.size(), request.isAllOrNothing());
+
+        List<BatchReservationFailure> invalid = new ArrayList<>();
+        Map<Integer, ReserveRequest> valid = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                validateRequest(items.get(i));
+                valid.put(i, items.get(i));
+            } catch (InvalidReservationException ex) {
+                rejectBatchItem(request.isAllOrNothing(), invalid, i, items.get(i), ex);
+            }
+        }
+        if (valid.isEmpty()) {
+            return new BatchReservationResponse(List.of(), invalid);
+        }
+
+        Set<Long> slotIds = valid.values().stream()
+                .map(ReserveRequest::getSlotId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        BatchReservationResponse response = slotLockStrategy.withSlotLocks(slotIds,
+                slots -> createReservations(slots, valid, invalid, request.isAllOrNothing()));
+        log.debug("Batch processed: {} reservations created, {} failed", response.reserved().size(), response.failed().size());
+        return response;
+    }
+
+    private BatchReservationResponse createReservations(Map<Long, Slot> slots, Map<Integer, ReserveRequest> valid,
+                                                        List<BatchReservationFailure> invalid, boolean allOrNothing) {
+        List<BatchReservationFailure> failed = new ArrayList<>(invalid);
+        boolean useIndex = decidesFromIndex();
+        Map<Long, List<Reservation>> taken = useIndex ? new HashMap<>() : findOverlappingForBatch(valid.values());
+        List<Reservation> accepted = new ArrayList<>();
+
+        for (Map.Entry<Integer, ReserveRequest> entry : valid.entrySet()) {
+            ReserveRequest item = entry.getValue();
+            try {
+                Slot slot = slots.get(item.getSlotId());
+                if (slot == null) {
+                    throw new SlotNotFoundException("Slot not found");
+                }
+                checkVehicleType(slot, item);
+                List<Reservation> slotTaken = taken.computeIfAbsent(item.getSlotId(), id -> new ArrayList<>());
+                if ((useIndex && slotIntervalIndex.overlaps(item.getSlotId(), item.getStartTime(), item.getEndTime()))
+                        || overlapsAny(slotTaken, item.getStartTime(), item.getEndTime())) {
+                    throw new SlotUnavailableException(String.format("Slot ID %d is already reserved between %s and %s",
+                            item.getSlotId(), item.getStartTime(), item.getEndTime()));
+                }
+                Reservation reservation = buildReservation(slot, item);
+                slotTaken.add(reservation);
+                accepted.add(reservation);
+            } catch (SlotNotFoundException | InvalidReservationException | SlotUnavailableException ex) {
+                rejectBatchItem(allOrNothing, failed, entry.getKey(), item, ex);
+            }
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(accepted);
+        for (Reservation reservation : saved) {
+            indexReservation(reservation);
+            eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.RESERVED, reservation));
+        }
+        failed.sort(Comparator.comparingInt(BatchReservationFailure::index));
+        List<ReservationResponse> reserved = saved.stream().map(ReservationServiceImpl::mapToResponse).toList();
+        reserved.forEach(reservationCache::putAfterCommit);
+        return new BatchReservationResponse(reserved, failed);
+    }
+
+    // One set-based query covering every slot and the overall time span of the batch
+    private Map<Long, List<Reservation>> findOverlappingForBatch(Collection<ReserveRequest> items) {
+        Set<Long> slotIds = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (ReserveRequest item : items) {
+            slotIds.add(item.getSlotId());
+            from = from == null || item.getStartTime().isBefore(from) ? item.getStartTime() : from;
+            to = to == null || item.getEndTime().isAfter(to) ? item.getEndTime() : to;
+        }
+        return reservationRepository.findOverlappingForSlots(slotIds, ReservationStatus.ACTIVE, from, to).stream()
+                .collect(Collectors.groupingBy(r -> r.getSlot().getId(), HashMap::new, Collectors.toCollection(ArrayList::new)));
+    }
+
+    private static boolean overlapsAny(List<Reservation> reservations, LocalDateTime startTime, LocalDateTime endTime) {
+        for (Reservation reservation : reservations) {
+            if (reservation.getEndTime().isAfter(startTime) && reservation.getStartTime().isBefore(endTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ReservationSeriesResponse reserveSeries(ReserveSeriesRequest request) {
+        // Occurrences are inserted into the reservations table directly, which would bypass the journal
+        if (writeBehind.isPresent()) {
+            throw new InvalidReservationException("Reservation series are not available with write-behind reservations");
+        }
+        List<ReserveRequest> occurrences = request.occurrences();
+        if (occurrences.isEmpty()) {
+            throw new InvalidReservationException("The series has no occurrences");
+        }
+        occurrences.forEach(ReservationServiceImpl::validateRequest);
+        log.debug("Processing series of {} reservations for slot ID: {}", occurrences.size(), request.getSlotId());
+
+        return slotLockStrategy.withSlotLock(request.getSlotId(), slot -> createSeries(slot, occurrences));
+    }
+
+    private ReservationSeriesResponse createSeries(Slot slot, List<ReserveRequest> occurrences) {
+        ReserveRequest first = occurrences.get(0);
+        checkVehicleType(slot, first);
+
+        List<ReserveRequest> conflicts;
+        if (decidesFromIndex()) {
+            conflicts = occurrences.stream()
+                    .filter(item -> slotIntervalIndex.overlaps(slot.getId(), item.getStartTime(), item.getEndTime()))
+                    .toList();
+        } else {
+            // One range query for the whole series instead of one per occurrence
+            List<Reservation> existing = new ArrayList<>(reservationRepository.findOverlapping(slot.getId(),
+                    ReservationStatus.ACTIVE, first.getStartTime(), occurrences.get(occurrences.size() - 1).getEndTime()));
+            existing.sort(Comparator.comparing(Reservation::getStartTime));
+            conflicts = findConflicts(occurrences, existing);
+        }
+        if (!conflicts.isEmpty()) {
+            throw seriesTaken(slot.getId(), occurrences.size(), conflicts);
+        }
+
+        ReservationSeries series = seriesRepository.save(new ReservationSeries(null, slot.getId(),
+                first.getVehicleNumber(), ReservationStatus.ACTIVE, LocalDateTime.now()));
+        List<Reservation> reservations = new ArrayList<>(occurrences.size());
+        for (ReserveRequest occurrence : occurrences) {
+            Reservation reservation = buildReservation(slot, occurrence);
+            reservation.setSeriesId(series.getId());
+            reservations.add(reservation);
+        }
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        for (Reservation reservation : saved) {
+            indexReservation(reservation);
+            eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.RESERVED, reservation));
+        }
+        List<ReservationResponse> reserved = saved.stream().map(ReservationServiceImpl::mapToResponse).toList();
+        reserved.forEach(reservationCache::putAfterCommit);
+        log.debug("Series ID {} created with {} reservations", series.getId(), reserved.size());
+        return new ReservationSeriesResponse(series.getId(), slot.getId(), series.getVehicleNumber(),
+                series.getStatus(), reserved);
+    }
+
+    /**
+     * Sweep over both lists in start time order: every existing reservation that starts before an occurrence ends
+     * is passed once, keeping the latest end seen, and the occurrence conflicts if that end is after its start.
+     * The occurrences of a series all last the same, so their ends are in start order as well.
+     */
+    private static List<ReserveRequest> findConflicts(List<ReserveRequest> occurrences, List<Reservation> existing) {
+        List<ReserveRequest> conflicts = new ArrayList<>();
+        int next = 0;
+        LocalDateTime latestEnd = null;
+        for (ReserveRequest occurrence : occurrences) {
+            while (next < existing.size() && existing.get(next).getStartTime().isBefore(occurrence.getEndTime())) {
+                LocalDateTime end = existing.get(next++).getEndTime();
+                latestEnd = latestEnd == null || end.isAfter(latestEnd) ? end : latestEnd;
+            }
+            if (latestEnd != null && latestEnd.isAfter(occurrence.getStartTime())) {
+                conflicts.add(occurrence);
+            }
+        }
+        return conflicts;
+    }
+
+    private static SlotUnavailableException seriesTaken(Long slotId, int occurrences, List<ReserveRequest> conflicts) {
+        String starts = conflicts.stream()
+                .limit(SERIES_CONFLICTS_REPORTED)
+                .map(conflict -> conflict.getStartTime().toString())
+                .collect(Collectors.joining(", "));
+        return new SlotUnavailableException(String.format("Slot ID %d is already reserved for %d of the %d occurrences: %s%s",
+                slotId, conflicts.size(), occurrences, starts, conflicts.size() > SERIES_CONFLICTS_REPORTED ? ", ..." : ""));
+    }
+
+    @Override
+    public void cancelSeries(Long id) {
+        log.debug("Cancelling reservation series with ID: {}", id);
+        ReservationSeries series = seriesRepository.findById(id)
+                .orElseThrow(() -> new InvalidReservationException("Reservation series not found"));
+        if (series.getStatus() == ReservationStatus.CANCELLED) {
+            return;
+        }
+
+        // Under the slot lock like a cancellation with waiters, so the freed windows can go to them in this transaction
+        slotLockStrategy.withSlotLock(series.getSlotId(), slot -> {
+            List<Reservation> active = reservationRepository.findBySeriesIdAndStatus(id, ReservationStatus.ACTIVE);
+            Map<Reservation, List<WaitlistResponse>> waiting = new LinkedHashMap<>();
+            active.forEach(reservation -> waiting.put(reservation, findWaitingFor(reservation)));
+
+            // One statement instead of a versioned save per occurrence; the loaded entities are left untouched
+            if (reservationRepository.cancelSeries(id) != active.size()) {
+                throw new SlotUnavailableException(String.format(
+                        "Reservation series ID %d changed while it was being cancelled, please retry", id));
+            }
+            series.setStatus(ReservationStatus.CANCELLED);
+            seriesRepository.save(series);
+
+            waiting.forEach((reservation, entries) -> {
+                reservationCache.evictAfterCommit(reservation.getId());
+                eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.CANCELLED, reservation));
+                unindexBeforeCommit(reservation);
+                for (WaitlistResponse entry : entries) {
+                    promote(slot, entry);
+                }
+            });
+            return null;
+        });
+    }
+
+    private static void rejectBatchItem(boolean allOrNothing, List<BatchReservationFailure> failed,
+                                        int index, ReserveRequest item, RuntimeException ex) {
+        if (!allOrNothing) {
+            failed.add(new BatchReservationFailure(index, item.getSlotId(), ex.getMessage()));
+            return;
+        }
+        String message = "Reservation #" + index + ": " + ex.getMessage();
+        if (ex instanceof SlotUnavailableException) {
+            throw new SlotUnavailableException(message);
+        }
+        if (ex instanceof SlotNotFoundException) {
+            throw new SlotNotFoundException(message);
+        }
+        throw new InvalidReservationException(message);
+    }
+
+    private void checkVehicleType(Slot slot, ReserveRequest request) {
+        if (!slot.getVehicleType().equals(request.getVehicleType())) {
+            throw new InvalidReservationException(String.format("Vehicle type mismatch: slot supports %s, but %s was requested",
+                    slot.getVehicleType(), request.getVehicleType()));
+        }
+    }
+
+    private Reservation buildReservation(Slot slot, ReserveRequest request) {
+        BigDecimal cost = pricingEngine.calculateCost(
                 request.getVehicleType(),
+                slot.getFloor().getId(),
                 request.getStartTime(),
                 request.getEndTime()
         );
@@ -83,14 +484,47 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setEndTime(request.getEndTime());
         reservation.setCost(cost);
         reservation.setStatus(ReservationStatus.ACTIVE);
+        return reservation;
+    }
+
+    // Other nodes book the same slots, so in a cluster only the database is sure to know every reservation
+    private boolean decidesFromIndex() {
+        return slotIntervalIndex.isReady() && clusterSync.isEmpty();
+    }
+
+    private boolean isOverlapping(Long slotId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (decidesFromIndex()) {
+            return slotIntervalIndex.overlaps(slotId, startTime, endTime);
+        }
+        return !reservationRepository.findOverlapping(slotId, ReservationStatus.ACTIVE, startTime, endTime).isEmpty();
+    }
 
-        Reservation saved = reservationRepository.save(reservation);
-        log.info("Reservation created successfully with ID: {}", saved.getId());
+    // Indexed before commit so the next holder of the slot lock already sees it; undone if the transaction rolls back
+    private void indexReservation(Reservation reservation) {
+        addToIndexes(reservation);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    unindexReservation(reservation);
+                }
+            }
+        });
+    }
 
-        return mapToResponse(saved);
+    private void addToIndexes(Reservation reservation) {
+        Long slotId = reservation.getSlot().getId();
+        slotIntervalIndex.add(slotId, reservation.getId(), reservation.getStartTime(), reservation.getEndTime());
+        availabilityIndex.markReserved(slotId, reservation.getStartTime(), reservation.getEndTime());
     }
 
-    private void validateRequest(ReserveRequest req) {
+    private void unindexReservation(Reservation reservation) {
+        Long slotId = reservation.getSlot().getId();
+        slotIntervalIndex.remove(slotId, reservation.getId());
+        availabilityIndex.markReleased(slotId, reservation.getStartTime(), reservation.getEndTime());
+    }
+
+    static void validateRequest(ReserveRequest req) {
         if (req.getStartTime() == null || req.getEndTime() == null) {
             throw new InvalidReservationException("Start and end time are required");
         }
@@ -105,7 +539,7 @@ public class ReservationServiceImpl implements ReservationService {
         }
     }
 
-    private ReservationResponse mapToResponse(Reservation reservation) {
+    static ReservationResponse mapToResponse(Reservation reservation) {
         return new ReservationResponse(
                 reservation.getId(),
                 reservation.getSlot().getId(),
@@ -117,21 +551,188 @@ public class ReservationServiceImpl implements ReservationService {
         );
     }
 
+    static WaitlistResponse mapToResponse(WaitlistEntry entry) {
+        return WaitlistChangedEvent.of(entry).entry();
+    }
+
+    static ReservationResponse mapToResponse(ArchivedReservation reservation) {
+        return new ReservationResponse(
+                reservation.getId(),
+                reservation.getSlotId(),
+                reservation.getVehicleNumber(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getCost(),
+                reservation.getStatus()
+        );
+    }
+
+    // No transaction of its own: cache hits should not take a connection, and a miss only needs the slot id
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public ReservationResponse getReservation(Long id) {
-        log.info("Fetching reservation with ID: {}", id);
-        Reservation reservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new InvalidReservationException("Reservation not found"));
-        return mapToResponse(reservation);
+        log.debug("Fetching reservation with ID: {}", id);
+        return reservationCache.get(id, key -> writeBehind.flatMap(pending -> pending.findPending(key))
+                .or(() -> reservationRepository.findById(key))
+                .map(ReservationServiceImpl::mapToResponse)
+                .or(() -> archivedReservationRepository.findById(key).map(ReservationServiceImpl::mapToResponse))
+                .orElseThrow(() -> new InvalidReservationException("Reservation not found")));
     }
 
     @Override
     public void cancelReservation(Long id) {
-        log.info("Cancelling reservation with ID: {}", id);
+        log.debug("Cancelling reservation with ID: {}", id);
+        if (writeBehind.isPresent() && (writeBehind.get().isAccepting() || writeBehind.get().isPending(id))) {
+            cancelJournaled(writeBehind.get(), id);
+            return;
+        }
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new InvalidReservationException("Reservation not found"));
+        List<WaitlistResponse> waiting = findWaitingFor(reservation);
+        if (waiting.isEmpty()) {
+            markCancelled(reservation);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unindexReservation(reservation);
+                }
+            });
+            return;
+        }
+
+        // The freed window goes straight to waiters: under the slot lock, in this transaction, oldest entry first
+        slotLockStrategy.withSlotLock(reservation.getSlot().getId(), slot -> {
+            markCancelled(reservation);
+            unindexBeforeCommit(reservation);
+            for (WaitlistResponse entry : waiting) {
+                promote(slot, entry);
+            }
+            return null;
+        });
+    }
+
+    private void markCancelled(Reservation reservation) {
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        reservationCache.evictAfterCommit(reservation.getId());
+        eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.CANCELLED, reservation));
+    }
+
+    private List<WaitlistResponse> findWaitingFor(Reservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.ACTIVE || writeBehind.isPresent()) {
+            return List.of();
+        }
+        Slot slot = reservation.getSlot();
+        return waitlistIndex.candidates(slot.getVehicleType(), slot.getFloor().getId(), reservation.getStartTime(),
+                reservation.getEndTime(), waitlistProperties.getMaxCandidates());
+    }
+
+    // Released before commit so a waiter can take the window under the same lock; put back if the transaction rolls back
+    private void unindexBeforeCommit(Reservation reservation) {
+        unindexReservation(reservation);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    addToIndexes(reservation);
+                }
+            }
+        });
+    }
+
+    /**
+     * Books the waitlist entry into the locked slot if it fits there. Returns null when it does not, or when the
+     * entry stopped waiting in the meantime: the conditional update lets only one transaction promote an entry.
+     */
+    private ReservationResponse promote(Slot slot, WaitlistResponse entry) {
+        if (slot.getVehicleType() != entry.vehicleType()
+                || (entry.floorId() != null && !entry.floorId().equals(slot.getFloor().getId()))
+                || isOverlapping(slot.getId(), entry.startTime(), entry.endTime())) {
+            return null;
+        }
+        ReserveRequest request = new ReserveRequest(slot.getId(), entry.vehicleNumber(), entry.startTime(),
+                entry.endTime(), entry.vehicleType());
+        Reservation saved = reservationRepository.save(buildReservation(slot, request));
+        if (waitlistRepository.leaveWaiting(entry.id(), WaitlistStatus.PROMOTED, saved.getId()) == 0) {
+            // Not flushed yet, so this cancels the insert
+            reservationRepository.delete(saved);
+            return null;
+        }
+        indexReservation(saved);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.RESERVED, saved));
+        eventPublisher.publishEvent(new WaitlistChangedEvent(entry.withStatus(WaitlistStatus.PROMOTED, saved.getId())));
+        log.debug("Waitlist entry {} promoted to reservation ID {}", entry.id(), saved.getId());
+
+        ReservationResponse response = mapToResponse(saved);
+        reservationCache.putAfterCommit(response);
+        return response;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public WaitlistResponse joinWaitlist(WaitlistRequest request) {
+        // Promotions write the reservations table directly, which would bypass the journal
+        if (writeBehind.isPresent()) {
+            throw new InvalidReservationException("The waitlist is not available with write-behind reservations");
+        }
+        validateRequest(request.forSlot(null));
+
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(null, request.getVehicleType(), request.getFloorId(),
+                request.getVehicleNumber(), request.getStartTime(), request.getEndTime(), WaitlistStatus.WAITING, null,
+                LocalDateTime.now()));
+        WaitlistResponse waiting = mapToResponse(entry);
+        // No transaction here, so the index has the entry before the free slots are looked up below
+        eventPublisher.publishEvent(new WaitlistChangedEvent(waiting));
+
+        // A slot may be free already, or have been freed before the index had the entry
+        AutoReserveRequest lookup = new AutoReserveRequest(request.getVehicleNumber(), request.getStartTime(),
+                request.getEndTime(), request.getVehicleType(), request.getFloorId());
+        for (Long slotId : findFreeSlotIds(lookup)) {
+            ReservationResponse reservation = slotLockStrategy.withSlotLock(slotId, slot -> promote(slot, waiting));
+            if (reservation != null) {
+                return waiting.withStatus(WaitlistStatus.PROMOTED, reservation.id());
+            }
+        }
+        return waiting;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public WaitlistResponse getWaitlistEntry(Long id) {
+        return waitlistRepository.findById(id)
+                .map(ReservationServiceImpl::mapToResponse)
+                .orElseThrow(() -> new InvalidReservationException("Waitlist entry not found"));
+    }
+
+    @Override
+    public void leaveWaitlist(Long id) {
+        WaitlistResponse entry = getWaitlistEntry(id);
+        if (waitlistRepository.leaveWaiting(id, WaitlistStatus.LEFT, null) == 0) {
+            throw new InvalidReservationException("Waitlist entry is no longer waiting");
+        }
+        eventPublisher.publishEvent(new WaitlistChangedEvent(entry.withStatus(WaitlistStatus.LEFT, null)));
+    }
+
+    // Under the slot's stripe, so two cancellations of the same reservation cannot both be journaled
+    private void cancelJournaled(ReservationWriteBehind writeBehind, Long id) {
+        Long slotId = findForCancel(writeBehind, id).getSlot().getId();
+        writeBehind.withSlot(slotId, slot -> {
+            Reservation reservation = findForCancel(writeBehind, id);
+            if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+                return null;
+            }
+            writeBehind.journalCancellation(reservation);
+            unindexReservation(reservation);
+            reservationCache.evictAfterCommit(id);
+            eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Change.CANCELLED, reservation));
+            return null;
+        });
+    }
+
+    private Reservation findForCancel(ReservationWriteBehind writeBehind, Long id) {
+        return writeBehind.findPending(id)
+                .or(() -> reservationRepository.findById(id))
+                .orElseThrow(() -> new InvalidReservationException("Reservation not found"));
     }
 
     @Override
@@ -141,17 +742,69 @@ public class ReservationServiceImpl implements ReservationService {
             VehicleType vehicleType,
             Pageable pageable) {
 
-        log.info("Fetching available slots for vehicle type: {}, time range: {} to {}, page: {}",
-                vehicleType, startTime, endTime, pageable);
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching available slots for vehicle type: {}, time range: {} to {}, page: {}",
+                    vehicleType, startTime, endTime, pageable);
+        }
+
+        validateAvailabilityQuery(startTime, endTime, pageable.getSort());
 
-        if (pageable.getSort().isSorted()) {
-            for (Sort.Order order : pageable.getSort()) {
-                String property = order.getProperty();
-                if (!SlotConstants.ALLOWED_SORT_PROPERTIES.contains(property)) {
-                    throw new InvalidReservationException(
-                            "Sorting by '" + property + "' is not allowed. Allowed: " +
-                                    SlotConstants.ALLOWED_SORT_PROPERTIES);
-                }
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.findAvailableSlots(startTime, endTime, vehicleType, pageable);
+        }
+
+        Page<Slot> availableSlots = reservationRepository.findAvailableSlots(startTime, endTime, vehicleType, pageable);
+
+       return availableSlots.map(ReservationServiceImpl::mapToSlotResponse);
+    }
+
+    @Override
+    public CursorPage<SlotResponse> getAvailableSlotsAfter(
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            VehicleType vehicleType,
+            Sort sort,
+            int size,
+            String cursor) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Scrolling available slots for vehicle type: {}, time range: {} to {}, sort: {}, size: {}",
+                    vehicleType, startTime, endTime, sort, size);
+        }
+
+        validateAvailabilityQuery(startTime, endTime, sort);
+        if (size < 1) {
+            throw new InvalidReservationException("Page size must be at least 1");
+        }
+        SlotCursor after = cursor == null || cursor.isBlank() ? null : SlotCursor.decode(cursor, sort);
+
+        List<SlotResponse> content;
+        boolean hasNext;
+        if (availabilityIndex.isReady()) {
+            // One extra slot tells whether there is a next page
+            content = availabilityIndex.findAvailableSlotsAfter(startTime, endTime, vehicleType, sort,
+                    after == null ? null : after.toSlotResponse(), size + 1);
+            hasNext = content.size() > size;
+            content = hasNext ? content.subList(0, size) : content;
+        } else {
+            ScrollPosition position = after == null ? ScrollPosition.keyset() : ScrollPosition.forward(after.keys(sort));
+            Window<Slot> window = slotRepository.findBy(SlotSpecifications.availableFor(vehicleType, startTime, endTime),
+                    query -> query.sortBy(sort).limit(size).scroll(position));
+            content = window.getContent().stream().map(ReservationServiceImpl::mapToSlotResponse).toList();
+            hasNext = window.hasNext();
+        }
+
+        String nextCursor = hasNext ? SlotCursor.after(content.get(content.size() - 1), sort).encode() : null;
+        return new CursorPage<>(List.copyOf(content), size, hasNext, nextCursor);
+    }
+
+    private static void validateAvailabilityQuery(LocalDateTime startTime, LocalDateTime endTime, Sort sort) {
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!SlotConstants.ALLOWED_SORT_PROPERTIES.contains(property)) {
+                throw new InvalidReservationException(
+                        "Sorting by '" + property + "' is not allowed. Allowed: " +
+                                SlotConstants.ALLOWED_SORT_PROPERTIES);
             }
         }
 
@@ -161,13 +814,9 @@ public class ReservationServiceImpl implements ReservationService {
         if (Duration.between(startTime, endTime).toHours() > 24) {
             throw new InvalidReservationException("Time range cannot exceed 24 hours");
         }
-
-        Page<Slot> availableSlots = reservationRepository.findAvailableSlots(startTime, endTime, vehicleType, pageable);
-
-       return availableSlots.map(this::mapToSlotResponse);
     }
 
-    private SlotResponse mapToSlotResponse(Slot slot) {
+    static SlotResponse mapToSlotResponse(Slot slot) {
         return new SlotResponse(
                 slot.getId(),
                 slot.getSlotNumber(),
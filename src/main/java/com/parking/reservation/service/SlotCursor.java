@@ -0,0 +1,80 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.InvalidReservationException;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Continuation token of the keyset availability listing: the sort keys of the last slot returned,
+ * plus the sort they belong to so a token cannot be replayed against a different ordering.
+ */
+record SlotCursor(String sort, Long id, String slotNumber, String vehicleType, String floorName) {
+
+    private static final byte VERSION = 1;
+
+    static SlotCursor after(SlotResponse slot, Sort sort) {
+        return new SlotCursor(sort.toString(), slot.id(), slot.slotNumber(), slot.vehicleType(), slot.floorName());
+    }
+
+    // Stand-in for the last slot seen, carrying just the fields the sort comparators read
+    SlotResponse toSlotResponse() {
+        return new SlotResponse(id, slotNumber, vehicleType, null, floorName);
+    }
+
+    // Keys for a Spring Data keyset scroll position: every sort property plus the id tie-breaker
+    Map<String, Object> keys(Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            keys.put(property, switch (property) {
+                case "slotNumber" -> slotNumber;
+                case "vehicleType" -> VehicleType.valueOf(vehicleType);
+                case "floor.name" -> floorName;
+                default -> throw new InvalidReservationException("Sorting by '" + property + "' is not allowed");
+            });
+        }
+        keys.put("id", id);
+        return keys;
+    }
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(sort);
+            out.writeLong(id);
+            out.writeUTF(slotNumber);
+            out.writeUTF(vehicleType);
+            out.writeUTF(floorName);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static SlotCursor decode(String token, Sort sort) {
+        SlotCursor cursor;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new InvalidReservationException("Unsupported cursor");
+            }
+            cursor = new SlotCursor(in.readUTF(), in.readLong(), in.readUTF(), in.readUTF(), in.readUTF());
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new InvalidReservationException("Malformed cursor");
+        }
+        if (!cursor.sort().equals(sort.toString())) {
+            throw new InvalidReservationException("Cursor was issued for a different sort order");
+        }
+        return cursor;
+    }
+}
@@ -4,6 +4,10 @@ import com.parking.reservation.dto.request.CreateSlotRequest;
 import com.parking.reservation.dto.response.SlotResponse;
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 public interface SlotService {
     SlotResponse createSlot(@Valid CreateSlotRequest request);
+
+    List<SlotResponse> getSlots();
 }
@@ -4,15 +4,21 @@ import com.parking.reservation.dto.request.CreateSlotRequest;
 import com.parking.reservation.dto.response.SlotResponse;
 import com.parking.reservation.entity.Floor;
 import com.parking.reservation.entity.Slot;
+import com.parking.reservation.event.SlotsCreatedEvent;
 import com.parking.reservation.exception.AlreadyExistsException;
 import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.index.AvailabilityIndex;
 import com.parking.reservation.repository.FloorRepository;
 import com.parking.reservation.repository.SlotRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -20,6 +26,8 @@ public class SlotServiceImpl implements SlotService {
 
     private final SlotRepository slotRepository;
     private final FloorRepository floorRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SlotResponse createSlot(CreateSlotRequest request) {
@@ -39,6 +47,8 @@ public class SlotServiceImpl implements SlotService {
 
         try {
             Slot savedSlot = slotRepository.save(slot);
+            availabilityIndex.addSlot(savedSlot);
+            eventPublisher.publishEvent(new SlotsCreatedEvent(List.of(savedSlot.getId())));
             log.info("Slot created successfully with ID: {}", savedSlot.getId());
             return mapToResponse(savedSlot);
         } catch (DataIntegrityViolationException ex) {
@@ -49,6 +59,15 @@ public class SlotServiceImpl implements SlotService {
         }
     }
 
+    // Served from the query cache and the Slot and Floor regions until a slot or floor is created
+    @Override
+    public List<SlotResponse> getSlots() {
+        return slotRepository.findAllWithFloor().stream()
+                .map(this::mapToResponse)
+                .sorted(Comparator.comparing(SlotResponse::id))
+                .toList();
+    }
+
     private SlotResponse mapToResponse(Slot slot) {
         return new SlotResponse(
                 slot.getId(),
@@ -0,0 +1,145 @@
+package com.parking.reservation.stream;
+
+import com.parking.reservation.dto.response.SlotOccupancyChange;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.event.ReservationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed reservation changes out to server-sent event subscribers. The committing thread only
+ * offers to each subscriber's bounded queue; a small shared pool does the writing, so a slow client
+ * costs at most its own queue and never holds up bookings or other clients.
+ */
+@Slf4j
+public class AvailabilityStream {
+
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    private final AvailabilityStreamProperties properties;
+    private final Set<AvailabilitySubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter resyncs;
+
+    public AvailabilityStream(AvailabilityStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "availability-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = properties.getHeartbeat().toMillis();
+        heartbeat.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("reservation.stream.subscribers", subscribers, Set::size)
+                .description("Open availability streams")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("reservation.stream.resyncs")
+                .description("Subscribers that fell behind and were told to reload availability")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(VehicleType vehicleType, Long floorId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        AvailabilitySubscriber subscriber = new AvailabilitySubscriber(emitter, vehicleType, floorId,
+                properties.getQueueCapacity());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // The first heartbeat flushes the response headers, so the client knows it is connected
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        SlotOccupancyChange change = new SlotOccupancyChange(
+                event.change() == ReservationChangedEvent.Change.RESERVED ? "OCCUPIED" : "RELEASED",
+                event.slotId(),
+                event.floorId(),
+                event.vehicleType().name(),
+                event.startTime(),
+                event.endTime()
+        );
+        for (AvailabilitySubscriber subscriber : subscribers) {
+            if (!subscriber.matches(event.vehicleType(), event.floorId())) {
+                continue;
+            }
+            if (!subscriber.queue.offer(change)) {
+                subscriber.overflowed.set(true);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void heartbeat() {
+        for (AvailabilitySubscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(AvailabilitySubscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Writes a bounded number of events, then yields the thread so one busy subscriber cannot starve the others
+    private void drain(AvailabilitySubscriber subscriber) {
+        try {
+            if (subscriber.overflowed.getAndSet(false)) {
+                subscriber.queue.clear();
+                resyncs.increment();
+                subscriber.emitter.send(SseEmitter.event().name("resync").data("Changes were dropped, reload availability"));
+            }
+            if (subscriber.heartbeatDue.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            SlotOccupancyChange change;
+            for (int sent = 0; sent < MAX_EVENTS_PER_DRAIN && (change = subscriber.queue.poll()) != null; sent++) {
+                subscriber.emitter.send(SseEmitter.event().name("occupancy").data(change));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping availability subscriber: {}", ex.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscriber.hasWork() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+}
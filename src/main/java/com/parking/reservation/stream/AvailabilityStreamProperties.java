@@ -0,0 +1,23 @@
+package com.parking.reservation.stream;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.stream")
+public class AvailabilityStreamProperties {
+
+    // Changes buffered per subscriber; a subscriber that falls further behind is told to resync instead
+    private int queueCapacity = 256;
+
+    // Clients are expected to reconnect when the stream ends
+    private Duration timeout = Duration.ofMinutes(30);
+
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    private int senderThreads = 4;
+}
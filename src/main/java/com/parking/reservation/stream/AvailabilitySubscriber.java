@@ -0,0 +1,39 @@
+package com.parking.reservation.stream;
+
+import com.parking.reservation.dto.response.SlotOccupancyChange;
+import com.parking.reservation.enums.VehicleType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open stream. Changes are buffered in a bounded queue and written by at most one sender thread at a time.
+ */
+final class AvailabilitySubscriber {
+
+    final SseEmitter emitter;
+    final Queue<SlotOccupancyChange> queue;
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    final AtomicBoolean overflowed = new AtomicBoolean();
+    final AtomicBoolean heartbeatDue = new AtomicBoolean(true);
+
+    private final VehicleType vehicleType;
+    private final Long floorId;
+
+    AvailabilitySubscriber(SseEmitter emitter, VehicleType vehicleType, Long floorId, int queueCapacity) {
+        this.emitter = emitter;
+        this.vehicleType = vehicleType;
+        this.floorId = floorId;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    boolean matches(VehicleType type, Long floor) {
+        return (vehicleType == null || vehicleType == type) && (floorId == null || floorId.equals(floor));
+    }
+
+    boolean hasWork() {
+        return !queue.isEmpty() || overflowed.get() || heartbeatDue.get();
+    }
+}
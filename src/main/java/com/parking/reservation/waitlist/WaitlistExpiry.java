@@ -0,0 +1,68 @@
+package com.parking.reservation.waitlist;
+
+import com.parking.reservation.entity.WaitlistEntry;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.event.WaitlistChangedEvent;
+import com.parking.reservation.repository.WaitlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Expires waitlist entries whose window has started: a slot freed after that could no longer be booked for them.
+ */
+@Slf4j
+public class WaitlistExpiry {
+
+    private final WaitlistRepository waitlistRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WaitlistProperties properties;
+
+    public WaitlistExpiry(WaitlistRepository waitlistRepository, TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher, WaitlistProperties properties) {
+        this.waitlistRepository = waitlistRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${reservation.waitlist.expiry-interval:PT1M}",
+            fixedDelayString = "${reservation.waitlist.expiry-interval:PT1M}")
+    public void expireScheduled() {
+        expire(LocalDateTime.now());
+    }
+
+    // Returns the number of entries expired
+    public int expire(LocalDateTime now) {
+        int total = 0;
+        List<WaitlistEntry> due;
+        while (!(due = waitlistRepository.findWaitingStartedBy(now, PageRequest.of(0, properties.getExpiryBatchSize()))).isEmpty()) {
+            total += expireBatch(due);
+        }
+        if (total > 0) {
+            log.info("Expired {} waitlist entries whose window started before {}", total, now);
+        }
+        return total;
+    }
+
+    // Entries promoted or left concurrently are skipped; each one is read again by the next batch query otherwise
+    private int expireBatch(List<WaitlistEntry> due) {
+        return transactionTemplate.execute(status -> {
+            int expired = 0;
+            for (WaitlistEntry entry : due) {
+                if (waitlistRepository.leaveWaiting(entry.getId(), WaitlistStatus.EXPIRED, null) == 1) {
+                    entry.setStatus(WaitlistStatus.EXPIRED);
+                    eventPublisher.publishEvent(WaitlistChangedEvent.of(entry));
+                    expired++;
+                }
+            }
+            return expired;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.parking.reservation.waitlist;
+
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.entity.WaitlistEntry;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.event.WaitlistChangedEvent;
+import com.parking.reservation.index.IndexWarmUpOrder;
+import com.parking.reservation.repository.WaitlistRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory copy of the WAITING waitlist entries, sorted by window start per vehicle type, so a cancellation finds
+ * the waiters it could serve with one range lookup instead of scanning them all. Kept current from committed
+ * {@link WaitlistChangedEvent}s; until the warm-up has finished, lookups go to the database.
+ */
+@Slf4j
+public class WaitlistIndex {
+
+    // Longer than any window ReservationServiceImpl accepts (it only rejects whole hours above 24, so up to 24h59m):
+    // an entry starting earlier than this ends before the freed window
+    private static final Duration MAX_WINDOW = Duration.ofHours(25);
+
+    private static final Comparator<WaitlistResponse> BY_START =
+            Comparator.comparing(WaitlistResponse::startTime).thenComparing(WaitlistResponse::id);
+
+    private final WaitlistRepository waitlistRepository;
+    private final Map<VehicleType, NavigableSet<WaitlistResponse>> waiting = new EnumMap<>(VehicleType.class);
+    private final Map<Long, WaitlistResponse> byId = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public WaitlistIndex(WaitlistRepository waitlistRepository, MeterRegistry meterRegistry) {
+        this.waitlistRepository = waitlistRepository;
+        for (VehicleType vehicleType : VehicleType.values()) {
+            waiting.put(vehicleType, new ConcurrentSkipListSet<>(BY_START));
+        }
+        Gauge.builder("reservation.waitlist.waiting", byId, Map::size)
+                .description("Waitlist entries waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(IndexWarmUpOrder.WAITLIST)
+    public void warmUp() {
+        List<WaitlistEntry> entries = waitlistRepository.findByStatus(WaitlistStatus.WAITING);
+        for (WaitlistEntry entry : entries) {
+            if (!removedDuringWarmUp.contains(entry.getId())) {
+                add(WaitlistChangedEvent.of(entry).entry());
+            }
+        }
+        ready = true;
+        removedDuringWarmUp.clear();
+        log.info("Waitlist index warmed with {} waiting entries", entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaitlistChanged(WaitlistChangedEvent event) {
+        if (event.entry().status() == WaitlistStatus.WAITING) {
+            add(event.entry());
+        } else {
+            remove(event.entry().id());
+        }
+    }
+
+    /**
+     * Waiting entries of {@code vehicleType} whose window overlaps the freed one and that accept {@code floorId},
+     * oldest first. Whether an entry really fits the slot is up to the caller.
+     */
+    public List<WaitlistResponse> candidates(VehicleType vehicleType, Long floorId, LocalDateTime freedStart,
+                                             LocalDateTime freedEnd, int limit) {
+        LocalDateTime startFrom = freedStart.minus(MAX_WINDOW);
+        Collection<WaitlistResponse> startingInRange = ready
+                ? waiting.get(vehicleType).subSet(probe(startFrom), true, probe(freedEnd), false)
+                : waitlistRepository.findWaitingStartingBetween(vehicleType, startFrom, freedEnd).stream()
+                        .map(entry -> WaitlistChangedEvent.of(entry).entry())
+                        .toList();
+        return startingInRange.stream()
+                .filter(entry -> entry.endTime().isAfter(freedStart))
+                .filter(entry -> entry.floorId() == null || entry.floorId().equals(floorId))
+                .sorted(Comparator.comparing(WaitlistResponse::id))
+                .limit(limit)
+                .toList();
+    }
+
+    private void add(WaitlistResponse entry) {
+        if (byId.putIfAbsent(entry.id(), entry) == null) {
+            waiting.get(entry.vehicleType()).add(entry);
+        }
+    }
+
+    private void remove(Long id) {
+        if (!ready) {
+            removedDuringWarmUp.add(id);
+        }
+        WaitlistResponse removed = byId.remove(id);
+        if (removed != null) {
+            waiting.get(removed.vehicleType()).remove(removed);
+        }
+    }
+
+    // Sorts before every entry starting at startTime
+    private static WaitlistResponse probe(LocalDateTime startTime) {
+        return new WaitlistResponse(Long.MIN_VALUE, null, null, null, startTime, null, null, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.parking.reservation.waitlist;
+
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.event.WaitlistChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Tells clients waiting on /v1/api/waitlist/{id}/events when their entry leaves WAITING: one event named after the
+ * new status ("promoted", "expired" or "left") carrying the entry, then the stream ends. Sending happens on its own
+ * thread after commit, so a slow client never holds up the cancellation that promoted it.
+ */
+@Slf4j
+public class WaitlistNotifier {
+
+    // Only ever changed inside compute/remove on the map, so the sets themselves need no locking
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final long timeoutMillis;
+
+    public WaitlistNotifier(WaitlistProperties properties) {
+        this.timeoutMillis = properties.getStreamTimeout().toMillis();
+        this.sender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param current loads the entry; read after subscribing, so a change committed in between is not missed
+     */
+    public SseEmitter subscribe(Long entryId, Supplier<WaitlistResponse> current) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> unsubscribe(entryId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unsubscribe(entryId, emitter));
+        subscribers.compute(entryId, (id, emitters) -> {
+            Set<SseEmitter> updated = emitters == null ? new HashSet<>() : emitters;
+            updated.add(emitter);
+            return updated;
+        });
+
+        WaitlistResponse entry = current.get();
+        if (entry.status() != WaitlistStatus.WAITING) {
+            deliver(entry);
+        } else {
+            // Flushes the response headers, so the client knows it is connected
+            sender.execute(() -> send(emitter, SseEmitter.event().comment("waiting")));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaitlistChanged(WaitlistChangedEvent event) {
+        if (event.entry().status() != WaitlistStatus.WAITING) {
+            deliver(event.entry());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    // Whoever removes the set sends, so every subscriber gets the final status exactly once
+    private void deliver(WaitlistResponse entry) {
+        Set<SseEmitter> emitters = subscribers.remove(entry.id());
+        if (emitters == null) {
+            return;
+        }
+        String name = entry.status().name().toLowerCase(Locale.ROOT);
+        sender.execute(() -> emitters.forEach(emitter -> {
+            if (send(emitter, SseEmitter.event().name(name).data(entry))) {
+                emitter.complete();
+            }
+        }));
+    }
+
+    private void unsubscribe(Long entryId, SseEmitter emitter) {
+        subscribers.computeIfPresent(entryId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping waitlist subscriber: {}", ex.getMessage());
+            emitter.completeWithError(ex);
+            return false;
+        }
+    }
+}
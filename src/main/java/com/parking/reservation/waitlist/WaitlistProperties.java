@@ -0,0 +1,24 @@
+package com.parking.reservation.waitlist;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.waitlist")
+public class WaitlistProperties {
+
+    // Matching waiters tried, oldest first, for the slot a cancellation freed
+    private int maxCandidates = 16;
+
+    // How often entries whose window has started are expired
+    private Duration expiryInterval = Duration.ofMinutes(1);
+
+    private int expiryBatchSize = 500;
+
+    // Lifetime of a /waitlist/{id}/events stream; clients reconnect when it ends
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
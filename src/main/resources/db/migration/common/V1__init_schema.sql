@@ -0,0 +1,33 @@
+-- Schema as previously created by hibernate.ddl-auto=update; existing databases are baselined at this version
+
+CREATE SEQUENCE reservation_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE floors (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_floors_name UNIQUE (name)
+);
+
+CREATE TABLE slots (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    floor_id     BIGINT       NOT NULL,
+    slot_number  VARCHAR(255) NOT NULL,
+    vehicle_type VARCHAR(32)  NOT NULL,
+    version      BIGINT,
+    CONSTRAINT uk_slots_floor_number UNIQUE (floor_id, slot_number),
+    CONSTRAINT fk_slots_floor FOREIGN KEY (floor_id) REFERENCES floors (id),
+    CONSTRAINT ck_slots_vehicle_type CHECK (vehicle_type IN ('TWO_WHEELER', 'FOUR_WHEELER'))
+);
+
+CREATE TABLE reservations (
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    slot_id        BIGINT         NOT NULL,
+    vehicle_number VARCHAR(255)   NOT NULL,
+    start_time     TIMESTAMP(6)   NOT NULL,
+    end_time       TIMESTAMP(6)   NOT NULL,
+    cost           NUMERIC(38, 2) NOT NULL,
+    status         VARCHAR(32)    NOT NULL,
+    version        BIGINT,
+    CONSTRAINT fk_reservations_slot FOREIGN KEY (slot_id) REFERENCES slots (id),
+    CONSTRAINT ck_reservations_status CHECK (status IN ('ACTIVE', 'CANCELLED'))
+);
@@ -0,0 +1,2 @@
+-- Availability by vehicle type, ordered and scrolled by slot number (ReservationService.getAvailableSlotsAfter)
+CREATE INDEX idx_slots_type_number ON slots (vehicle_type, slot_number, id);
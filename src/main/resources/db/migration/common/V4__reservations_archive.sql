@@ -0,0 +1,13 @@
+-- Cold copy of finished and cancelled reservations, moved out of reservations by ReservationArchiver.
+-- No foreign key and no secondary indexes: rows are only ever looked up by id.
+CREATE TABLE reservations_archive (
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    slot_id        BIGINT         NOT NULL,
+    vehicle_number VARCHAR(255)   NOT NULL,
+    start_time     TIMESTAMP(6)   NOT NULL,
+    end_time       TIMESTAMP(6)   NOT NULL,
+    cost           NUMERIC(38, 2) NOT NULL,
+    status         VARCHAR(32)    NOT NULL,
+    version        BIGINT,
+    archived_at    TIMESTAMP(6)   NOT NULL
+);
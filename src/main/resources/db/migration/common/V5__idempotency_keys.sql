@@ -0,0 +1,10 @@
+-- Completed Idempotency-Key requests, written only with reservation.idempotency.persistent=true.
+-- response holds the ReservationResponse JSON returned to the first request.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255)  NOT NULL PRIMARY KEY,
+    fingerprint     VARCHAR(1024) NOT NULL,
+    response        VARCHAR(4000) NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
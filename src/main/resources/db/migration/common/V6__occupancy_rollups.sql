@@ -0,0 +1,25 @@
+-- Occupancy rollups per hour and per day, floor and vehicle type, maintained by OccupancyRollups.
+-- reserved_minutes is the part of each ACTIVE reservation inside the bucket; reservations and revenue count a
+-- reservation once, in the bucket it starts in. Days are rewritten as a whole, so rows can always be rebuilt.
+CREATE TABLE occupancy_hourly (
+    bucket_start     TIMESTAMP(6)   NOT NULL,
+    floor_id         BIGINT         NOT NULL,
+    vehicle_type     VARCHAR(32)    NOT NULL,
+    reserved_minutes BIGINT         NOT NULL,
+    reservations     INT            NOT NULL,
+    revenue          NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (bucket_start, floor_id, vehicle_type)
+);
+
+CREATE TABLE occupancy_daily (
+    bucket_date      DATE           NOT NULL,
+    floor_id         BIGINT         NOT NULL,
+    vehicle_type     VARCHAR(32)    NOT NULL,
+    reserved_minutes BIGINT         NOT NULL,
+    reservations     INT            NOT NULL,
+    revenue          NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (bucket_date, floor_id, vehicle_type)
+);
+
+-- Rebuilding a day reads the archived reservations that overlap it
+CREATE INDEX idx_reservations_archive_status_end ON reservations_archive (status, end_time, start_time);
@@ -0,0 +1,18 @@
+-- Requests waiting for a slot of vehicle_type (on floor_id when set) between start_time and end_time.
+-- A WAITING entry is booked into a cancelled slot it fits and becomes PROMOTED with the new reservation_id.
+CREATE TABLE waitlist_entries (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    vehicle_type   VARCHAR(32)  NOT NULL,
+    floor_id       BIGINT,
+    vehicle_number VARCHAR(255) NOT NULL,
+    start_time     TIMESTAMP(6) NOT NULL,
+    end_time       TIMESTAMP(6) NOT NULL,
+    status         VARCHAR(32)  NOT NULL,
+    reservation_id BIGINT,
+    created_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_waitlist_entries_vehicle_type CHECK (vehicle_type IN ('TWO_WHEELER', 'FOUR_WHEELER')),
+    CONSTRAINT ck_waitlist_entries_status CHECK (status IN ('WAITING', 'PROMOTED', 'LEFT', 'EXPIRED'))
+);
+
+-- Expiry and the warm-up read WAITING entries by window start
+CREATE INDEX idx_waitlist_entries_status_start ON waitlist_entries (status, start_time);
@@ -0,0 +1,20 @@
+-- Slot leases of reservation.locking.mode=lease with the jdbc lease store: one row per slot being booked right now.
+-- expires_at is in epoch milliseconds; past it, another holder may take the row over.
+CREATE TABLE slot_leases (
+    slot_id    BIGINT      NOT NULL PRIMARY KEY,
+    holder     VARCHAR(96) NOT NULL,
+    expires_at BIGINT      NOT NULL
+);
+
+-- Changes the other nodes apply to their in-memory state, written with reservation.cluster.enabled=true in the
+-- transaction making the change. kind is RESERVATION, WAITLIST or SLOTS; payload is the event as JSON.
+CREATE TABLE cluster_events (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    origin     VARCHAR(64)   NOT NULL,
+    kind       VARCHAR(32)   NOT NULL,
+    payload    VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP(6)  NOT NULL
+);
+
+-- Start-up look-back and purging read by age
+CREATE INDEX idx_cluster_events_created_at ON cluster_events (created_at);
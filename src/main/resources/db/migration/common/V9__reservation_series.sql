@@ -0,0 +1,19 @@
+-- A recurring booking of one slot. Its occurrences are ordinary reservations carrying the series_id, booked and
+-- cancelled together.
+CREATE TABLE reservation_series (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    slot_id        BIGINT       NOT NULL,
+    vehicle_number VARCHAR(255) NOT NULL,
+    status         VARCHAR(32)  NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_reservation_series_slot FOREIGN KEY (slot_id) REFERENCES slots (id),
+    CONSTRAINT ck_reservation_series_status CHECK (status IN ('ACTIVE', 'CANCELLED'))
+);
+
+ALTER TABLE reservations ADD COLUMN series_id BIGINT;
+ALTER TABLE reservations ADD CONSTRAINT fk_reservations_series FOREIGN KEY (series_id) REFERENCES reservation_series (id);
+
+-- Cancelling a series updates its occurrences by series_id
+CREATE INDEX idx_reservations_series ON reservations (series_id);
+
+ALTER TABLE reservations_archive ADD COLUMN series_id BIGINT;
@@ -0,0 +1,7 @@
+-- findOverlapping / findOverlappingForSlots: equality on slot and status, then the time range.
+-- Also serves the NOT IN subquery of findAvailableSlots, which probes it per slot.
+-- H2 has no partial indexes, so this one covers ACTIVE and CANCELLED rows alike.
+CREATE INDEX idx_reservations_slot_status_time ON reservations (slot_id, status, start_time, end_time);
+
+-- Index warm-up (findIntervalsByStatus) and the time-window scan of the availability subquery
+CREATE INDEX idx_reservations_status_end ON reservations (status, end_time, start_time, slot_id);
@@ -0,0 +1,5 @@
+-- findOverlapping / findOverlappingForSlots bind status as a parameter, which a partial index cannot serve
+CREATE INDEX idx_reservations_slot_status_time ON reservations (slot_id, status, start_time, end_time);
+
+-- Only ACTIVE rows take part in availability and warm-up; cancelled history stays out of this index
+CREATE INDEX idx_reservations_active_time ON reservations (end_time, start_time, slot_id) WHERE status = 'ACTIVE';
@@ -0,0 +1,24 @@
+package com.parking.reactive;
+
+import com.parking.reservation.exception.GlobalExceptionHandler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * WebFlux + R2DBC variant of the /v1/api contract, built with the reactive Maven profile. It lives outside
+ * com.parking.reservation so the servlet application does not scan it, and only reuses that package's DTOs,
+ * exceptions and pricing. Settings on top of application.properties are in application-reactive.properties.
+ */
+@SpringBootApplication
+@Import(GlobalExceptionHandler.class)
+public class ReactiveReservationApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReservationApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,25 @@
+package com.parking.reactive.configurations;
+
+import com.parking.reactive.locking.SlotStripes;
+import com.parking.reservation.pricing.PricingEngine;
+import com.parking.reservation.pricing.PricingProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PricingProperties.class)
+public class ReactiveConfig {
+
+    // Same tariff rules (reservation.pricing.*) as the servlet application
+    @Bean
+    public PricingEngine pricingEngine(PricingProperties properties) {
+        return new PricingEngine(properties);
+    }
+
+    @Bean
+    public SlotStripes slotStripes(@Value("${reservation.reactive.slot-stripes:1024}") int stripes) {
+        return new SlotStripes(stripes);
+    }
+}
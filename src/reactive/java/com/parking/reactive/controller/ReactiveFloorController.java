@@ -0,0 +1,27 @@
+package com.parking.reactive.controller;
+
+import com.parking.reactive.service.ReactiveFloorService;
+import com.parking.reservation.dto.ApiResponse;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.response.FloorResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/v1/api")
+@RequiredArgsConstructor
+public class ReactiveFloorController {
+
+    private final ReactiveFloorService floorService;
+
+    @PostMapping("/floors")
+    public Mono<ApiResponse<FloorResponse>> createFloor(@Valid @RequestBody CreateFloorRequest request) {
+        return floorService.createFloor(request)
+                .map(response -> ApiResponse.success(response, "Floor created successfully"));
+    }
+}
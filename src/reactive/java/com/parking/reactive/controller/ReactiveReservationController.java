@@ -0,0 +1,61 @@
+package com.parking.reactive.controller;
+
+import com.parking.reactive.service.ReactiveReservationService;
+import com.parking.reservation.dto.ApiResponse;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.enums.VehicleType;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/v1/api")
+@RequiredArgsConstructor
+public class ReactiveReservationController {
+
+    private final ReactiveReservationService reservationService;
+
+    @PostMapping("/reserve")
+    public Mono<ApiResponse<ReservationResponse>> reserve(@Valid @RequestBody ReserveRequest request) {
+        return reservationService.reserveSlot(request)
+                .map(response -> ApiResponse.success(response, "Reservation created successfully"));
+    }
+
+    @GetMapping("/reservations/{id}")
+    public Mono<ApiResponse<ReservationResponse>> getReservation(@PathVariable Long id) {
+        return reservationService.getReservation(id)
+                .map(response -> ApiResponse.success(response, "Reservation fetched successfully"));
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    public Mono<ApiResponse<Void>> cancelReservation(@PathVariable Long id) {
+        return reservationService.cancelReservation(id)
+                .then(Mono.fromSupplier(() -> ApiResponse.success(null, "Reservation cancelled successfully")));
+    }
+
+    @GetMapping("/availability")
+    public Mono<ApiResponse<Page<SlotResponse>>> getAvailableSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam VehicleType vehicleType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "slotNumber") String sortProperty,
+            @RequestParam(defaultValue = "asc") String sortDirection) {
+
+        Sort.Direction direction = Sort.Direction.fromString(sortDirection);
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(direction, sortProperty));
+
+        return reservationService.getAvailableSlots(startTime, endTime, vehicleType, pageable)
+                .map(availableSlots -> ApiResponse.success(availableSlots, "Available slots retrieved"));
+    }
+}
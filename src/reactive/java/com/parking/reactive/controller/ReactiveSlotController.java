@@ -0,0 +1,37 @@
+package com.parking.reactive.controller;
+
+import com.parking.reactive.service.ReactiveSlotService;
+import com.parking.reservation.dto.ApiResponse;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.response.SlotResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/api")
+@RequiredArgsConstructor
+public class ReactiveSlotController {
+
+    private final ReactiveSlotService slotService;
+
+    @PostMapping("/slots")
+    public Mono<ApiResponse<SlotResponse>> createSlot(@Valid @RequestBody CreateSlotRequest request) {
+        return slotService.createSlot(request)
+                .map(response -> ApiResponse.success(response, "Slot created successfully"));
+    }
+
+    @GetMapping("/slots")
+    public Mono<ApiResponse<List<SlotResponse>>> getSlots() {
+        return slotService.getSlots()
+                .collectList()
+                .map(slots -> ApiResponse.success(slots, "Slots fetched successfully"));
+    }
+}
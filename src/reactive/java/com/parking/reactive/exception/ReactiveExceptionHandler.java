@@ -0,0 +1,30 @@
+package com.parking.reactive.exception;
+
+import com.parking.reservation.dto.ApiResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+// WebFlux reports bad input with its own exceptions; everything else goes to GlobalExceptionHandler
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse<String>> handleValidation(WebExchangeBindException ex) {
+        String msg = ex.getBindingResult().getFieldErrors().get(0).getDefaultMessage();
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(msg, HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiResponse<String>> handleInput(ServerWebInputException ex) {
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(ex.getReason(), HttpStatus.BAD_REQUEST.value()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.parking.reactive.locking;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of StripedSlotLockStrategy: work on slots of the same stripe runs one at a time, in
+ * subscription order, and a caller waiting for its turn holds no thread. Each stripe is a chain of futures; a
+ * caller appends its own and starts once the previous one completes, whichever way that work ended.
+ * Single instance only, like the striped mode.
+ */
+public class SlotStripes {
+
+    private final AtomicReference<CompletableFuture<Void>>[] tails;
+
+    @SuppressWarnings("unchecked")
+    public SlotStripes(int stripes) {
+        tails = new AtomicReference[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < tails.length; i++) {
+            tails[i] = new AtomicReference<>(CompletableFuture.completedFuture(null));
+        }
+    }
+
+    public <T> Mono<T> withSlot(long slotId, Supplier<Mono<T>> work) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            CompletableFuture<Void> previous = tails[stripe(slotId)].getAndSet(done);
+            return Mono.fromFuture(previous, true)
+                    .then(Mono.defer(work))
+                    .doFinally(signal -> done.complete(null));
+        });
+    }
+
+    private int stripe(long slotId) {
+        int hash = Long.hashCode(slotId) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (tails.length - 1);
+    }
+}
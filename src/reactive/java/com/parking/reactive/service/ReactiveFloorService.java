@@ -0,0 +1,32 @@
+package com.parking.reactive.service;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.response.FloorResponse;
+import com.parking.reservation.exception.AlreadyExistsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveFloorService {
+
+    private final DatabaseClient databaseClient;
+
+    // The unique name constraint decides, so there is no separate exists query
+    public Mono<FloorResponse> createFloor(CreateFloorRequest request) {
+        return databaseClient.sql("INSERT INTO floors (name) VALUES (:name)")
+                .bind("name", request.getName())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> new FloorResponse(id, request.getName()))
+                .doOnNext(floor -> log.debug("Floor created successfully with ID: {}", floor.id()))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        ex -> new AlreadyExistsException("Floor with name '" + request.getName() + "' already exists"));
+    }
+}
@@ -0,0 +1,217 @@
+package com.parking.reactive.service;
+
+import com.parking.reactive.locking.SlotStripes;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.InvalidReservationException;
+import com.parking.reservation.exception.SlotNotFoundException;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.pricing.PricingEngine;
+import com.parking.reservation.util.SlotConstants;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reservation operations of the reactive variant. A reservation is decided under its slot's {@link SlotStripes}
+ * stripe with a single conditional insert: the row goes in only if no ACTIVE reservation of the slot overlaps it,
+ * so conflict detection and the write are one statement and no database lock is waited for.
+ */
+@Service
+@Slf4j
+public class ReactiveReservationService {
+
+    private static final Pattern VEHICLE_PATTERN = Pattern.compile("^[A-Z]{2}\\d{2}[A-Z]{2}\\d{4}$");
+
+    private static final String INSERT_IF_FREE =
+            "INSERT INTO reservations (id, slot_id, vehicle_number, start_time, end_time, cost, status, version) " +
+            "SELECT :id, s.id, :vehicleNumber, :startTime, :endTime, :cost, 'ACTIVE', 0 FROM slots s " +
+            "WHERE s.id = :slotId AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.slot_id = :slotId " +
+            "AND r.status = 'ACTIVE' AND r.start_time < :endTime AND r.end_time > :startTime)";
+
+    private static final String RESERVATION_COLUMNS =
+            "id, slot_id, vehicle_number, start_time, end_time, cost, status";
+
+    private static final String AVAILABLE_SLOTS_WHERE =
+            " FROM slots s JOIN floors f ON f.id = s.floor_id WHERE s.vehicle_type = :vehicleType " +
+            "AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.slot_id = s.id AND r.status = 'ACTIVE' " +
+            "AND r.end_time > :startTime AND r.start_time < :endTime)";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "slotNumber", "s.slot_number",
+            "vehicleType", "s.vehicle_type",
+            "floor.name", "f.name");
+
+    private final DatabaseClient databaseClient;
+    private final PricingEngine pricingEngine;
+    private final SlotStripes slotStripes;
+    private final ReservationIds reservationIds;
+
+    public ReactiveReservationService(DatabaseClient databaseClient, PricingEngine pricingEngine, SlotStripes slotStripes) {
+        this.databaseClient = databaseClient;
+        this.pricingEngine = pricingEngine;
+        this.slotStripes = slotStripes;
+        this.reservationIds = new ReservationIds(databaseClient);
+    }
+
+    public Mono<ReservationResponse> reserveSlot(ReserveRequest request) {
+        return Mono.fromRunnable(() -> validateRequest(request))
+                .then(slotStripes.withSlot(request.getSlotId(), () -> findSlot(request.getSlotId())
+                        .flatMap(slot -> insertIfFree(slot, request))))
+                .doOnNext(reservation -> log.debug("Reservation created successfully with ID: {}", reservation.id()));
+    }
+
+    public Mono<ReservationResponse> getReservation(Long id) {
+        return findReservation("reservations", id)
+                .switchIfEmpty(Mono.defer(() -> findReservation("reservations_archive", id)))
+                .switchIfEmpty(Mono.error(() -> new InvalidReservationException("Reservation not found")));
+    }
+
+    public Mono<Void> cancelReservation(Long id) {
+        return databaseClient.sql("UPDATE reservations SET status = 'CANCELLED', version = version + 1 WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new InvalidReservationException("Reservation not found"))
+                        : Mono.empty());
+    }
+
+    public Mono<Page<SlotResponse>> getAvailableSlots(LocalDateTime startTime, LocalDateTime endTime,
+                                                      VehicleType vehicleType, Pageable pageable) {
+        return Mono.fromCallable(() -> {
+                    validateAvailabilityQuery(startTime, endTime, pageable.getSort());
+                    return orderBy(pageable.getSort());
+                })
+                .flatMap(orderBy -> {
+                    Mono<Long> total = databaseClient.sql("SELECT COUNT(*)" + AVAILABLE_SLOTS_WHERE)
+                            .bind("vehicleType", vehicleType.name())
+                            .bind("startTime", startTime)
+                            .bind("endTime", endTime)
+                            .map(row -> row.get(0, Long.class))
+                            .one();
+                    Mono<List<SlotResponse>> content = databaseClient
+                            .sql("SELECT " + ReactiveSlotService.SLOT_COLUMNS + AVAILABLE_SLOTS_WHERE + orderBy
+                                    + " LIMIT :limit OFFSET :offset")
+                            .bind("vehicleType", vehicleType.name())
+                            .bind("startTime", startTime)
+                            .bind("endTime", endTime)
+                            .bind("limit", pageable.getPageSize())
+                            .bind("offset", pageable.getOffset())
+                            .map(ReactiveSlotService::mapToSlotResponse)
+                            .all()
+                            .collectList();
+                    return Mono.zip(content, total, (slots, count) -> new PageImpl<>(slots, pageable, count));
+                });
+    }
+
+    private Mono<SlotRow> findSlot(Long slotId) {
+        return databaseClient.sql("SELECT vehicle_type, floor_id FROM slots WHERE id = :id")
+                .bind("id", slotId)
+                .map(row -> new SlotRow(VehicleType.valueOf(row.get(0, String.class)), row.get(1, Long.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new SlotNotFoundException("Slot not found")));
+    }
+
+    private Mono<ReservationResponse> insertIfFree(SlotRow slot, ReserveRequest request) {
+        if (slot.vehicleType() != request.getVehicleType()) {
+            return Mono.error(new InvalidReservationException(String.format(
+                    "Vehicle type mismatch: slot supports %s, but %s was requested",
+                    slot.vehicleType(), request.getVehicleType())));
+        }
+        BigDecimal cost = pricingEngine.calculateCost(request.getVehicleType(), slot.floorId(),
+                request.getStartTime(), request.getEndTime());
+        return reservationIds.next().flatMap(id -> databaseClient.sql(INSERT_IF_FREE)
+                .bind("id", id)
+                .bind("slotId", request.getSlotId())
+                .bind("vehicleNumber", request.getVehicleNumber())
+                .bind("startTime", request.getStartTime())
+                .bind("endTime", request.getEndTime())
+                .bind("cost", cost)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(inserted -> inserted == 0
+                        ? Mono.error(new SlotUnavailableException(String.format("Slot ID %d is already reserved between %s and %s",
+                                request.getSlotId(), request.getStartTime(), request.getEndTime())))
+                        : Mono.just(new ReservationResponse(id, request.getSlotId(), request.getVehicleNumber(),
+                                request.getStartTime(), request.getEndTime(), cost, ReservationStatus.ACTIVE))));
+    }
+
+    private Mono<ReservationResponse> findReservation(String table, Long id) {
+        return databaseClient.sql("SELECT " + RESERVATION_COLUMNS + " FROM " + table + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReservationService::mapToResponse)
+                .one();
+    }
+
+    private static ReservationResponse mapToResponse(Readable row) {
+        return new ReservationResponse(
+                row.get(0, Long.class),
+                row.get(1, Long.class),
+                row.get(2, String.class),
+                row.get(3, LocalDateTime.class),
+                row.get(4, LocalDateTime.class),
+                row.get(5, BigDecimal.class),
+                ReservationStatus.valueOf(row.get(6, String.class))
+        );
+    }
+
+    // Same checks and messages as ReservationServiceImpl
+    private static void validateRequest(ReserveRequest req) {
+        if (req.getStartTime() == null || req.getEndTime() == null) {
+            throw new InvalidReservationException("Start and end time are required");
+        }
+        if (!req.getStartTime().isBefore(req.getEndTime())) {
+            throw new InvalidReservationException("Start time must be before end time");
+        }
+        if (Duration.between(req.getStartTime(), req.getEndTime()).toHours() > 24) {
+            throw new InvalidReservationException("Reservation duration cannot exceed 24 hours");
+        }
+        if (req.getVehicleNumber() == null || !VEHICLE_PATTERN.matcher(req.getVehicleNumber()).matches()) {
+            throw new InvalidReservationException("Invalid vehicle number format. Expected: XX00XX0000 (e.g., KA05MH1234)");
+        }
+    }
+
+    // Same checks and messages as ReservationServiceImpl
+    private static void validateAvailabilityQuery(LocalDateTime startTime, LocalDateTime endTime, Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SlotConstants.ALLOWED_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidReservationException("Sorting by '" + order.getProperty() + "' is not allowed. Allowed: " +
+                        SlotConstants.ALLOWED_SORT_PROPERTIES);
+            }
+        }
+        if (!startTime.isBefore(endTime)) {
+            throw new InvalidReservationException("Start time must be before end time");
+        }
+        if (Duration.between(startTime, endTime).toHours() > 24) {
+            throw new InvalidReservationException("Time range cannot exceed 24 hours");
+        }
+    }
+
+    private static String orderBy(Sort sort) {
+        String columns = sort.stream()
+                .map(order -> SORT_COLUMNS.get(order.getProperty()) + " " + order.getDirection().name())
+                .collect(Collectors.joining(", "));
+        return " ORDER BY " + (columns.isEmpty() ? "" : columns + ", ") + "s.id";
+    }
+
+    private record SlotRow(VehicleType vehicleType, Long floorId) {
+    }
+}
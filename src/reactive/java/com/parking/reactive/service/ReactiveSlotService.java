@@ -0,0 +1,61 @@
+package com.parking.reactive.service;
+
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.exception.AlreadyExistsException;
+import com.parking.reservation.exception.SlotNotFoundException;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveSlotService {
+
+    static final String SLOT_COLUMNS = "s.id, s.slot_number, s.vehicle_type, s.floor_id, f.name";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<SlotResponse> createSlot(CreateSlotRequest request) {
+        return databaseClient.sql("SELECT name FROM floors WHERE id = :floorId")
+                .bind("floorId", request.getFloorId())
+                .map(row -> row.get("name", String.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new SlotNotFoundException("Floor not found with ID: " + request.getFloorId())))
+                .flatMap(floorName -> databaseClient
+                        .sql("INSERT INTO slots (floor_id, slot_number, vehicle_type, version) VALUES (:floorId, :slotNumber, :vehicleType, 0)")
+                        .bind("floorId", request.getFloorId())
+                        .bind("slotNumber", request.getSlotNumber())
+                        .bind("vehicleType", request.getVehicleType().name())
+                        .filter(statement -> statement.returnGeneratedValues("id"))
+                        .map(row -> row.get("id", Long.class))
+                        .one()
+                        .map(id -> new SlotResponse(id, request.getSlotNumber(), request.getVehicleType().name(),
+                                request.getFloorId(), floorName)))
+                .doOnNext(slot -> log.debug("Slot created successfully with ID: {}", slot.id()))
+                .onErrorMap(DataIntegrityViolationException.class, ex -> new AlreadyExistsException(String.format(
+                        "Slot with number '%s' already exists on floor ID %d", request.getSlotNumber(), request.getFloorId())));
+    }
+
+    public Flux<SlotResponse> getSlots() {
+        return databaseClient.sql("SELECT " + SLOT_COLUMNS + " FROM slots s JOIN floors f ON f.id = s.floor_id ORDER BY s.id")
+                .map(ReactiveSlotService::mapToSlotResponse)
+                .all();
+    }
+
+    static SlotResponse mapToSlotResponse(Readable row) {
+        return new SlotResponse(
+                row.get(0, Long.class),
+                row.get(1, String.class),
+                row.get(2, String.class),
+                row.get(3, Long.class),
+                row.get(4, String.class)
+        );
+    }
+}
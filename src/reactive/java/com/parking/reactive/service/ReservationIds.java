@@ -0,0 +1,48 @@
+package com.parking.reactive.service;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out reservation ids from reservation_seq the way Hibernate's pooled optimizer does: each sequence value
+ * covers the 50 ids up to and including it. Ids therefore never collide with the servlet application's, and the
+ * sequence is read once per 50 reservations.
+ */
+class ReservationIds {
+
+    private static final long INCREMENT = 50;
+
+    private final DatabaseClient databaseClient;
+    private long next = 1;
+    private long last = 0;
+
+    ReservationIds(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    Mono<Long> next() {
+        return Mono.defer(() -> {
+            long id = take();
+            return id > 0 ? Mono.just(id) : allocate();
+        });
+    }
+
+    private synchronized long take() {
+        return next <= last ? next++ : -1;
+    }
+
+    // Callers that run out together each allocate a block; the later one wins and the rest of the other is skipped
+    private Mono<Long> allocate() {
+        return databaseClient.sql("SELECT NEXT VALUE FOR reservation_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(this::install);
+    }
+
+    private synchronized long install(long hi) {
+        long lo = Math.max(1, hi - INCREMENT + 1);
+        next = lo + 1;
+        last = hi;
+        return lo;
+    }
+}
@@ -0,0 +1,130 @@
+package com.parking.reactive;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.enums.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReactiveReservationApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive",
+                // Its own database, so the servlet tests sharing this JVM do not see its reservations
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1",
+                "spring.flyway.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveReservationApiTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2096, 5, 1, 9, 0);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        Long floorId = post("/v1/api/floors", new CreateFloorRequest("Floor-" + UUID.randomUUID()));
+        slotId = post("/v1/api/slots", new CreateSlotRequest(floorId, "R1", VehicleType.FOUR_WHEELER));
+    }
+
+    @Test
+    void concurrentReservationsOfOneSlotBookItOnce() throws Exception {
+        ReserveRequest request = new ReserveRequest(slotId, "KA05MH1234", DAY, DAY.plusHours(2), VehicleType.FOUR_WHEELER);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Integer> statuses = new ArrayList<>();
+        try {
+            List<Callable<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                calls.add(() -> webTestClient.post().uri("/v1/api/reserve").bodyValue(request).exchange()
+                        .returnResult(String.class).getStatus().value());
+            }
+            for (Future<Integer> status : executor.invokeAll(calls)) {
+                statuses.add(status.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(statuses).filteredOn(status -> status == 200).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == 409).hasSize(15);
+    }
+
+    @Test
+    void cancelledReservationFreesTheSlot() {
+        ReserveRequest request = new ReserveRequest(slotId, "KA05MH1234", DAY.plusDays(1), DAY.plusDays(1).plusHours(1),
+                VehicleType.FOUR_WHEELER);
+        Long id = post("/v1/api/reserve", request);
+
+        webTestClient.get().uri("/v1/api/reservations/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data.status").isEqualTo("ACTIVE");
+        webTestClient.delete().uri("/v1/api/reservations/{id}", id).exchange().expectStatus().isOk();
+        webTestClient.post().uri("/v1/api/reserve").bodyValue(request).exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void invalidRequestsGetTheServletErrorContract() {
+        ReserveRequest wrongType = new ReserveRequest(slotId, "KA05MH1234", DAY, DAY.plusHours(1), VehicleType.TWO_WHEELER);
+        webTestClient.post().uri("/v1/api/reserve").bodyValue(wrongType).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo(
+                        "Vehicle type mismatch: slot supports FOUR_WHEELER, but TWO_WHEELER was requested");
+
+        webTestClient.post().uri("/v1/api/reserve")
+                .bodyValue(new ReserveRequest(null, "KA05MH1234", DAY, DAY.plusHours(1), VehicleType.FOUR_WHEELER))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Slot ID is required");
+    }
+
+    @Test
+    void availabilityQueriesAreCappedAtADayLikeTheServletApi() {
+        webTestClient.get().uri(uri -> uri.path("/v1/api/availability")
+                        .queryParam("startTime", DAY)
+                        .queryParam("endTime", DAY.plusHours(24).plusMinutes(59))
+                        .queryParam("vehicleType", VehicleType.FOUR_WHEELER)
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri(uri -> uri.path("/v1/api/availability")
+                        .queryParam("startTime", DAY)
+                        .queryParam("endTime", DAY.plusHours(25))
+                        .queryParam("vehicleType", VehicleType.FOUR_WHEELER)
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Time range cannot exceed 24 hours");
+    }
+
+    // Posts and returns data.id of the ApiResponse
+    private Long post(String uri, Object body) {
+        return webTestClient.post().uri(uri).bodyValue(body).exchange()
+                .expectStatus().isOk()
+                .returnResult(Created.class).getResponseBody().blockFirst().data().id();
+    }
+
+    private record Created(Data data) {
+        private record Data(Long id) {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.parking.reservation.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "reservation.admission.rate-limit.enabled=true",
+        "reservation.admission.rate-limit.requests-per-second=0.1",
+        "reservation.admission.rate-limit.burst=3",
+        // Always overloaded once sampled
+        "reservation.admission.load-shedding.max-pending-connections=-1",
+        "reservation.admission.load-shedding.sample-interval=1h",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+@AutoConfigureMockMvc
+class AdmissionFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Test
+    void clientOverItsRateGets429WhileOthersAreServed() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/v1/api/reservations/-1").header("X-API-Key", "greedy"))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/v1/api/reservations/-1").header("X-API-Key", "greedy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.statusCode").value(429));
+
+        mockMvc.perform(get("/v1/api/reservations/-1").header("X-API-Key", "polite"))
+                .andExpect(status().isBadRequest());
+        // Not a reservation endpoint
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/v1/api/slots").header("X-API-Key", "greedy")).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void writesAreShedWhileOverloadedAndReadsAreNot() throws Exception {
+        loadShedder.sample();
+
+        mockMvc.perform(post("/v1/api/reserve").header("X-API-Key", "writer")
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(get("/v1/api/reservations/-1").header("X-API-Key", "writer"))
+                .andExpect(status().isBadRequest());
+    }
+}
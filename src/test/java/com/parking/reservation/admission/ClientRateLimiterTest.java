@@ -0,0 +1,60 @@
+package com.parking.reservation.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void admitsTheBurstThenOneRequestPerInterval() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(2, 3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        long wait = limiter.tryAcquire("a");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.tryAcquire("b")).isZero();
+
+        TimeUnit.NANOSECONDS.sleep(wait);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        // One request per 100 seconds: nothing refills while the test runs
+        ClientRateLimiter limiter = new ClientRateLimiter(0.01, 50, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Integer>> calls = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                calls.add(() -> {
+                    int admitted = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("hot") == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                });
+            }
+            int admitted = 0;
+            for (Future<Integer> future : executor.invokeAll(calls)) {
+                admitted += future.get();
+            }
+            assertThat(admitted).isEqualTo(50);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.parking.reservation.analytics;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.OccupancyResponse;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.InvalidAnalyticsQueryException;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"reservation.analytics.settle-delay=0s", "reservation.analytics.refresh-interval=1h",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+class OccupancyRollupsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2097, 3, 1, 0, 0);
+
+    @Autowired
+    private OccupancyRollups rollups;
+
+    @Autowired
+    private OccupancyAnalytics analytics;
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long floorId;
+    private Long slotId;
+
+    @BeforeEach
+    void createSlots() {
+        floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        slotId = slotService.createSlot(new CreateSlotRequest(floorId, "OCC-1", VehicleType.FOUR_WHEELER)).id();
+        slotService.createSlot(new CreateSlotRequest(floorId, "OCC-2", VehicleType.FOUR_WHEELER));
+    }
+
+    @Test
+    void bookingsAndCancellationsAreRolledUpPerHour() {
+        ReservationResponse booked = reserve(DAY.plusHours(10).plusMinutes(30), DAY.plusHours(12));
+        ReservationResponse cancelled = reserve(DAY.plusHours(14), DAY.plusHours(15));
+        reservationService.cancelReservation(cancelled.id());
+        rollups.refresh();
+
+        List<OccupancyResponse> hours = hourly(DAY, DAY.plusDays(1));
+        assertThat(hours).extracting(OccupancyResponse::bucketStart)
+                .containsExactly(DAY.plusHours(10), DAY.plusHours(11));
+        assertThat(hours.get(0).reservedMinutes()).isEqualTo(30);
+        assertThat(hours.get(0).reservations()).isEqualTo(1);
+        assertThat(hours.get(0).revenue()).isEqualByComparingTo(booked.cost());
+        assertThat(hours.get(1).reservations()).isZero();
+        // One of the floor's two slots for the whole hour
+        assertThat(hours.get(1).occupancyPercent()).isEqualTo(50.0);
+
+        reservationService.cancelReservation(booked.id());
+        rollups.refresh();
+        assertThat(hourly(DAY, DAY.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void backfillRebuildsReservationsSpanningMidnight() {
+        LocalDateTime start = DAY.plusDays(3).plusHours(22);
+        reserve(start, start.plusHours(4));
+        rollups.refresh();
+        jdbcTemplate.update("DELETE FROM occupancy_hourly WHERE floor_id = ?", floorId);
+        jdbcTemplate.update("DELETE FROM occupancy_daily WHERE floor_id = ?", floorId);
+
+        assertThat(rollups.backfill()).isPositive();
+
+        List<OccupancyResponse> days = analytics.occupancy(DAY.plusDays(3), DAY.plusDays(5), OccupancyGranularity.DAY,
+                floorId, VehicleType.FOUR_WHEELER);
+        assertThat(days).extracting(OccupancyResponse::reservedMinutes).containsExactly(120L, 120L);
+        assertThat(days).extracting(OccupancyResponse::reservations).containsExactly(1, 0);
+        assertThat(hourly(DAY.plusDays(3), DAY.plusDays(5))).hasSize(4);
+    }
+
+    @Test
+    void hourlyRangeIsBounded() {
+        assertThatThrownBy(() -> hourly(DAY, DAY.plusDays(60)))
+                .isInstanceOf(InvalidAnalyticsQueryException.class);
+    }
+
+    private List<OccupancyResponse> hourly(LocalDateTime from, LocalDateTime to) {
+        return analytics.occupancy(from, to, OccupancyGranularity.HOUR, floorId, null);
+    }
+
+    private ReservationResponse reserve(LocalDateTime start, LocalDateTime end) {
+        return reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", start, end, VehicleType.FOUR_WHEELER));
+    }
+}
@@ -0,0 +1,99 @@
+package com.parking.reservation.archive;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.entity.ArchivedReservation;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.repository.ArchivedReservationRepository;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own database, so the archiver only sees what this test booked. No second-level cache, since slot ids repeat across
+// databases and the cache manager is shared
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:archivedb",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "reservation.archive.batch-size=2", "reservation.cache.max-size=0"})
+class ReservationArchiverTest {
+
+    private static final LocalDateTime PAST = LocalDateTime.of(2020, 1, 1, 10, 0);
+    private static final LocalDateTime FUTURE = LocalDateTime.of(2099, 6, 1, 10, 0);
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private SlotIntervalIndex slotIntervalIndex;
+
+    @Autowired
+    private ReservationArchiver archiver;
+
+    @Test
+    void movesFinishedAndCancelledReservationsAndKeepsThemReadable() {
+        Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        Long slotId = slotService.createSlot(new CreateSlotRequest(floorId, "AR-1", VehicleType.FOUR_WHEELER)).id();
+
+        Long finished1 = reserve(slotId, PAST);
+        Long finished2 = reserve(slotId, PAST.plusDays(1));
+        Long finished3 = reserve(slotId, PAST.plusDays(2));
+        Long cancelled = reserve(slotId, FUTURE);
+        reservationService.cancelReservation(cancelled);
+        Long upcoming = reserve(slotId, FUTURE.plusDays(1));
+
+        List<Long> moved = List.of(finished1, finished2, finished3, cancelled);
+
+        // Three batches of at most two rows
+        archiver.archive(LocalDateTime.now().minusDays(1));
+
+        assertThat(reservationRepository.findAllById(moved)).isEmpty();
+        assertThat(archivedReservationRepository.findAllById(moved)).extracting(ArchivedReservation::getId)
+                .containsExactlyInAnyOrderElementsOf(moved);
+        assertThat(reservationRepository.findById(upcoming)).isPresent();
+        assertThat(archivedReservationRepository.findById(upcoming)).isEmpty();
+
+        assertThat(slotIntervalIndex.overlaps(slotId, PAST, PAST.plusHours(1))).isFalse();
+        assertThat(slotIntervalIndex.overlaps(slotId, FUTURE.plusDays(1), FUTURE.plusDays(1).plusHours(1))).isTrue();
+
+        ReservationResponse archived = reservationService.getReservation(cancelled);
+        assertThat(archived.status()).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(archived.slotId()).isEqualTo(slotId);
+        assertThat(reservationService.getReservation(finished1).status()).isEqualTo(ReservationStatus.ACTIVE);
+
+        // A second run leaves both tables as they were
+        archiver.archive(LocalDateTime.now().minusDays(1));
+        assertThat(archivedReservationRepository.findAllById(moved)).hasSize(4);
+        assertThat(reservationRepository.findById(upcoming)).isPresent();
+    }
+
+    private Long reserve(Long slotId, LocalDateTime start) {
+        return reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", start, start.plusHours(1),
+                VehicleType.FOUR_WHEELER)).id();
+    }
+}
@@ -0,0 +1,106 @@
+package com.parking.reservation.cache;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+class ReservationCacheTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2098, 2, 1, 9, 0);
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationCache reservationCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        slotId = slotService.createSlot(new CreateSlotRequest(floorId, "C1", VehicleType.FOUR_WHEELER)).id();
+    }
+
+    @Test
+    void aNewReservationIsReadWithoutSql() {
+        ReservationResponse booked = reserve(DAY);
+
+        statistics.clear();
+        assertThat(reservationService.getReservation(booked.id())).isSameAs(booked);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void aPutInARolledBackTransactionLeavesNoEntry() {
+        ReservationResponse uncommitted = new ReservationResponse(Long.MAX_VALUE, slotId, "KA05MH1234", DAY,
+                DAY.plusHours(1), BigDecimal.valueOf(30), ReservationStatus.ACTIVE);
+        AtomicInteger loads = new AtomicInteger();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationCache.putAfterCommit(uncommitted);
+            status.setRollbackOnly();
+        });
+
+        // A miss: the loader runs and its result is what gets cached
+        assertThat(reservationCache.get(uncommitted.id(), id -> load(loads, id)).vehicleNumber()).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void cancellingEvictsSoTheNextReadIsCancelled() {
+        ReservationResponse booked = reserve(DAY.plusDays(1));
+        assertThat(reservationService.getReservation(booked.id()).status()).isEqualTo(ReservationStatus.ACTIVE);
+
+        reservationService.cancelReservation(booked.id());
+
+        assertThat(reservationService.getReservation(booked.id()).status()).isEqualTo(ReservationStatus.CANCELLED);
+    }
+
+    private ReservationResponse reserve(LocalDateTime start) {
+        return reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", start, start.plusHours(1),
+                VehicleType.FOUR_WHEELER));
+    }
+
+    private ReservationResponse load(AtomicInteger loads, Long id) {
+        loads.incrementAndGet();
+        return new ReservationResponse(id, slotId, "loaded", DAY, DAY.plusHours(1), BigDecimal.valueOf(30),
+                ReservationStatus.ACTIVE);
+    }
+}
@@ -0,0 +1,234 @@
+package com.parking.reservation.cluster;
+
+import com.parking.reservation.ReservationApplication;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.WaitlistRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.index.ReservationInterval;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import com.parking.reservation.waitlist.WaitlistIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs three application instances in this JVM against one H2 database in server mode, locking with the jdbc lease
+ * store, and books the same slots through all of them.
+ */
+@Slf4j
+class ClusterNodesTest {
+
+    private static final int NODES = 3;
+    private static final int SLOTS = 4;
+    private static final int REQUESTS = 600;
+    private static final int THREADS = 16;
+    private static final LocalDateTime DAY = LocalDateTime.of(2098, 5, 1, 0, 0);
+
+    @TempDir
+    static Path directory;
+
+    private static Server database;
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() throws SQLException, IOException {
+        database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        // One after the other, so that only the first one migrates the schema
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(start("node-" + i));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        database.stop();
+    }
+
+    private static ConfigurableApplicationContext start(String nodeId) throws IOException {
+        Path cacheConfig = directory.resolve(nodeId + ".conf");
+        try (InputStream regions = ClusterNodesTest.class.getResourceAsStream("/application.conf")) {
+            Files.copy(regions, cacheConfig);
+        }
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:tcp://localhost:" + database.getPort() + "/mem:clusterdb;DB_CLOSE_DELAY=-1",
+                "--reservation.cluster.enabled=true",
+                "--reservation.cluster.node-id=" + nodeId,
+                "--reservation.cluster.poll-interval=50ms",
+                "--reservation.locking.mode=lease",
+                "--reservation.idempotency.persistent=true",
+                "--reservation.archive.enabled=false",
+                // Own second-level cache per node, as in separate processes; the default one is shared by the JVM
+                "--spring.jpa.properties.hibernate.javax.cache.uri=" + cacheConfig.toUri(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=INFO"};
+        return new SpringApplicationBuilder(ReservationApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    @Test
+    void neverDoubleBooksASlotAcrossNodes() throws InterruptedException {
+        for (int nodeCount = 1; nodeCount <= NODES; nodeCount++) {
+            List<Long> slotIds = createSlots(nodes.get(0), SLOTS);
+            List<ReservationService> services = nodes.subList(0, nodeCount).stream()
+                    .map(node -> node.getBean(ReservationService.class))
+                    .toList();
+
+            AtomicInteger booked = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            long started = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                ReservationService service = services.get(i % nodeCount);
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(4 * 24));
+                    try {
+                        service.reserveSlot(new ReserveRequest(slotIds.get(random.nextInt(SLOTS)), "KA05MH1234",
+                                start, start.plusMinutes(15L * (1 + random.nextInt(8))), VehicleType.FOUR_WHEELER));
+                        booked.incrementAndGet();
+                    } catch (SlotUnavailableException ex) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable ex) {
+                        unexpected.add(ex);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            log.info("{} node(s): {} requests in {} ms ({} req/s), {} booked, {} rejected, {} failed",
+                    nodeCount, REQUESTS, elapsedMillis, REQUESTS * 1000L / elapsedMillis,
+                    booked.get(), rejected.get(), unexpected.size());
+
+            assertThat(unexpected).isEmpty();
+            assertThat(booked.get()).isPositive();
+            assertNoOverlaps(slotIds, booked.get());
+        }
+    }
+
+    @Test
+    void changesOnOneNodeReachTheOthers() {
+        ConfigurableApplicationContext first = nodes.get(0);
+        ConfigurableApplicationContext second = nodes.get(1);
+        ReservationService firstService = first.getBean(ReservationService.class);
+        ReservationService secondService = second.getBean(ReservationService.class);
+        LocalDateTime start = DAY.plusDays(10);
+
+        // Slot catalogue and availability index
+        Long slotId = createSlots(first, 1).get(0);
+        awaitOn(second, () -> second.getBean(SlotService.class).getSlots().stream().anyMatch(slot -> slot.id().equals(slotId)));
+        awaitOn(second, () -> isAvailable(secondService, slotId, start));
+
+        // Availability, and the reservation cache once the reservation is cancelled
+        ReservationResponse reservation = firstService.reserveSlot(
+                new ReserveRequest(slotId, "KA05MH1234", start, start.plusHours(2), VehicleType.FOUR_WHEELER));
+        awaitOn(second, () -> !isAvailable(secondService, slotId, start));
+        assertThat(secondService.getReservation(reservation.id()).status()).isEqualTo(ReservationStatus.ACTIVE);
+
+        // Waitlist index: waiting on the second node, promoted by a cancellation on the first
+        Long floorId = first.getBean(SlotService.class).getSlots().stream()
+                .filter(slot -> slot.id().equals(slotId)).findFirst().orElseThrow().floorId();
+        WaitlistResponse entry = secondService.joinWaitlist(new WaitlistRequest("KA05MH9999", start.plusHours(1),
+                start.plusHours(2), VehicleType.FOUR_WHEELER, floorId));
+        assertThat(entry.status()).isEqualTo(WaitlistStatus.WAITING);
+        WaitlistIndex firstWaitlist = first.getBean(WaitlistIndex.class);
+        awaitOn(first, () -> firstWaitlist.candidates(VehicleType.FOUR_WHEELER, floorId, start, start.plusHours(2), 16)
+                .stream().anyMatch(candidate -> candidate.id().equals(entry.id())));
+        firstService.cancelReservation(reservation.id());
+
+        awaitOn(second, () -> secondService.getReservation(reservation.id()).status() == ReservationStatus.CANCELLED);
+        WaitlistResponse promoted = secondService.getWaitlistEntry(entry.id());
+        assertThat(promoted.status()).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(secondService.getReservation(promoted.reservationId()).slotId()).isEqualTo(slotId);
+    }
+
+    private static List<Long> createSlots(ConfigurableApplicationContext node, int count) {
+        Long floorId = node.getBean(FloorService.class).createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        List<Long> slotIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            slotIds.add(node.getBean(SlotService.class)
+                    .createSlot(new CreateSlotRequest(floorId, "N" + i, VehicleType.FOUR_WHEELER)).id());
+        }
+        return slotIds;
+    }
+
+    private static boolean isAvailable(ReservationService service, Long slotId, LocalDateTime start) {
+        return service.getAvailableSlots(start, start.plusHours(1), VehicleType.FOUR_WHEELER, Pageable.unpaged())
+                .stream().map(SlotResponse::id).anyMatch(slotId::equals);
+    }
+
+    private static void awaitOn(ConfigurableApplicationContext node, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting on %s", node.getId()).isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static void assertNoOverlaps(List<Long> slotIds, int booked) {
+        Map<Long, List<ReservationInterval>> active = nodes.get(0).getBean(ReservationRepository.class)
+                .findIntervalsByStatus(ReservationStatus.ACTIVE).stream()
+                .filter(interval -> slotIds.contains(interval.slotId()))
+                .collect(Collectors.groupingBy(ReservationInterval::slotId));
+        assertThat(active.values().stream().mapToInt(List::size).sum()).isEqualTo(booked);
+
+        for (List<ReservationInterval> intervals : active.values()) {
+            intervals.sort(Comparator.comparing(ReservationInterval::startTime));
+            for (int i = 1; i < intervals.size(); i++) {
+                assertThat(intervals.get(i).startTime())
+                        .as("reservation %d overlaps %d", intervals.get(i).reservationId(), intervals.get(i - 1).reservationId())
+                        .isAfterOrEqualTo(intervals.get(i - 1).endTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.parking.reservation.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.IdempotencyKeyInProgressException;
+import com.parking.reservation.exception.IdempotencyKeyReusedException;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+class ReservationIdempotencyTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2098, 8, 1, 9, 0);
+
+    @Autowired
+    private ReservationIdempotency idempotency;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        slotId = slotService.createSlot(new CreateSlotRequest(floorId, "IDEM-1", VehicleType.FOUR_WHEELER)).id();
+    }
+
+    @Test
+    void retryGetsTheOriginalResponseWithoutTouchingTheDatabase() {
+        ReserveRequest request = request(DAY);
+        String key = UUID.randomUUID().toString();
+        ReservationResponse first = reserve(key, request);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ReservationResponse retried = reserve(key, request);
+
+        assertThat(retried).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        ReserveRequest request = request(DAY.plusDays(1));
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<ReservationResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(() -> idempotency.execute(key, request.fingerprint(), () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return reservationService.reserveSlot(request);
+                }));
+            }
+            List<Future<ReservationResponse>> futures = new ArrayList<>();
+            calls.forEach(call -> futures.add(executor.submit(call)));
+            Thread.sleep(200);
+            release.countDown();
+
+            List<Long> ids = new ArrayList<>();
+            for (Future<ReservationResponse> future : futures) {
+                ids.add(future.get().id());
+            }
+            assertThat(ids).containsOnly(ids.get(0));
+            assertThat(executions).hasValue(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void aDuplicateStopsWaitingAfterTheInProgressWait() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setInProgressWait(Duration.ofMillis(100));
+        ReservationIdempotency shortWait = new ReservationIdempotency(jdbcTemplate, objectMapper, properties,
+                new SimpleMeterRegistry());
+        ReserveRequest request = request(DAY.plusDays(6));
+        String key = UUID.randomUUID().toString();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ReservationResponse> first = executor.submit(() -> shortWait.execute(key, request.fingerprint(), () -> {
+                await(release);
+                return reservationService.reserveSlot(request);
+            }));
+            Thread.sleep(200);
+
+            assertThatThrownBy(() -> shortWait.execute(key, request.fingerprint(), () -> {
+                throw new AssertionError("Must not run alongside the first request");
+            })).isInstanceOf(IdempotencyKeyInProgressException.class);
+
+            // The first request is unaffected and its response is replayed afterwards
+            release.countDown();
+            ReservationResponse response = first.get();
+            assertThat(shortWait.execute(key, request.fingerprint(), () -> null)).isEqualTo(response);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sameKeyForADifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        reserve(key, request(DAY.plusDays(2)));
+
+        assertThatThrownBy(() -> reserve(key, request(DAY.plusDays(3))))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void failedRequestIsNotRemembered() {
+        ReserveRequest request = request(DAY.plusDays(4));
+        reservationService.reserveSlot(request);
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> reserve(key, request)).isInstanceOf(SlotUnavailableException.class);
+        ReservationResponse response = idempotency.execute(key, request.fingerprint(), () -> null);
+        assertThat(response).isNull();
+    }
+
+    @Test
+    void persistentKeysAreFoundByAnotherInstance() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setPersistent(true);
+        ReserveRequest request = request(DAY.plusDays(5));
+        String key = UUID.randomUUID().toString();
+
+        ReservationResponse first = new ReservationIdempotency(jdbcTemplate, objectMapper, properties, new SimpleMeterRegistry())
+                .execute(key, request.fingerprint(), () -> reservationService.reserveSlot(request));
+        ReservationResponse replayed = new ReservationIdempotency(jdbcTemplate, objectMapper, properties, new SimpleMeterRegistry())
+                .execute(key, request.fingerprint(), () -> {
+                    throw new AssertionError("Must be answered from idempotency_keys");
+                });
+
+        assertThat(replayed).isEqualTo(first);
+    }
+
+    private ReservationResponse reserve(String key, ReserveRequest request) {
+        return idempotency.execute(key, request.fingerprint(), () -> reservationService.reserveSlot(request));
+    }
+
+    private ReserveRequest request(LocalDateTime start) {
+        return new ReserveRequest(slotId, "KA05MH1234", start, start.plusHours(1), VehicleType.FOUR_WHEELER);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
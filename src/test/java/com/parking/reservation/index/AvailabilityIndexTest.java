@@ -0,0 +1,204 @@
+package com.parking.reservation.index;
+
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.entity.Floor;
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.repository.SlotRepository;
+import com.parking.reservation.repository.SlotSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final List<Sort> SORTS = List.of(
+            Sort.by("slotNumber"),
+            Sort.by(Sort.Direction.DESC, "slotNumber"),
+            Sort.by("floor.name").and(Sort.by("slotNumber")));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    private final Random random = new Random(7);
+    private final List<Slot> slots = new ArrayList<>();
+    private final List<Reservation> reservations = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int f = 0; f < 3; f++) {
+            Floor floor = entityManager.persist(new Floor(null, "Floor-" + (char) ('C' - f)));
+            for (int i = 0; i < 12; i++) {
+                Slot slot = new Slot();
+                slot.setFloor(floor);
+                slot.setSlotNumber(f + "-" + i);
+                slot.setVehicleType(i % 3 == 0 ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER);
+                slots.add(entityManager.persist(slot));
+            }
+        }
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(2 * 24 * 60));
+            Reservation reservation = new Reservation();
+            reservation.setSlot(slots.get(random.nextInt(slots.size())));
+            reservation.setVehicleNumber("KA05MH1234");
+            reservation.setStartTime(start);
+            reservation.setEndTime(start.plusMinutes(5 + random.nextInt(5 * 60)));
+            reservation.setCost(BigDecimal.TEN);
+            reservation.setStatus(random.nextInt(4) == 0 ? ReservationStatus.CANCELLED : ReservationStatus.ACTIVE);
+            reservations.add(entityManager.persist(reservation));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void matchesFindAvailableSlots() {
+        SlotIntervalIndex intervals = new SlotIntervalIndex(reservationRepository);
+        AvailabilityIndex availability = new AvailabilityIndex(slotRepository, intervals);
+        intervals.warmUp();
+        availability.warmUp();
+
+        assertMatchesRepository(availability);
+    }
+
+    @Test
+    void matchesFindAvailableSlotsAfterCancellations() {
+        SlotIntervalIndex intervals = new SlotIntervalIndex(reservationRepository);
+        AvailabilityIndex availability = new AvailabilityIndex(slotRepository, intervals);
+        intervals.warmUp();
+        availability.warmUp();
+
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatus() == ReservationStatus.ACTIVE && random.nextBoolean()) {
+                Reservation managed = entityManager.find(Reservation.class, reservation.getId());
+                managed.setStatus(ReservationStatus.CANCELLED);
+                intervals.remove(reservation.getSlot().getId(), reservation.getId());
+                availability.markReleased(reservation.getSlot().getId(), reservation.getStartTime(), reservation.getEndTime());
+            }
+        }
+        entityManager.flush();
+
+        assertMatchesRepository(availability);
+    }
+
+    @Test
+    void keysetScrollingMatchesFindAvailableSlots() {
+        SlotIntervalIndex intervals = new SlotIntervalIndex(reservationRepository);
+        AvailabilityIndex availability = new AvailabilityIndex(slotRepository, intervals);
+        intervals.warmUp();
+        availability.warmUp();
+
+        for (int i = 0; i < 50; i++) {
+            VehicleType type = random.nextBoolean() ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER;
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(2 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(8 * 60));
+            Sort sort = SORTS.get(random.nextInt(SORTS.size()));
+            int size = 1 + random.nextInt(5);
+
+            List<Long> expected = reservationRepository
+                    .findAvailableSlots(start, end, type, PageRequest.of(0, Integer.MAX_VALUE, sort.and(Sort.by("id"))))
+                    .map(Slot::getId).getContent();
+
+            List<Long> fromIndex = new ArrayList<>();
+            List<SlotResponse> page = availability.findAvailableSlotsAfter(start, end, type, sort, null, size);
+            while (!page.isEmpty()) {
+                page.forEach(slot -> fromIndex.add(slot.id()));
+                page = availability.findAvailableSlotsAfter(start, end, type, sort, page.get(page.size() - 1), size);
+            }
+
+            List<Long> fromDatabase = new ArrayList<>();
+            Window<Slot> window = scroll(type, start, end, sort, size, ScrollPosition.keyset());
+            window.forEach(slot -> fromDatabase.add(slot.getId()));
+            while (window.hasNext()) {
+                window = scroll(type, start, end, sort, size, window.positionAt(window.size() - 1));
+                window.forEach(slot -> fromDatabase.add(slot.getId()));
+            }
+
+            assertThat(fromIndex).as("index, %s between %s and %s by %s", type, start, end, sort).isEqualTo(expected);
+            assertThat(fromDatabase).as("database, %s between %s and %s by %s", type, start, end, sort).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void freeSlotsComePreferredFloorFirstFromARandomStart() {
+        SlotIntervalIndex intervals = new SlotIntervalIndex(reservationRepository);
+        AvailabilityIndex availability = new AvailabilityIndex(slotRepository, intervals);
+        intervals.warmUp();
+        availability.warmUp();
+
+        Set<Long> firstPicks = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            VehicleType type = random.nextBoolean() ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER;
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(2 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(8 * 60));
+            Long floorId = slots.get(random.nextInt(slots.size())).getFloor().getId();
+            List<Slot> free = reservationRepository
+                    .findAvailableSlots(start, end, type, PageRequest.of(0, Integer.MAX_VALUE)).getContent();
+            long freeOnFloor = free.stream().filter(slot -> slot.getFloor().getId().equals(floorId)).count();
+
+            List<SlotResponse> all = availability.findFreeSlots(start, end, type, floorId, slots.size());
+            assertThat(all).extracting(SlotResponse::id)
+                    .containsExactlyInAnyOrderElementsOf(free.stream().map(Slot::getId).toList());
+            assertThat(all.subList(0, (int) freeOnFloor)).allMatch(slot -> slot.floorId().equals(floorId));
+
+            List<SlotResponse> few = availability.findFreeSlots(start, end, type, null, 2);
+            assertThat(few).hasSize(Math.min(2, free.size()));
+            few.stream().findFirst().ifPresent(slot -> firstPicks.add(slot.id()));
+        }
+        // Not always the lowest slot
+        assertThat(firstPicks.size()).isGreaterThan(5);
+    }
+
+    private Window<Slot> scroll(VehicleType type, LocalDateTime start, LocalDateTime end, Sort sort, int size,
+                                ScrollPosition position) {
+        return slotRepository.findBy(SlotSpecifications.availableFor(type, start, end),
+                query -> query.sortBy(sort).limit(size).scroll(position));
+    }
+
+    private void assertMatchesRepository(AvailabilityIndex availability) {
+        for (int i = 0; i < 300; i++) {
+            VehicleType type = random.nextBoolean() ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER;
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(2 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(8 * 60));
+            PageRequest pageable = PageRequest.of(random.nextInt(3), 1 + random.nextInt(8), SORTS.get(random.nextInt(SORTS.size())));
+
+            Page<Slot> expected = reservationRepository.findAvailableSlots(start, end, type, pageable);
+            Page<SlotResponse> actual = availability.findAvailableSlots(start, end, type, pageable);
+
+            assertThat(actual.getTotalElements())
+                    .as("%s between %s and %s", type, start, end)
+                    .isEqualTo(expected.getTotalElements());
+            assertThat(actual.getContent()).extracting(SlotResponse::id)
+                    .as("%s between %s and %s, %s", type, start, end, pageable)
+                    .containsExactlyElementsOf(expected.getContent().stream().map(Slot::getId).toList());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.parking.reservation.index;
+
+import com.parking.reservation.entity.Floor;
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class SlotIntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final Random random = new Random(42);
+    private final List<Slot> slots = new ArrayList<>();
+    private final List<Reservation> reservations = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        Floor floor = entityManager.persist(new Floor(null, "F1"));
+        for (int i = 0; i < 4; i++) {
+            Slot slot = new Slot();
+            slot.setFloor(floor);
+            slot.setSlotNumber("S" + i);
+            slot.setVehicleType(VehicleType.FOUR_WHEELER);
+            slots.add(entityManager.persist(slot));
+        }
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = randomTime();
+            Reservation reservation = new Reservation();
+            reservation.setSlot(slots.get(random.nextInt(slots.size())));
+            reservation.setVehicleNumber("KA05MH1234");
+            reservation.setStartTime(start);
+            reservation.setEndTime(start.plusMinutes(15 + random.nextInt(6 * 60)));
+            reservation.setCost(BigDecimal.TEN);
+            reservation.setStatus(random.nextInt(5) == 0 ? ReservationStatus.CANCELLED : ReservationStatus.ACTIVE);
+            reservations.add(entityManager.persist(reservation));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void matchesFindOverlappingAfterWarmUp() {
+        SlotIntervalIndex index = new SlotIntervalIndex(reservationRepository);
+        index.warmUp();
+
+        assertThat(index.isReady()).isTrue();
+        assertMatchesRepository(index);
+    }
+
+    @Test
+    void matchesFindOverlappingAfterCancellations() {
+        SlotIntervalIndex index = new SlotIntervalIndex(reservationRepository);
+        index.warmUp();
+
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatus() == ReservationStatus.ACTIVE && random.nextBoolean()) {
+                reservation.setStatus(ReservationStatus.CANCELLED);
+                index.remove(reservation.getSlot().getId(), reservation.getId());
+            }
+        }
+        entityManager.flush();
+
+        assertMatchesRepository(index);
+    }
+
+    private void assertMatchesRepository(SlotIntervalIndex index) {
+        for (int i = 0; i < 2_000; i++) {
+            Slot slot = slots.get(random.nextInt(slots.size()));
+            LocalDateTime start = randomTime();
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(4 * 60));
+
+            boolean expected = !reservationRepository
+                    .findOverlapping(slot.getId(), ReservationStatus.ACTIVE, start, end)
+                    .isEmpty();
+
+            assertThat(index.overlaps(slot.getId(), start, end))
+                    .as("slot %d between %s and %s", slot.getId(), start, end)
+                    .isEqualTo(expected);
+        }
+    }
+
+    private LocalDateTime randomTime() {
+        return DAY.plusMinutes(random.nextInt(3 * 24 * 4) * 15L);
+    }
+}
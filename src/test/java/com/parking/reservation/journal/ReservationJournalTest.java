@@ -0,0 +1,139 @@
+package com.parking.reservation.journal;
+
+import com.parking.reservation.enums.ReservationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationJournalTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2099, 1, 1, 8, 0, 0, 123_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversEveryAcknowledgedRecordAfterACrash() throws IOException {
+        ConcurrentLinkedQueue<JournalEntry> durable = new ConcurrentLinkedQueue<>();
+        ReservationJournal journal = openWith(durable);
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            acks.add(journal.append(entry(i, i % 7 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.ACTIVE)));
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).join();
+        journal.halt();
+
+        List<JournalEntry> recovered = open(64 * 1024).recover();
+        assertThat(recovered).containsExactlyElementsOf(durable);
+        assertThat(recovered).hasSize(200).contains(entry(7, ReservationStatus.CANCELLED), entry(8, ReservationStatus.ACTIVE));
+    }
+
+    @Test
+    void dropsATornRecordAtTheEndOfTheJournal() throws IOException {
+        ReservationJournal journal = openWith(new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < 3; i++) {
+            journal.append(entry(i, ReservationStatus.ACTIVE)).join();
+        }
+        journal.halt();
+        Path segment = onlySegment();
+        long intact = Files.size(segment);
+        // Header promising 80 bytes, followed by only a few of them
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(80).putInt(42).putInt(7).flip());
+        }
+
+        ReservationJournal recovering = open(64 * 1024);
+        assertThat(recovering.recover()).extracting(JournalEntry::reservationId).containsExactly(0L, 1L, 2L);
+        assertThat(Files.size(segment)).isEqualTo(intact);
+    }
+
+    @Test
+    void stopsAtARecordWithABadChecksum() throws IOException {
+        ReservationJournal journal = openWith(new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < 3; i++) {
+            journal.append(entry(i, ReservationStatus.ACTIVE)).join();
+        }
+        journal.halt();
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), Files.size(segment) - 1);
+        }
+
+        assertThat(open(64 * 1024).recover()).extracting(JournalEntry::reservationId).containsExactly(0L, 1L);
+    }
+
+    @Test
+    void releaseDeletesOnlySegmentsThatArePersistedElsewhere() throws IOException {
+        // Every group starts a new segment
+        ReservationJournal journal = open(1);
+        journal.recover();
+        journal.open((sequence, entry) -> {
+        });
+        for (int i = 0; i < 5; i++) {
+            journal.append(entry(i, ReservationStatus.ACTIVE)).join();
+        }
+        assertThat(segments()).hasSize(5);
+
+        journal.release(2);
+        assertThat(segments()).hasSize(2);
+        journal.release(4);
+        assertThat(segments()).as("the segment being written is kept").hasSize(1);
+        journal.close();
+
+        assertThat(open(1).recover()).extracting(JournalEntry::reservationId).containsExactly(4L);
+    }
+
+    @Test
+    void rejectsAppendsOnceClosed() throws IOException {
+        ReservationJournal journal = openWith(new ConcurrentLinkedQueue<>());
+        journal.close();
+
+        assertThat(journal.isAvailable()).isFalse();
+        assertThat(journal.append(entry(1, ReservationStatus.ACTIVE))).isCompletedExceptionally();
+    }
+
+    private ReservationJournal openWith(ConcurrentLinkedQueue<JournalEntry> durable) throws IOException {
+        ReservationJournal journal = open(64 * 1024);
+        journal.recover();
+        journal.open((sequence, entry) -> durable.add(entry));
+        return journal;
+    }
+
+    private ReservationJournal open(long segmentBytes) {
+        return new ReservationJournal(directory, segmentBytes, true, new SimpleMeterRegistry());
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertThat(segments).hasSize(1);
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static JournalEntry entry(long id, ReservationStatus status) {
+        return new JournalEntry(id, 100 + id % 3, "KA05MH" + (1000 + id), START.plusHours(id), START.plusHours(id + 1),
+                new BigDecimal("40.50"), status);
+    }
+}
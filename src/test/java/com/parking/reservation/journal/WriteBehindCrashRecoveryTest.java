@@ -0,0 +1,208 @@
+package com.parking.reservation.journal;
+
+import com.parking.reservation.ReservationApplication;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Restarts the application on the same file database and journal directory, with the first run stopped the way
+ * a killed process would be, and checks that every acknowledged reservation and cancellation is there.
+ */
+class WriteBehindCrashRecoveryTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2099, 3, 1, 0, 0);
+    private static final int RESERVATIONS = 60;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void acknowledgedChangesSurviveACrashBeforeTheyReachTheDatabase() throws Exception {
+        Long slotId;
+        List<ReservationResponse> acknowledged = new ArrayList<>();
+        List<Long> cancelled = new ArrayList<>();
+        // Nothing is flushed during the first run
+        try (ConfigurableApplicationContext first = start("1h")) {
+            slotId = createSlot(first);
+            acknowledged.addAll(reserveConcurrently(first, slotId));
+            ReservationService service = first.getBean(ReservationService.class);
+            for (int i = 0; i < RESERVATIONS; i += 10) {
+                service.cancelReservation(acknowledged.get(i).id());
+                cancelled.add(acknowledged.get(i).id());
+            }
+
+            assertThat(first.getBean(ReservationRepository.class).count()).isZero();
+            assertThat(service.getReservation(cancelled.get(0)).status()).isEqualTo(ReservationStatus.CANCELLED);
+            first.getBean(ReservationWriteBehind.class).halt();
+        }
+
+        try (ConfigurableApplicationContext second = start()) {
+            Map<Long, Reservation> stored = second.getBean(ReservationRepository.class).findAll().stream()
+                    .collect(Collectors.toMap(Reservation::getId, reservation -> reservation));
+            assertThat(stored).hasSize(RESERVATIONS);
+            for (ReservationResponse response : acknowledged) {
+                Reservation reservation = stored.get(response.id());
+                assertThat(reservation.getStartTime()).isEqualTo(response.startTime());
+                assertThat(reservation.getCost()).isEqualByComparingTo(response.cost());
+                assertThat(reservation.getStatus()).isEqualTo(cancelled.contains(response.id())
+                        ? ReservationStatus.CANCELLED : ReservationStatus.ACTIVE);
+            }
+
+            // The recovered reservations are what the warmed index decides against
+            SlotIntervalIndex index = second.getBean(SlotIntervalIndex.class);
+            ReservationResponse active = acknowledged.get(1);
+            ReservationResponse freed = acknowledged.get(0);
+            assertThat(index.overlaps(slotId, active.startTime(), active.endTime())).isTrue();
+            assertThat(index.overlaps(slotId, freed.startTime(), freed.endTime())).isFalse();
+
+            ReservationService service = second.getBean(ReservationService.class);
+            assertThatThrownBy(() -> service.reserveSlot(request(slotId, active.startTime())))
+                    .isInstanceOf(SlotUnavailableException.class);
+            assertThat(service.reserveSlot(request(slotId, freed.startTime())).id())
+                    .isNotIn(stored.keySet());
+        }
+    }
+
+    @Test
+    void replaySkipsChangesTheDatabaseAlreadyHasAndATornTail() throws Exception {
+        List<ReservationResponse> acknowledged;
+        try (ConfigurableApplicationContext first = start()) {
+            Long slotId = createSlot(first);
+            acknowledged = reserveConcurrently(first, slotId);
+            ReservationWriteBehind writeBehind = first.getBean(ReservationWriteBehind.class);
+            awaitCaughtUp(writeBehind);
+            assertThat(first.getBean(ReservationRepository.class).count()).isEqualTo(RESERVATIONS);
+            writeBehind.halt();
+        }
+        // A record the crash interrupted halfway through
+        try (FileChannel segment = FileChannel.open(onlySegment(), StandardOpenOption.APPEND)) {
+            segment.write(ByteBuffer.allocate(6).putInt(90).putShort((short) 1).flip());
+        }
+
+        try (ConfigurableApplicationContext second = start()) {
+            assertThat(second.getBean(ReservationRepository.class).findAll())
+                    .extracting(Reservation::getId)
+                    .containsExactlyInAnyOrderElementsOf(acknowledged.stream().map(ReservationResponse::id).toList());
+        }
+    }
+
+    @Test
+    void gracefulShutdownAppliesTheBacklogAndEmptiesTheJournal() throws Exception {
+        try (ConfigurableApplicationContext first = start("1h")) {
+            reserveConcurrently(first, createSlot(first));
+            assertThat(first.getBean(ReservationRepository.class).count()).isZero();
+        }
+        assertThat(segments()).isEmpty();
+
+        try (ConfigurableApplicationContext second = start()) {
+            assertThat(second.getBean(ReservationRepository.class).count()).isEqualTo(RESERVATIONS);
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return start("20ms");
+    }
+
+    private ConfigurableApplicationContext start(String flushInterval) {
+        // Passed as arguments, which take precedence over application.properties
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("db").toAbsolutePath(),
+                "--reservation.locking.mode=striped",
+                "--reservation.write-behind.enabled=true",
+                "--reservation.write-behind.directory=" + directory.resolve("journal").toAbsolutePath(),
+                "--reservation.write-behind.flush-interval=" + flushInterval,
+                "--reservation.archive.enabled=false",
+                "--reservation.cache.max-size=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=INFO"};
+        return new SpringApplicationBuilder(ReservationApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    private static Long createSlot(ConfigurableApplicationContext context) {
+        Long floorId = context.getBean(FloorService.class).createFloor(new CreateFloorRequest("Floor-1")).id();
+        return context.getBean(SlotService.class)
+                .createSlot(new CreateSlotRequest(floorId, "WB-1", VehicleType.FOUR_WHEELER)).id();
+    }
+
+    // Concurrent callers so that acknowledgements share fsyncs
+    private static List<ReservationResponse> reserveConcurrently(ConfigurableApplicationContext context, Long slotId)
+            throws Exception {
+        ReservationService service = context.getBean(ReservationService.class);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<ReservationResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < RESERVATIONS; i++) {
+                LocalDateTime start = DAY.plusHours(2L * i);
+                calls.add(() -> service.reserveSlot(request(slotId, start)));
+            }
+            List<ReservationResponse> responses = new ArrayList<>();
+            for (Future<ReservationResponse> future : executor.invokeAll(calls)) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ReserveRequest request(Long slotId, LocalDateTime start) {
+        return new ReserveRequest(slotId, "KA05MH1234", start, start.plusHours(1), VehicleType.FOUR_WHEELER);
+    }
+
+    private static void awaitCaughtUp(ReservationWriteBehind writeBehind) throws InterruptedException {
+        for (int i = 0; i < 500 && !writeBehind.isCaughtUp(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(writeBehind.isCaughtUp()).isTrue();
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertThat(segments).hasSize(1);
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("journal"))) {
+            return files.toList();
+        }
+    }
+}
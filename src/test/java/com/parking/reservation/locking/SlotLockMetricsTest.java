@@ -0,0 +1,168 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.event.ReservationChangedEvent;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Same properties as SlotLockingConcurrencyTest, so the contexts are shared
+class SlotLockMetricsTest {
+
+    private static final String QUIET_SQL = "spring.jpa.show-sql=false";
+    private static final String QUIET_SQL_LOG = "logging.level.org.hibernate.SQL=INFO";
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=pessimistic", QUIET_SQL, QUIET_SQL_LOG})
+    class Pessimistic extends OneReservation {
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=optimistic", QUIET_SQL, QUIET_SQL_LOG})
+    class Optimistic extends OneReservation {
+
+        @Autowired
+        private ConfigurableApplicationContext context;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Test
+        void aVersionConflictIsCountedAndRetried() {
+            Long slotId = createSlot();
+            double retried = conflicts("retried");
+            double gaveUp = conflicts("gave_up");
+
+            // Another writer bumps the slot version while the first attempt is still open
+            AtomicBoolean bumped = new AtomicBoolean();
+            ApplicationListener<ApplicationEvent> interleave = event -> {
+                if (event instanceof PayloadApplicationEvent<?> payload
+                        && payload.getPayload() instanceof ReservationChangedEvent changed
+                        && changed.slotId().equals(slotId) && bumped.compareAndSet(false, true)) {
+                    CompletableFuture.runAsync(() ->
+                            jdbcTemplate.update("UPDATE slots SET version = version + 1 WHERE id = ?", slotId)).join();
+                    entityManagerFactory.getCache().evict(Slot.class, slotId);
+                }
+            };
+            context.addApplicationListener(interleave);
+            try {
+                reserve(slotId);
+            } finally {
+                context.removeApplicationListener(interleave);
+            }
+
+            assertThat(bumped).isTrue();
+            assertThat(conflicts("retried")).isEqualTo(retried + 1);
+            assertThat(conflicts("gave_up")).isEqualTo(gaveUp);
+        }
+
+        private double conflicts(String outcome) {
+            Counter counter = meterRegistry().find("reservation.lock.optimistic.conflicts").tag("outcome", outcome).counter();
+            assertThat(counter).as("conflict counter %s", outcome).isNotNull();
+            return counter.count();
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=striped", QUIET_SQL, QUIET_SQL_LOG})
+    class Striped extends OneReservation {
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=lease", "reservation.locking.lease-store=local", QUIET_SQL, QUIET_SQL_LOG})
+    class Lease extends OneReservation {
+    }
+
+    abstract static class OneReservation {
+
+        private static final LocalDateTime DAY = LocalDateTime.of(2097, 9, 1, 9, 0);
+
+        @Autowired
+        private FloorService floorService;
+
+        @Autowired
+        private SlotService slotService;
+
+        @Autowired
+        private ReservationService reservationService;
+
+        @Autowired
+        private SlotLockProperties lockProperties;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void recordsTheLockWaitAndTheOperationOutcome() {
+            Long slotId = createSlot();
+            SlotLockMode mode = lockProperties.getMode();
+            long lockWaits = lockWaits(mode);
+            long booked = operations("none");
+            long rejected = operations(SlotUnavailableException.class.getSimpleName());
+
+            reserve(slotId);
+            assertThatThrownBy(() -> reserve(slotId)).isInstanceOf(SlotUnavailableException.class);
+
+            // Optimistic reservations take no lock and have nothing to wait for
+            assertThat(lockWaits(mode)).isEqualTo(lockWaits + (mode == SlotLockMode.OPTIMISTIC ? 0 : 2));
+            assertThat(operations("none")).isEqualTo(booked + 1);
+            assertThat(operations(SlotUnavailableException.class.getSimpleName())).isEqualTo(rejected + 1);
+        }
+
+        protected Long createSlot() {
+            Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+            return slotService.createSlot(new CreateSlotRequest(floorId, "M1", VehicleType.FOUR_WHEELER)).id();
+        }
+
+        protected void reserve(Long slotId) {
+            reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", DAY, DAY.plusHours(1),
+                    VehicleType.FOUR_WHEELER));
+        }
+
+        protected MeterRegistry meterRegistry() {
+            return meterRegistry;
+        }
+
+        private long lockWaits(SlotLockMode mode) {
+            Timer timer = meterRegistry.find("reservation.lock.wait").tag("mode", mode.name().toLowerCase()).timer();
+            assertThat(timer).as("lock wait timer for %s", mode).isNotNull();
+            return timer.count();
+        }
+
+        // Timed by the class-level @Timed on ReservationServiceImpl
+        private long operations(String exception) {
+            Timer timer = meterRegistry.find("reservation.operation").tag("method", "reserveSlot")
+                    .tag("exception", exception).timer();
+            return timer == null ? 0 : timer.count();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.parking.reservation.locking;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.index.ReservationInterval;
+import com.parking.reservation.repository.ReservationRepository;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotLockingConcurrencyTest {
+
+    private static final String QUIET_SQL = "spring.jpa.show-sql=false";
+    private static final String QUIET_SQL_LOG = "logging.level.org.hibernate.SQL=INFO";
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=pessimistic", QUIET_SQL, QUIET_SQL_LOG})
+    class Pessimistic extends ConcurrentReservations {
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=optimistic", QUIET_SQL, QUIET_SQL_LOG})
+    class Optimistic extends ConcurrentReservations {
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=striped", QUIET_SQL, QUIET_SQL_LOG})
+    class Striped extends ConcurrentReservations {
+    }
+
+    // The in-process lease store; the jdbc one is exercised across nodes by ClusterNodesTest
+    @Nested
+    @SpringBootTest(properties = {"reservation.locking.mode=lease", "reservation.locking.lease-store=local", QUIET_SQL, QUIET_SQL_LOG})
+    class Lease extends ConcurrentReservations {
+    }
+
+    @Slf4j
+    abstract static class ConcurrentReservations {
+
+        private static final int SLOTS = 3;
+        private static final int REQUESTS = 2_000;
+        private static final int THREADS = 32;
+        private static final LocalDateTime DAY = LocalDateTime.of(2099, 1, 1, 0, 0);
+
+        @Autowired
+        private FloorService floorService;
+
+        @Autowired
+        private SlotService slotService;
+
+        @Autowired
+        private ReservationService reservationService;
+
+        @Autowired
+        private ReservationRepository reservationRepository;
+
+        @Autowired
+        private SlotLockProperties lockProperties;
+
+        @Test
+        void neverDoubleBooksASlot() throws InterruptedException {
+            Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+            List<Long> slotIds = new ArrayList<>();
+            for (int i = 0; i < SLOTS; i++) {
+                slotIds.add(slotService.createSlot(new CreateSlotRequest(floorId, "C" + i, VehicleType.FOUR_WHEELER)).id());
+            }
+
+            AtomicInteger booked = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(4 * 24));
+                    ReserveRequest request = new ReserveRequest(
+                            slotIds.get(random.nextInt(SLOTS)),
+                            "KA05MH1234",
+                            start,
+                            start.plusMinutes(15L * (1 + random.nextInt(8))),
+                            VehicleType.FOUR_WHEELER);
+                    try {
+                        reservationService.reserveSlot(request);
+                        booked.incrementAndGet();
+                    } catch (SlotUnavailableException ex) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable ex) {
+                        unexpected.add(ex);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            log.info("{} locking: {} requests in {} ms ({} req/s), {} booked, {} rejected, {} failed",
+                    lockProperties.getMode(), REQUESTS, elapsedMillis, REQUESTS * 1000L / elapsedMillis,
+                    booked.get(), rejected.get(), unexpected.size());
+
+            assertThat(unexpected).isEmpty();
+            assertThat(booked.get()).isPositive();
+
+            Map<Long, List<ReservationInterval>> active = reservationRepository
+                    .findIntervalsByStatus(ReservationStatus.ACTIVE).stream()
+                    .filter(interval -> slotIds.contains(interval.slotId()))
+                    .collect(Collectors.groupingBy(ReservationInterval::slotId));
+            assertThat(active.values().stream().mapToInt(List::size).sum()).isEqualTo(booked.get());
+
+            for (List<ReservationInterval> intervals : active.values()) {
+                intervals.sort(Comparator.comparing(ReservationInterval::startTime));
+                for (int i = 1; i < intervals.size(); i++) {
+                    assertThat(intervals.get(i).startTime())
+                            .as("reservation %d overlaps %d", intervals.get(i).reservationId(), intervals.get(i - 1).reservationId())
+                            .isAfterOrEqualTo(intervals.get(i - 1).endTime());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.parking.reservation.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerName("org.hibernate.SQL");
+        filter.setRate(10);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void logsAboutOneInRateGuardedStatements() {
+        Logger sql = context.getLogger("org.hibernate.SQL");
+        for (int i = 0; i < 10_000; i++) {
+            if (sql.isDebugEnabled()) {
+                sql.debug("select {}", i);
+            }
+        }
+
+        assertThat(appender.list).hasSizeBetween(700, 1300);
+    }
+
+    @Test
+    void otherLoggersAndLevelsAreNotSampled() {
+        Logger slow = context.getLogger("org.hibernate.SQL_SLOW");
+        Logger sql = context.getLogger("org.hibernate.SQL");
+        for (int i = 0; i < 100; i++) {
+            if (slow.isDebugEnabled()) {
+                slow.debug("slow select {}", i);
+            }
+            if (sql.isInfoEnabled()) {
+                sql.info("select {}", i);
+            }
+        }
+
+        assertThat(appender.list).hasSize(200);
+    }
+}
@@ -0,0 +1,118 @@
+package com.parking.reservation.pricing;
+
+import com.parking.reservation.enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricingEngineTest {
+
+    private static final long FLOOR_ID = 7;
+    private static final LocalDateTime EVENING = LocalDateTime.of(2030, 5, 10, 20, 0);
+
+    @Test
+    void withoutRulesEveryStartedHourCostsWhatPricingUtilCharged() {
+        PricingEngine engine = new PricingEngine(new PricingProperties());
+        List<Duration> durations = List.of(Duration.ZERO, Duration.ofMinutes(1), Duration.ofMinutes(59),
+                Duration.ofMinutes(60), Duration.ofMinutes(61), Duration.ofMinutes(120).minusSeconds(1),
+                Duration.ofHours(1).minusNanos(1), Duration.ofHours(25).plusMinutes(30));
+
+        for (VehicleType type : VehicleType.values()) {
+            for (Duration duration : durations) {
+                LocalDateTime start = EVENING.plusNanos(500_000_000);
+                LocalDateTime end = start.plus(duration);
+                assertThat(engine.calculateCost(type, FLOOR_ID, start, end))
+                        .as("%s for %s", type, duration)
+                        .isEqualTo(pricingUtil(type, start, end));
+            }
+        }
+    }
+
+    @Test
+    void peakBandsApplyByHourOfDayIncludingOneThatWrapsPastMidnight() {
+        PricingProperties properties = new PricingProperties();
+        properties.getPeakBands().add(band(22, 2, 200));
+        PricingEngine engine = new PricingEngine(properties);
+
+        // 21:00 plain, 22:00-01:00 doubled, 02:00 plain
+        LocalDateTime start = EVENING.withHour(21);
+        assertThat(engine.calculateCostPaise(VehicleType.FOUR_WHEELER, FLOOR_ID, start, start.plusHours(6)))
+                .isEqualTo(3_000 + 4 * 6_000 + 3_000);
+    }
+
+    @Test
+    void aBandEndingAtTwentyFourStopsAtMidnight() {
+        PricingProperties properties = new PricingProperties();
+        properties.getPeakBands().add(band(20, 24, 150));
+        PricingEngine engine = new PricingEngine(properties);
+
+        // 19:00 plain, 20:00-23:00 at 150%, 00:00 plain again
+        LocalDateTime start = EVENING.withHour(19);
+        assertThat(engine.calculateCostPaise(VehicleType.FOUR_WHEELER, FLOOR_ID, start, start.plusHours(6)))
+                .isEqualTo(3_000 + 4 * 4_500 + 3_000);
+    }
+
+    @Test
+    void floorMultipliersOnlyApplyToTheirFloor() {
+        PricingProperties properties = new PricingProperties();
+        properties.getFloorMultiplierPercent().put(FLOOR_ID, 120);
+        PricingEngine engine = new PricingEngine(properties);
+
+        assertThat(engine.calculateCost(VehicleType.TWO_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(2)))
+                .isEqualTo(BigDecimal.valueOf(48));
+        assertThat(engine.calculateCost(VehicleType.TWO_WHEELER, FLOOR_ID + 1, EVENING, EVENING.plusHours(2)))
+                .isEqualTo(BigDecimal.valueOf(40));
+    }
+
+    @Test
+    void theDailyCapAppliesToEachCalendarDaySeparately() {
+        PricingProperties properties = new PricingProperties();
+        properties.getDailyCap().put(VehicleType.FOUR_WHEELER, BigDecimal.valueOf(100));
+        PricingEngine engine = new PricingEngine(properties);
+
+        // Under the cap within one evening
+        assertThat(engine.calculateCost(VehicleType.FOUR_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(3)))
+                .isEqualTo(BigDecimal.valueOf(90));
+        // 20:00-08:00: 120 before midnight and 240 after, each capped at 100
+        assertThat(engine.calculateCost(VehicleType.FOUR_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(12)))
+                .isEqualTo(BigDecimal.valueOf(200));
+        // The cap does not apply to other vehicle types
+        assertThat(engine.calculateCost(VehicleType.TWO_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(12)))
+                .isEqualTo(BigDecimal.valueOf(240));
+    }
+
+    @Test
+    void hundredthsOfAPaisaRoundHalfUpOnTheTotal() {
+        PricingProperties properties = new PricingProperties();
+        properties.getPeakBands().add(band(0, 24, 1));
+        properties.getFloorMultiplierPercent().put(FLOOR_ID, 5);
+        PricingEngine engine = new PricingEngine(properties);
+
+        // Each hour is 3000 paise * 1% * 5% = 1.5 paise
+        assertThat(engine.calculateCostPaise(VehicleType.FOUR_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(1))).isEqualTo(2);
+        assertThat(engine.calculateCostPaise(VehicleType.FOUR_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(2))).isEqualTo(3);
+        // 4.5 rounds to 5, where rounding every hour would have charged 6
+        assertThat(engine.calculateCostPaise(VehicleType.FOUR_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(3))).isEqualTo(5);
+        assertThat(engine.calculateCost(VehicleType.FOUR_WHEELER, FLOOR_ID, EVENING, EVENING.plusHours(3)))
+                .isEqualTo(new BigDecimal("0.05"));
+    }
+
+    private static BigDecimal pricingUtil(VehicleType type, LocalDateTime start, LocalDateTime end) {
+        long minutes = Duration.between(start, end).toMinutes();
+        long hours = (long) Math.ceil(minutes / 60.0);
+        return type.getHourlyRate().multiply(BigDecimal.valueOf(hours));
+    }
+
+    private static PricingProperties.PeakBand band(int startHour, int endHour, int multiplierPercent) {
+        PricingProperties.PeakBand band = new PricingProperties.PeakBand();
+        band.setStartHour(startHour);
+        band.setEndHour(endHour);
+        band.setMultiplierPercent(multiplierPercent);
+        return band;
+    }
+}
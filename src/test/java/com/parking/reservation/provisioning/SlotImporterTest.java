@@ -0,0 +1,106 @@
+package com.parking.reservation.provisioning;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.response.SlotImportResponse;
+import com.parking.reservation.dto.response.SlotImportResponse.SlotImportFailure;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.InvalidImportException;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"reservation.slot-import.batch-size=2", "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"})
+class SlotImporterTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2099, 6, 1, 8, 0);
+
+    @Autowired
+    private SlotImporter slotImporter;
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void csvImportCreatesFloorsAndSlotsAndReportsEachConflict() throws Exception {
+        String existingFloor = "Floor-" + UUID.randomUUID();
+        String newFloor = "Floor-" + UUID.randomUUID();
+        Long floorId = floorService.createFloor(new CreateFloorRequest(existingFloor)).id();
+        slotService.createSlot(new CreateSlotRequest(floorId, "A1", VehicleType.FOUR_WHEELER));
+        // Puts the catalogue into the query cache
+        slotService.getSlots();
+
+        String csv = String.join("\n",
+                "slotNumber, vehicleType, floor",
+                "A1,FOUR_WHEELER," + existingFloor,
+                "A2,FOUR_WHEELER," + existingFloor,
+                "",
+                "B1,TWO_WHEELER," + newFloor,
+                "B2,TWO_WHEELER," + newFloor,
+                "B1,FOUR_WHEELER," + newFloor,
+                "B3,BUS," + newFloor,
+                "B4,TWO_WHEELER",
+                "B5,TWO_WHEELER," + newFloor);
+
+        SlotImportResponse response = slotImporter.importCsv(new StringReader(csv));
+
+        assertThat(response.created()).isEqualTo(4);
+        assertThat(response.floorsCreated()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(4);
+        assertThat(response.failures()).extracting(SlotImportFailure::line).containsExactly(2, 7, 8, 9);
+        assertThat(response.failures().get(0).reason())
+                .isEqualTo("Slot with number 'A1' already exists on floor '" + existingFloor + "'");
+        assertThat(response.failures().get(1).slotNumber()).isEqualTo("B1");
+
+        assertThat(slotService.getSlots())
+                .filteredOn(slot -> slot.floorName().equals(newFloor))
+                .extracting(SlotResponse::slotNumber)
+                .containsExactlyInAnyOrder("B1", "B2", "B5");
+        assertThat(reservationService.getAvailableSlots(DAY, DAY.plusHours(1), VehicleType.TWO_WHEELER,
+                PageRequest.of(0, 1000)).getContent())
+                .filteredOn(slot -> slot.floorName().equals(newFloor))
+                .hasSize(3);
+    }
+
+    @Test
+    void ndjsonImportReportsLinesItCannotParse() throws Exception {
+        String floor = "Floor-" + UUID.randomUUID();
+        String ndjson = String.join("\n",
+                "{\"floor\":\"" + floor + "\",\"slotNumber\":\"N1\",\"vehicleType\":\"FOUR_WHEELER\"}",
+                "{\"floor\":\"" + floor + "\",\"slotNumber\":",
+                "[1, 2]",
+                "{\"floor\":\"" + floor + "\",\"slotNumber\":\"N2\",\"vehicleType\":\"TWO_WHEELER\"}");
+
+        SlotImportResponse response = slotImporter.importNdjson(new StringReader(ndjson));
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failures()).extracting(SlotImportFailure::reason)
+                .containsExactly("Invalid JSON", "Expected a JSON object");
+    }
+
+    @Test
+    void csvWithoutTheRequiredColumnsIsRejected() {
+        assertThatThrownBy(() -> slotImporter.importCsv(new StringReader("floor,slot\nF,1")))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("slotNumber");
+    }
+}
@@ -0,0 +1,118 @@
+package com.parking.reservation.repository;
+
+import com.parking.reservation.entity.Floor;
+import com.parking.reservation.entity.Reservation;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate actually generates for the time-range queries and fails when
+ * the reservations table is scanned instead of read through one of its indexes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.parking.reservation.repository.ReservationQueryPlanTest$RecordingInspector")
+class ReservationQueryPlanTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Slot slot;
+
+    @BeforeEach
+    void seed() {
+        Floor floor = entityManager.persist(new Floor(null, "Floor-P"));
+        for (int i = 0; i < 20; i++) {
+            Slot created = new Slot();
+            created.setFloor(floor);
+            created.setSlotNumber("P-" + i);
+            created.setVehicleType(i % 2 == 0 ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER);
+            slot = entityManager.persist(created);
+            for (int h = 0; h < 50; h++) {
+                Reservation reservation = new Reservation();
+                reservation.setSlot(slot);
+                reservation.setVehicleNumber("KA05MH1234");
+                reservation.setStartTime(DAY.plusHours(h));
+                reservation.setEndTime(DAY.plusHours(h).plusMinutes(45));
+                reservation.setCost(BigDecimal.TEN);
+                reservation.setStatus(h % 5 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.ACTIVE);
+                entityManager.persist(reservation);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findOverlappingUsesAnIndex() {
+        reservationRepository.findOverlapping(slot.getId(), ReservationStatus.ACTIVE, DAY.plusHours(3), DAY.plusHours(5));
+
+        String plan = explain(lastStatement("reservations"),
+                slot.getId(), ReservationStatus.ACTIVE.name(), DAY.plusHours(3), DAY.plusHours(5));
+        assertThat(plan).doesNotContainIgnoringCase("RESERVATIONS.tableScan")
+                .containsIgnoringCase("IDX_RESERVATIONS_SLOT_STATUS_TIME");
+    }
+
+    @Test
+    void findAvailableSlotsUsesIndexes() {
+        reservationRepository.findAvailableSlots(DAY.plusHours(3), DAY.plusHours(5), VehicleType.FOUR_WHEELER,
+                PageRequest.of(0, 10, Sort.by("slotNumber")));
+
+        String plan = explain(lastStatement("slots"),
+                VehicleType.FOUR_WHEELER.name(), DAY.plusHours(3), DAY.plusHours(5), 10);
+        assertThat(plan).doesNotContainIgnoringCase("RESERVATIONS.tableScan")
+                .doesNotContainIgnoringCase("SLOTS.tableScan")
+                .containsIgnoringCase("IDX_RESERVATIONS_")
+                .containsIgnoringCase("IDX_SLOTS_TYPE_NUMBER");
+    }
+
+    private String explain(String sql, Object... args) {
+        List<String> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        return String.join("\n", rows);
+    }
+
+    private static String lastStatement(String fromTable) {
+        return RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains("from " + fromTable))
+                .filter(sql -> !sql.toLowerCase().startsWith("select count"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No query on " + fromTable + " was recorded"));
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.dto.request.AutoReserveRequest;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.InvalidReservationException;
+import com.parking.reservation.exception.SlotUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+class AutoAssignmentTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2098, 7, 1, 9, 0);
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void concurrentCallersGetDistinctSlotsAndFillThePreferredFloorFirst() throws Exception {
+        Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        Set<Long> floorSlots = new HashSet<>();
+        // Fewer than the candidates looked up per attempt, so every caller sees all of them
+        for (int i = 0; i < 6; i++) {
+            floorSlots.add(slotService.createSlot(new CreateSlotRequest(floorId, "AUTO-" + i, VehicleType.TWO_WHEELER)).id());
+        }
+        AutoReserveRequest request = new AutoReserveRequest("KA05MH1234", DAY, DAY.plusHours(2), VehicleType.TWO_WHEELER, floorId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        List<ReservationResponse> reserved = new ArrayList<>();
+        try {
+            List<Callable<ReservationResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                calls.add(() -> reservationService.reserveAnySlot(request));
+            }
+            for (Future<ReservationResponse> future : executor.invokeAll(calls)) {
+                try {
+                    reserved.add(future.get());
+                } catch (ExecutionException ex) {
+                    // Only when no other two-wheeler slot is free either
+                    assertThat(ex.getCause()).isInstanceOf(SlotUnavailableException.class);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> slotIds = reserved.stream().map(ReservationResponse::slotId).toList();
+        assertThat(slotIds).doesNotHaveDuplicates();
+        assertThat(slotIds).containsAll(floorSlots);
+    }
+
+    @Test
+    void fullFloorFallsBackToAnyFreeSlot() {
+        Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        Long otherFloorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        Long slotId = slotService.createSlot(new CreateSlotRequest(floorId, "AUTO-1", VehicleType.FOUR_WHEELER)).id();
+        slotService.createSlot(new CreateSlotRequest(otherFloorId, "AUTO-1", VehicleType.FOUR_WHEELER));
+        AutoReserveRequest request = new AutoReserveRequest("KA05MH1234", DAY.plusDays(1), DAY.plusDays(1).plusHours(1),
+                VehicleType.FOUR_WHEELER, floorId);
+
+        assertThat(reservationService.reserveAnySlot(request).slotId()).isEqualTo(slotId);
+        assertThat(reservationService.reserveAnySlot(request).slotId()).isNotEqualTo(slotId);
+    }
+
+    @Test
+    void invalidWindowIsRejectedBeforeLookingForSlots() {
+        AutoReserveRequest request = new AutoReserveRequest("KA05MH1234", DAY.plusHours(2), DAY, VehicleType.FOUR_WHEELER, null);
+
+        assertThatThrownBy(() -> reservationService.reserveAnySlot(request))
+                .isInstanceOf(InvalidReservationException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.dto.request.BatchReserveRequest;
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.BatchReservationResponse;
+import com.parking.reservation.dto.response.BatchReservationResponse.BatchReservationFailure;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.exception.SlotUnavailableException;
+import com.parking.reservation.index.SlotIntervalIndex;
+import com.parking.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchReservationTest {
+
+    private static final String QUIET_SQL = "spring.jpa.show-sql=false";
+    private static final String QUIET_SQL_LOG = "logging.level.org.hibernate.SQL=INFO";
+
+    @Nested
+    @SpringBootTest(properties = {QUIET_SQL, QUIET_SQL_LOG})
+    class DecidedByIndex extends BatchBookings {
+    }
+
+    // In cluster mode the index does not decide, so overlaps come from findOverlappingForSlots
+    @Nested
+    @SpringBootTest(properties = {"reservation.cluster.enabled=true", QUIET_SQL, QUIET_SQL_LOG})
+    class DecidedByDatabase extends BatchBookings {
+    }
+
+    abstract static class BatchBookings {
+
+        private static final LocalDateTime DAY = LocalDateTime.of(2096, 6, 1, 10, 0);
+
+        @Autowired
+        private FloorService floorService;
+
+        @Autowired
+        private SlotService slotService;
+
+        @Autowired
+        private ReservationService reservationService;
+
+        @Autowired
+        private ReservationRepository reservationRepository;
+
+        @Autowired
+        private SlotIntervalIndex slotIntervalIndex;
+
+        private Long first;
+        private Long second;
+
+        @BeforeEach
+        void createSlots() {
+            Long floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+            first = slotService.createSlot(new CreateSlotRequest(floorId, "B1", VehicleType.FOUR_WHEELER)).id();
+            second = slotService.createSlot(new CreateSlotRequest(floorId, "B2", VehicleType.FOUR_WHEELER)).id();
+        }
+
+        @Test
+        void allOrNothingRejectsTheWholeBatchOnOneFailure() {
+            BatchReserveRequest request = new BatchReserveRequest(List.of(
+                    reserve(first, DAY, DAY.plusHours(2)),
+                    reserve(second, DAY, DAY.plusHours(2)),
+                    // Overlaps the first item of the same batch
+                    reserve(first, DAY.plusHours(1), DAY.plusHours(3))), true);
+
+            assertThatThrownBy(() -> reservationService.reserveSlots(request))
+                    .isInstanceOf(SlotUnavailableException.class)
+                    .hasMessageStartingWith("Reservation #2:");
+
+            assertThat(reservationRepository.findOverlappingForSlots(List.of(first, second), ReservationStatus.ACTIVE,
+                    DAY, DAY.plusHours(3))).isEmpty();
+            assertThat(slotIntervalIndex.overlaps(first, DAY, DAY.plusHours(3))).isFalse();
+            assertThat(slotIntervalIndex.overlaps(second, DAY, DAY.plusHours(3))).isFalse();
+        }
+
+        @Test
+        void partialBatchBooksTheValidItemsAndReportsTheRest() {
+            LocalDateTime taken = DAY.plusDays(1);
+            reservationService.reserveSlot(reserve(second, taken, taken.plusHours(2)));
+            Long missing = Long.MAX_VALUE;
+
+            BatchReservationResponse response = reservationService.reserveSlots(new BatchReserveRequest(List.of(
+                    reserve(first, taken, taken.plusHours(1)),
+                    reserve(missing, taken, taken.plusHours(1)),
+                    reserve(second, taken.plusHours(1), taken.plusHours(3)),
+                    reserve(second, taken.plusHours(2), taken.plusHours(3)),
+                    new ReserveRequest(first, "not a plate", taken.plusHours(4), taken.plusHours(5), VehicleType.FOUR_WHEELER),
+                    reserve(first, taken.plusMinutes(30), taken.plusHours(2))), false));
+
+            assertThat(response.reserved()).extracting(ReservationResponse::slotId).containsExactly(first, second);
+            assertThat(response.failed()).extracting(BatchReservationFailure::index).containsExactly(1, 2, 4, 5);
+            assertThat(response.failed()).extracting(BatchReservationFailure::slotId).containsExactly(missing, second, first, first);
+            assertThat(response.failed().get(0).reason()).isEqualTo("Slot not found");
+            assertThat(response.failed().get(3).reason()).contains("already reserved");
+            assertThat(reservationRepository.findOverlappingForSlots(List.of(first, second), ReservationStatus.ACTIVE,
+                    taken, taken.plusHours(5))).hasSize(3);
+            assertThat(slotIntervalIndex.overlaps(first, taken, taken.plusHours(1))).isTrue();
+        }
+
+        private static ReserveRequest reserve(Long slotId, LocalDateTime startTime, LocalDateTime endTime) {
+            return new ReserveRequest(slotId, "KA05MH1234", startTime, endTime, VehicleType.FOUR_WHEELER);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.SlotResponse;
+import com.parking.reservation.entity.Floor;
+import com.parking.reservation.entity.Slot;
+import com.parking.reservation.enums.VehicleType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"reservation.locking.mode=striped", "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"})
+class ReferenceDataCacheTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2099, 5, 1, 8, 0);
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long floorId;
+
+    @BeforeEach
+    void createFloor() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+    }
+
+    @Test
+    void slotCatalogueIsServedWithoutSqlUntilASlotIsCreated() {
+        for (int i = 0; i < 3; i++) {
+            slotService.createSlot(new CreateSlotRequest(floorId, "L2-" + i, VehicleType.TWO_WHEELER));
+        }
+        slotService.getSlots();
+
+        statistics.clear();
+        assertThat(slotService.getSlots()).extracting(SlotResponse::floorId).contains(floorId);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        slotService.createSlot(new CreateSlotRequest(floorId, "L2-new", VehicleType.TWO_WHEELER));
+        assertThat(slotService.getSlots()).extracting(SlotResponse::slotNumber).contains("L2-new");
+    }
+
+    @Test
+    void reservationsReadTheSlotFromTheSecondLevelCache() {
+        Long slotId = slotService.createSlot(new CreateSlotRequest(floorId, "L2-R", VehicleType.FOUR_WHEELER)).id();
+        // IDENTITY inserts are not put into the cache, the first reservation loads the slot
+        reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", DAY.minusHours(2), DAY.minusHours(1),
+                VehicleType.FOUR_WHEELER));
+
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", DAY.plusHours(2L * i),
+                    DAY.plusHours(2L * i + 1), VehicleType.FOUR_WHEELER));
+        }
+
+        assertThat(statistics.getEntityStatistics(Slot.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Floor.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("slots").getHitCount()).isEqualTo(5);
+    }
+}
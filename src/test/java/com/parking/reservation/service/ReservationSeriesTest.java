@@ -0,0 +1,141 @@
+package com.parking.reservation.service;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.ReserveSeriesRequest;
+import com.parking.reservation.dto.request.WaitlistRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.ReservationSeriesResponse;
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.exception.SlotUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReservationSeriesTest {
+
+    // Own database: the cancelled reservations left behind would otherwise be picked up by ReservationArchiverTest.
+    // Its own second-level cache as well, since slot ids repeat across databases.
+    private static final String DATABASE = "spring.datasource.url=jdbc:h2:mem:seriesdb";
+    private static final String CACHE = "spring.jpa.properties.hibernate.javax.cache.uri=application.conf";
+    // Statuses are read back from the database, not from the reservation cache
+    private static final String NO_RESERVATION_CACHE = "reservation.cache.max-size=0";
+    private static final String QUIET_SQL = "spring.jpa.show-sql=false";
+    private static final String QUIET_SQL_LOG = "logging.level.org.hibernate.SQL=INFO";
+
+    @Nested
+    @SpringBootTest(properties = {DATABASE, CACHE, NO_RESERVATION_CACHE, QUIET_SQL, QUIET_SQL_LOG})
+    class DecidedByIndex extends SeriesBookings {
+    }
+
+    // In cluster mode the index does not decide, so occurrences are checked with the range query and sweep
+    @Nested
+    @SpringBootTest(properties = {DATABASE, CACHE, NO_RESERVATION_CACHE, "reservation.cluster.enabled=true", QUIET_SQL, QUIET_SQL_LOG})
+    class DecidedByDatabase extends SeriesBookings {
+    }
+
+    abstract static class SeriesBookings {
+
+        private static final LocalDate MONDAY = LocalDate.of(2097, 3, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        private static final EnumSet<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+        @Autowired
+        private FloorService floorService;
+
+        @Autowired
+        private SlotService slotService;
+
+        @Autowired
+        private ReservationService reservationService;
+
+        private Long floorId;
+        private Long slotId;
+
+        @BeforeEach
+        void createSlot() {
+            floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+            slotId = slotService.createSlot(new CreateSlotRequest(floorId, "S1", VehicleType.FOUR_WHEELER)).id();
+        }
+
+        @Test
+        void weekdaysAreBookedForEveryWeek() {
+            ReservationSeriesResponse series = reservationService.reserveSeries(weekdays(4, LocalTime.of(9, 0), LocalTime.of(18, 0)));
+
+            assertThat(series.reservations()).hasSize(20);
+            assertThat(series.reservations()).allSatisfy(reservation -> {
+                assertThat(reservation.slotId()).isEqualTo(slotId);
+                assertThat(reservation.status()).isEqualTo(ReservationStatus.ACTIVE);
+                assertThat(WEEKDAYS).contains(reservation.startTime().getDayOfWeek());
+                assertThat(reservation.endTime()).isEqualTo(reservation.startTime().plusHours(9));
+            });
+            assertThat(series.reservations().get(19).startTime()).isEqualTo(MONDAY.plusWeeks(3).plusDays(4).atTime(9, 0));
+        }
+
+        @Test
+        void anOverlappingOccurrenceRejectsTheWholeSeries() {
+            LocalDateTime wednesday = MONDAY.plusDays(2).atTime(17, 0);
+            reserve(wednesday, wednesday.plusHours(2));
+
+            // Overnight: each occurrence ends the next morning
+            assertThat(reservationService.reserveSeries(weekdays(2, LocalTime.of(20, 0), LocalTime.of(7, 0))).reservations())
+                    .hasSize(10)
+                    .allSatisfy(reservation -> assertThat(reservation.endTime().toLocalDate())
+                            .isEqualTo(reservation.startTime().toLocalDate().plusDays(1)));
+            assertThatThrownBy(() -> reservationService.reserveSeries(weekdays(2, LocalTime.of(9, 0), LocalTime.of(18, 0))))
+                    .isInstanceOf(SlotUnavailableException.class)
+                    .hasMessageContaining("1 of the 10 occurrences")
+                    .hasMessageContaining(MONDAY.plusDays(2).atTime(9, 0).toString());
+
+            // Nothing of the rejected series was booked
+            reserve(MONDAY.atTime(9, 0), MONDAY.atTime(18, 0));
+        }
+
+        @Test
+        void cancellingTheSeriesCancelsWhatIsLeftAndPromotesWaiters() {
+            ReservationSeriesResponse series = reservationService.reserveSeries(weekdays(1, LocalTime.of(9, 0), LocalTime.of(18, 0)));
+            ReservationResponse monday = series.reservations().get(0);
+            reservationService.cancelReservation(monday.id());
+            LocalDateTime thursday = MONDAY.plusDays(3).atTime(10, 0);
+            WaitlistResponse waiting = reservationService.joinWaitlist(new WaitlistRequest("KA05MH9999", thursday,
+                    thursday.plusHours(2), VehicleType.FOUR_WHEELER, floorId));
+            assertThat(waiting.status()).isEqualTo(WaitlistStatus.WAITING);
+
+            reservationService.cancelSeries(series.id());
+            reservationService.cancelSeries(series.id());
+
+            assertThat(series.reservations()).allSatisfy(reservation ->
+                    assertThat(reservationService.getReservation(reservation.id()).status()).isEqualTo(ReservationStatus.CANCELLED));
+            WaitlistResponse promoted = reservationService.getWaitlistEntry(waiting.id());
+            assertThat(promoted.status()).isEqualTo(WaitlistStatus.PROMOTED);
+            assertThat(reservationService.getReservation(promoted.reservationId()).slotId()).isEqualTo(slotId);
+            // The freed windows are bookable again
+            reserve(MONDAY.plusDays(4).atTime(9, 0), MONDAY.plusDays(4).atTime(18, 0));
+        }
+
+        private ReserveSeriesRequest weekdays(int weeks, LocalTime startTime, LocalTime endTime) {
+            return new ReserveSeriesRequest(slotId, "KA05MH1234", VehicleType.FOUR_WHEELER, MONDAY, weeks, WEEKDAYS,
+                    startTime, endTime);
+        }
+
+        private void reserve(LocalDateTime startTime, LocalDateTime endTime) {
+            reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", startTime, endTime, VehicleType.FOUR_WHEELER));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.parking.reservation.stream;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.event.ReservationChangedEvent;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+class AvailabilityStreamTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2098, 11, 1, 9, 0);
+    private static final int QUEUE_CAPACITY = 256;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private AvailabilityStream availabilityStream;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+    // Writes to the streams wait while this is closed, which holds the sender thread in the middle of a drain
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private Long floorId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters((Filter) (request, response, chain) ->
+                        chain.doFilter(request, new GatedResponse((HttpServletResponse) response)))
+                .build();
+        floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+    }
+
+    @AfterEach
+    void openGate() {
+        gate.countDown();
+    }
+
+    @Test
+    void committedChangesReachOnlyMatchingSubscribers() throws Exception {
+        Long fourWheeler = slot("S1", VehicleType.FOUR_WHEELER);
+        Long twoWheeler = slot("S2", VehicleType.TWO_WHEELER);
+        Long otherFloor = slotService.createSlot(new CreateSlotRequest(
+                floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id(),
+                "S3", VehicleType.FOUR_WHEELER)).id();
+        MockHttpServletResponse stream = subscribe("?vehicleType=FOUR_WHEELER&floorId=" + floorId);
+
+        reserve(twoWheeler, VehicleType.TWO_WHEELER);
+        reserve(otherFloor, VehicleType.FOUR_WHEELER);
+        reserve(fourWheeler, VehicleType.FOUR_WHEELER);
+
+        // One queue per subscriber, so the matching change arriving means the earlier ones were never sent
+        String events = awaitContent(stream, content -> content.contains(slotIdField(fourWheeler)));
+        assertThat(events).contains("event:occupancy", "\"change\":\"OCCUPIED\"")
+                .doesNotContain(slotIdField(twoWheeler), slotIdField(otherFloor));
+    }
+
+    @Test
+    void rolledBackChangesAreNotSent() throws Exception {
+        Long slotId = slot("S1", VehicleType.FOUR_WHEELER);
+        ReservationResponse booked = reserve(slotId, VehicleType.FOUR_WHEELER);
+        MockHttpServletResponse stream = subscribe("?floorId=" + floorId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationService.cancelReservation(booked.id());
+            status.setRollbackOnly();
+        });
+        // Committed afterwards on the same queue, so a change from the rolled back cancellation would arrive first
+        LocalDateTime later = DAY.plusDays(1);
+        reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", later, later.plusHours(1),
+                VehicleType.FOUR_WHEELER));
+
+        String events = awaitContent(stream, content -> content.contains(later.toString()));
+        assertThat(events).doesNotContain("\"change\":\"RELEASED\"");
+    }
+
+    @Test
+    void aSubscriberThatFallsBehindGetsOneResync() throws Exception {
+        Long slotId = slot("S1", VehicleType.FOUR_WHEELER);
+        MockHttpServletResponse stream = subscribe("?floorId=" + floorId);
+
+        gate = new CountDownLatch(1);
+        for (int i = 0; i < QUEUE_CAPACITY + 50; i++) {
+            availabilityStream.onReservationChanged(change(slotId, DAY.plusHours(i)));
+        }
+        gate.countDown();
+
+        awaitContent(stream, content -> content.contains("event:resync"));
+        // Sent after the resync, so once it arrives nothing else from the overflow is on its way
+        LocalDateTime marker = DAY.minusYears(1);
+        availabilityStream.onReservationChanged(change(slotId, marker));
+        String events = awaitContent(stream, content -> content.contains(marker.toString()));
+
+        assertThat(events.split("event:resync", -1)).hasSize(2);
+        assertThat(events.indexOf("event:resync")).isLessThan(events.indexOf(marker.toString()));
+    }
+
+    private MockHttpServletResponse subscribe(String query) throws Exception {
+        return mockMvc.perform(get("/v1/api/availability/stream" + query))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private Long slot(String number, VehicleType vehicleType) {
+        return slotService.createSlot(new CreateSlotRequest(floorId, number, vehicleType)).id();
+    }
+
+    private ReservationResponse reserve(Long slotId, VehicleType vehicleType) {
+        return reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", DAY, DAY.plusHours(1), vehicleType));
+    }
+
+    private ReservationChangedEvent change(Long slotId, LocalDateTime start) {
+        return new ReservationChangedEvent(ReservationChangedEvent.Change.RESERVED, 0L, slotId, floorId,
+                VehicleType.FOUR_WHEELER, start, start.plusHours(1), BigDecimal.ZERO);
+    }
+
+    private static String slotIdField(Long slotId) {
+        return "\"slotId\":" + slotId + ",";
+    }
+
+    private static String awaitContent(MockHttpServletResponse stream, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String content = stream.getContentAsString();
+        while (!condition.test(content)) {
+            assertThat(System.nanoTime()).as("waiting for events, got %s", content).isLessThan(deadline);
+            Thread.sleep(20);
+            content = stream.getContentAsString();
+        }
+        return content;
+    }
+
+    private final class GatedResponse extends HttpServletResponseWrapper {
+
+        GatedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            ServletOutputStream out = super.getOutputStream();
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    passGate();
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    passGate();
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return out.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    out.setWriteListener(writeListener);
+                }
+            };
+        }
+
+        private void passGate() throws InterruptedIOException {
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
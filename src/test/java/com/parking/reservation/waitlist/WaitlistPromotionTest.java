@@ -0,0 +1,128 @@
+package com.parking.reservation.waitlist;
+
+import com.parking.reservation.dto.request.CreateFloorRequest;
+import com.parking.reservation.dto.request.CreateSlotRequest;
+import com.parking.reservation.dto.request.ReserveRequest;
+import com.parking.reservation.dto.request.WaitlistRequest;
+import com.parking.reservation.dto.response.ReservationResponse;
+import com.parking.reservation.dto.response.WaitlistResponse;
+import com.parking.reservation.enums.ReservationStatus;
+import com.parking.reservation.enums.VehicleType;
+import com.parking.reservation.enums.WaitlistStatus;
+import com.parking.reservation.exception.InvalidReservationException;
+import com.parking.reservation.service.FloorService;
+import com.parking.reservation.service.ReservationService;
+import com.parking.reservation.service.SlotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Own database, so the cancelled reservations left behind stay out of the shared one. No second-level cache, since
+// slot ids repeat across databases and the cache manager is shared
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:waitlistdb",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false", "reservation.cache.max-size=0",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+class WaitlistPromotionTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2095, 4, 1, 9, 0);
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private WaitlistExpiry waitlistExpiry;
+
+    private Long floorId;
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        floorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        slotId = slotService.createSlot(new CreateSlotRequest(floorId, "W1", VehicleType.FOUR_WHEELER)).id();
+    }
+
+    @Test
+    void joiningWhileASlotIsFreeBooksItRightAway() {
+        WaitlistResponse entry = reservationService.joinWaitlist(waitFor("KA05MH0001", DAY, DAY.plusHours(1)));
+
+        assertThat(entry.status()).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(reservationService.getReservation(entry.reservationId()).slotId()).isEqualTo(slotId);
+    }
+
+    @Test
+    void cancellationPromotesTheOldestFittingEntries() {
+        ReservationResponse blocking = reserve(DAY.plusDays(1), DAY.plusDays(1).plusHours(4));
+        WaitlistResponse first = reservationService.joinWaitlist(waitFor("KA05MH0001", DAY.plusDays(1), DAY.plusDays(1).plusHours(2)));
+        WaitlistResponse second = reservationService.joinWaitlist(waitFor("KA05MH0002", DAY.plusDays(1).plusHours(1), DAY.plusDays(1).plusHours(3)));
+        WaitlistResponse later = reservationService.joinWaitlist(waitFor("KA05MH0003", DAY.plusDays(1).plusHours(2), DAY.plusDays(1).plusHours(4)));
+        assertThat(first.status()).isEqualTo(WaitlistStatus.WAITING);
+
+        reservationService.cancelReservation(blocking.id());
+
+        // first takes 9:00-11:00, second overlaps it, later fits right behind it
+        WaitlistResponse promoted = reservationService.getWaitlistEntry(first.id());
+        assertThat(promoted.status()).isEqualTo(WaitlistStatus.PROMOTED);
+        ReservationResponse reservation = reservationService.getReservation(promoted.reservationId());
+        assertThat(reservation.vehicleNumber()).isEqualTo("KA05MH0001");
+        assertThat(reservation.status()).isEqualTo(ReservationStatus.ACTIVE);
+        assertThat(reservationService.getWaitlistEntry(second.id()).status()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(reservationService.getWaitlistEntry(later.id()).status()).isEqualTo(WaitlistStatus.PROMOTED);
+
+        reservationService.leaveWaitlist(second.id());
+        assertThat(reservationService.getWaitlistEntry(second.id()).status()).isEqualTo(WaitlistStatus.LEFT);
+        assertThatThrownBy(() -> reservationService.leaveWaitlist(second.id()))
+                .isInstanceOf(InvalidReservationException.class)
+                .hasMessage("Waitlist entry is no longer waiting");
+    }
+
+    @Test
+    void aWindowLongerThanADayIsStillACandidate() {
+        // Accepted: only whole hours above 24 are rejected
+        LocalDateTime midnight = DAY.toLocalDate().plusDays(3).atStartOfDay();
+        ReservationResponse blocking = reserve(midnight.plusDays(1).plusMinutes(15), midnight.plusDays(1).plusHours(1));
+        WaitlistResponse entry = reservationService.joinWaitlist(waitFor("KA05MH0001", midnight,
+                midnight.plusDays(1).plusMinutes(30)));
+        assertThat(entry.status()).isEqualTo(WaitlistStatus.WAITING);
+
+        reservationService.cancelReservation(blocking.id());
+
+        assertThat(reservationService.getWaitlistEntry(entry.id()).status()).isEqualTo(WaitlistStatus.PROMOTED);
+    }
+
+    @Test
+    void entriesForAnotherFloorStayWaitingAndExpireOnceTheirWindowStarts() {
+        ReservationResponse blocking = reserve(DAY.plusDays(2), DAY.plusDays(2).plusHours(1));
+        Long otherFloorId = floorService.createFloor(new CreateFloorRequest("Floor-" + UUID.randomUUID())).id();
+        WaitlistRequest request = waitFor("KA05MH0001", DAY.plusDays(2), DAY.plusDays(2).plusHours(1));
+        request.setFloorId(otherFloorId);
+        WaitlistResponse entry = reservationService.joinWaitlist(request);
+
+        reservationService.cancelReservation(blocking.id());
+        assertThat(reservationService.getWaitlistEntry(entry.id()).status()).isEqualTo(WaitlistStatus.WAITING);
+
+        assertThat(waitlistExpiry.expire(DAY.plusDays(2))).isPositive();
+        assertThat(reservationService.getWaitlistEntry(entry.id()).status()).isEqualTo(WaitlistStatus.EXPIRED);
+    }
+
+    private ReservationResponse reserve(LocalDateTime start, LocalDateTime end) {
+        return reservationService.reserveSlot(new ReserveRequest(slotId, "KA05MH1234", start, end, VehicleType.FOUR_WHEELER));
+    }
+
+    private WaitlistRequest waitFor(String vehicleNumber, LocalDateTime start, LocalDateTime end) {
+        return new WaitlistRequest(vehicleNumber, start, end, VehicleType.FOUR_WHEELER, floorId);
+    }
+}